@@ -0,0 +1,60 @@
+package com.ecommerce.api_gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Reads a response body into memory only if it fits a size limit, whether or not
+ * Content-Length is known.
+ *
+ * Unlike DataBufferUtils.join(body, max), which fails and drops what it read, a body
+ * over the limit is handed on as a stream: the chunks read so far, then the rest as
+ * it arrives. At most the limit plus one chunk is held in memory.
+ */
+public final class BoundedBody {
+
+    private BoundedBody() {
+    }
+
+    /**
+     * @param whenBuffered called with the whole body if it is at most maxBytes
+     * @param whenTooLarge called with the body as a stream otherwise
+     */
+    public static Mono<Void> read(Publisher<? extends DataBuffer> body, long maxBytes,
+                                  Function<byte[], Mono<Void>> whenBuffered,
+                                  Function<Flux<DataBuffer>, Mono<Void>> whenTooLarge) {
+        AtomicLong size = new AtomicLong();
+        return Flux.<DataBuffer>from(body)
+                // One list with the whole body, or, once over the limit, one list per chunk
+                .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxBytes)
+                .switchOnFirst((first, chunks) -> {
+                    Flux<DataBuffer> buffers = chunks.concatMapIterable(list -> list);
+                    if (first.hasValue() && size.get() > maxBytes) {
+                        return whenTooLarge.apply(buffers);
+                    }
+                    return buffers.collectList().flatMap(list -> whenBuffered.apply(toBytes(list)));
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .then();
+    }
+
+    private static byte[] toBytes(List<DataBuffer> buffers) {
+        int length = buffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int count = buffer.readableByteCount();
+            buffer.read(bytes, offset, count);
+            offset += count;
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.api_gateway.cache;
+
+/**
+ * A buffered upstream response, as much of it as is replayed to clients.
+ *
+ * @param expiresAtMillis epoch millis after which the response is stale
+ */
+public record CachedResponse(int status,
+                             String contentType,
+                             String contentEncoding,
+                             String etag,
+                             byte[] body,
+                             long expiresAtMillis) {
+
+    /**
+     * Seconds until the response is stale (for Cache-Control: max-age on replay)
+     */
+    public long remainingSeconds() {
+        return Math.max(0, (expiresAtMillis - System.currentTimeMillis()) / 1000);
+    }
+}
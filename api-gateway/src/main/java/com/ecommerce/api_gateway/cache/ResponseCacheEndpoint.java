@@ -0,0 +1,45 @@
+package com.ecommerce.api_gateway.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint for the gateway response cache. Served on the management port
+ * (management.server.port), never on the public gateway port.
+ *
+ * - GET /actuator/responsecache: entries held by this replica
+ * - DELETE /actuator/responsecache: purge everything, on all replicas
+ * - DELETE /actuator/responsecache/api/v1/products/42: purge that path and
+ *   everything below it, on all replicas
+ */
+@Component
+@Endpoint(id = "responsecache")
+public class ResponseCacheEndpoint {
+
+    private final ResponseCacheStore store;
+
+    public ResponseCacheEndpoint(ResponseCacheStore store) {
+        this.store = store;
+    }
+
+    @ReadOperation
+    public Map<String, Object> info() {
+        return Map.of("localEntries", store.size());
+    }
+
+    @DeleteOperation
+    public Mono<Void> purgeAll() {
+        return store.purge("/");
+    }
+
+    @DeleteOperation
+    public Mono<Void> purge(@Selector(match = Selector.Match.ALL_REMAINING) String[] path) {
+        return store.purge("/" + String.join("/", path));
+    }
+}
@@ -0,0 +1,301 @@
+package com.ecommerce.api_gateway.cache;
+
+import com.ecommerce.api_gateway.config.ResponseCacheProperties;
+import com.ecommerce.api_gateway.security.IdentityHeaderSigner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Serves public, read-heavy GETs (gateway.response-cache.paths) from the gateway,
+ * without the service lookup, load balancing and upstream round trip.
+ *
+ * This filter handles:
+ * - Cache keys from the normalized path, the sorted query and the normalized
+ *   Accept-Encoding, so each content coding is cached separately
+ * - TTLs from the upstream Cache-Control (s-maxage, then max-age, else
+ *   default-ttl-seconds), capped at max-ttl-seconds; no-store, no-cache, private,
+ *   Set-Cookie and Vary on anything but Accept-Encoding are never cached
+ * - ETags (upstream's, or an MD5 of the body) on every cacheable response, and 304
+ *   for a matching If-None-Match, both from the cache and on a fresh fetch
+ * - X-Cache: HIT / MISS, and gateway.response-cache counters (result tag)
+ *
+ * Requests carrying credentials (Authorization, or the X-User-Id set by
+ * EdgeAuthenticationFilter) bypass the cache in both directions, since their
+ * responses may depend on the caller.
+ *
+ * Only 200 responses up to max-body-kb are stored; larger ones, with or without
+ * Content-Length, are streamed through once they pass the limit. A request with Cache-Control:
+ * no-cache skips the lookup. Runs before AdaptiveConcurrencyFilter and route filters,
+ * so cache hits take neither a concurrency slot nor a rate limit token.
+ */
+@Slf4j
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private static final String CACHE_METRIC = "gateway.response-cache";
+    private static final String CACHE_HEADER = "X-Cache";
+
+    private final ResponseCacheProperties properties;
+    private final ResponseCacheStore store;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter notModified;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, ResponseCacheStore store,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+        this.hits = Counter.builder(CACHE_METRIC).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(CACHE_METRIC).tag("result", "miss").register(meterRegistry);
+        this.notModified = Counter.builder(CACHE_METRIC).tag("result", "not-modified").register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || request.getMethod() != HttpMethod.GET || !isCacheablePath(request)
+                || isAuthenticated(request)) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(request);
+        Mono<CachedResponse> lookup = hasDirective(request.getHeaders().getCacheControl(), "no-cache")
+                ? Mono.empty()
+                : store.get(key);
+        return lookup
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(cached -> cached.isPresent()
+                        ? serve(exchange, cached.get())
+                        : chain.filter(exchange.mutate().response(new CachingResponse(exchange, key)).build()));
+    }
+
+    @Override
+    public int getOrder() {
+        // After EdgeAuthenticationFilter, before AdaptiveConcurrencyFilter
+        return Ordered.HIGHEST_PRECEDENCE + 150;
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.setCacheControl("public, max-age=" + cached.remainingSeconds());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        headers.set(CACHE_HEADER, "HIT");
+
+        if (matchesIfNoneMatch(exchange.getRequest(), cached.etag())) {
+            notModified.increment();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        hits.increment();
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        if (cached.contentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, cached.contentType());
+        }
+        if (cached.contentEncoding() != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, cached.contentEncoding());
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Buffers a cacheable upstream response, stores it and writes it on (or answers 304)
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String key;
+
+        CachingResponse(ServerWebExchange exchange, String key) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            misses.increment();
+            HttpHeaders headers = getHeaders();
+            headers.set(CACHE_HEADER, "MISS");
+            long ttlSeconds = ttlSeconds(getStatusCode(), headers);
+            long maxBodyBytes = properties.getMaxBodyKb() * 1024L;
+            if (ttlSeconds <= 0 || headers.getContentLength() > maxBodyBytes) {
+                return super.writeWith(body);
+            }
+
+            return BoundedBody.read(body, maxBodyBytes, bytes -> {
+                String etag = headers.getETag() != null ? headers.getETag() : "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+                headers.setETag(etag);
+                store.put(key, new CachedResponse(getStatusCode().value(),
+                        headers.getFirst(HttpHeaders.CONTENT_TYPE), headers.getFirst(HttpHeaders.CONTENT_ENCODING),
+                        etag, bytes, System.currentTimeMillis() + ttlSeconds * 1000));
+
+                headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                if (matchesIfNoneMatch(exchange.getRequest(), etag)) {
+                    notModified.increment();
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    return setComplete();
+                }
+                headers.setContentLength(bytes.length);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            }, tooLarge -> super.writeWith(tooLarge));
+        }
+    }
+
+    /**
+     * How long a response may be cached, 0 if it may not
+     */
+    private long ttlSeconds(HttpStatusCode status, HttpHeaders headers) {
+        if (status == null || status.value() != HttpStatus.OK.value() || headers.containsHeader(HttpHeaders.SET_COOKIE)) {
+            return 0;
+        }
+        for (String vary : headers.getVary()) {
+            if (!HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(vary.trim())) {
+                return 0;
+            }
+        }
+        String cacheControl = headers.getCacheControl();
+        if (hasDirective(cacheControl, "no-store") || hasDirective(cacheControl, "no-cache")
+                || hasDirective(cacheControl, "private")) {
+            return 0;
+        }
+        long ttl = directiveSeconds(cacheControl, "s-maxage");
+        if (ttl < 0) {
+            ttl = directiveSeconds(cacheControl, "max-age");
+        }
+        if (ttl < 0) {
+            ttl = properties.getDefaultTtlSeconds();
+        }
+        return Math.min(ttl, properties.getMaxTtlSeconds());
+    }
+
+    private static boolean isAuthenticated(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return headers.containsHeader(HttpHeaders.AUTHORIZATION) || headers.containsHeader(IdentityHeaderSigner.USER_ID_HEADER);
+    }
+
+    private boolean isCacheablePath(ServerHttpRequest request) {
+        String path = request.getPath().value();
+        return properties.getPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    /**
+     * normalized path ? sorted query | content codings
+     */
+    private static String cacheKey(ServerHttpRequest request) {
+        String path = request.getPath().value().replaceAll("/{2,}", "/");
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        StringBuilder key = new StringBuilder(path);
+        MultiValueMap<String, String> query = request.getQueryParams();
+        if (!query.isEmpty()) {
+            List<String> params = new ArrayList<>();
+            query.forEach((name, values) -> values.forEach(value -> params.add(name + "=" + value)));
+            params.sort(null);
+            key.append('?').append(String.join("&", params));
+        }
+        return key.append('|').append(normalizeEncoding(request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING)))
+                .toString();
+    }
+
+    private static String normalizeEncoding(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return "identity";
+        }
+        TreeSet<String> codings = new TreeSet<>();
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            boolean refused = tokens.length > 1 && tokens[1].trim().matches("q=0(\\.0*)?");
+            if (!coding.isEmpty() && !refused) {
+                codings.add(coding);
+            }
+        }
+        return codings.isEmpty() ? "identity" : String.join(",", codings);
+    }
+
+    private static boolean matchesIfNoneMatch(ServerHttpRequest request, String etag) {
+        List<String> candidates;
+        try {
+            candidates = request.getHeaders().getIfNoneMatch();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (candidates.isEmpty() || etag == null) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        return candidates.stream().anyMatch(candidate -> "*".equals(candidate) || stripWeak(candidate).equals(opaque));
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static boolean hasDirective(String cacheControl, String directive) {
+        if (cacheControl == null) {
+            return false;
+        }
+        for (String part : cacheControl.split(",")) {
+            // private="Set-Cookie" and no-cache="..." still name the directive before the '='
+            String name = part.split("=", 2)[0].trim();
+            if (name.equalsIgnoreCase(directive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Value of a seconds directive (max-age=60), -1 if absent or malformed
+     */
+    private static long directiveSeconds(String cacheControl, String directive) {
+        if (cacheControl == null) {
+            return -1;
+        }
+        for (String part : cacheControl.split(",")) {
+            String[] nameValue = part.trim().split("=", 2);
+            if (nameValue.length == 2 && nameValue[0].equalsIgnoreCase(directive)) {
+                try {
+                    return Long.parseLong(nameValue[1].trim().replace("\"", ""));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,221 @@
+package com.ecommerce.api_gateway.cache;
+
+import com.ecommerce.api_gateway.config.ResponseCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Two-level store behind ResponseCacheFilter.
+ *
+ * This class handles:
+ * - L1: per-replica Caffeine cache, bounded by total body size, each entry expiring
+ *   with its own TTL
+ * - L2 (gateway.response-cache.redis-enabled): a Redis hash per entry, shared by all
+ *   replicas, written together with its expiry (scripts/response_cache_store.lua);
+ *   L2 hits are copied into L1
+ * - Purging by path prefix: L2 keys are deleted here, and every replica drops its
+ *   L1 entries when the purge is published on gateway:response-cache:purge; the
+ *   subscription is re-established with backoff when it fails
+ *
+ * Keys start with the normalized request path, so a path prefix selects every
+ * variant (query, encoding) of the paths below it.
+ */
+@Slf4j
+@Component
+public class ResponseCacheStore implements DisposableBean {
+
+    public static final String PURGE_CHANNEL = "gateway:response-cache:purge";
+    private static final String KEY_PREFIX = "gateway:response-cache:";
+    private static final RedisScript<Long> STORE_SCRIPT = loadScript("scripts/response_cache_store.lua");
+
+    private final ResponseCacheProperties properties;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+    private final Cache<String, CachedResponse> local;
+    private Disposable subscription;
+
+    public ResponseCacheStore(ResponseCacheProperties properties,
+                              ReactiveStringRedisTemplate redisTemplate,
+                              ReactiveRedisMessageListenerContainer listenerContainer) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSizeMb() * 1024 * 1024)
+                .weigher((String key, CachedResponse value) -> key.length() + value.body().length)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        long nanos = (value.expiresAtMillis() - System.currentTimeMillis()) * 1_000_000L;
+                        return Math.max(0, nanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        subscription = Flux.defer(() -> listenerContainer.receive(ChannelTopic.of(PURGE_CHANNEL)))
+                .doOnError(e -> log.warn("Response cache purge subscription failed, resubscribing: {}",
+                        e.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe(message -> {
+                    long purged = purgeLocal(message.getMessage());
+                    log.info("Purged {} cached responses under '{}'", purged, message.getMessage());
+                });
+    }
+
+    /**
+     * Cached response for a key, from L1 or else L2; empty on a miss
+     */
+    public Mono<CachedResponse> get(String key) {
+        CachedResponse cached = local.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        if (!properties.isRedisEnabled()) {
+            return Mono.empty();
+        }
+        return redisTemplate.<String, String>opsForHash().entries(KEY_PREFIX + key)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .flatMap(fields -> Mono.justOrEmpty(fromHash(fields)))
+                .doOnNext(response -> local.put(key, response))
+                .onErrorResume(e -> {
+                    log.debug("Response cache L2 read failed: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public void put(String key, CachedResponse response) {
+        local.put(key, response);
+        if (!properties.isRedisEnabled()) {
+            return;
+        }
+        long ttlMillis = response.expiresAtMillis() - System.currentTimeMillis();
+        if (ttlMillis <= 0) {
+            return;
+        }
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(ttlMillis));
+        toHash(response).forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        redisTemplate.execute(STORE_SCRIPT, List.of(KEY_PREFIX + key), args)
+                .subscribe(null, e -> log.debug("Response cache L2 write failed: {}", e.getMessage()));
+    }
+
+    /**
+     * Drop every entry whose path starts with the prefix ("/" for everything), on all
+     * replicas
+     */
+    public Mono<Void> purge(String pathPrefix) {
+        purgeLocal(pathPrefix);
+        Mono<Long> deleteShared = properties.isRedisEnabled()
+                ? redisTemplate.scan(ScanOptions.scanOptions().match(KEY_PREFIX + escapeGlob(pathPrefix) + "*")
+                        .count(500).build())
+                .buffer(500)
+                .flatMap(keys -> redisTemplate.delete(keys.toArray(String[]::new)))
+                .reduce(0L, Long::sum)
+                : Mono.just(0L);
+        return deleteShared
+                .then(redisTemplate.convertAndSend(PURGE_CHANNEL, pathPrefix))
+                .then();
+    }
+
+    private long purgeLocal(String pathPrefix) {
+        long before = local.estimatedSize();
+        local.asMap().keySet().removeIf(key -> key.startsWith(pathPrefix));
+        return before - local.estimatedSize();
+    }
+
+    /**
+     * Number of responses held in L1
+     */
+    public long size() {
+        return local.estimatedSize();
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private static Map<String, String> toHash(CachedResponse response) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("status", String.valueOf(response.status()));
+        fields.put("etag", response.etag());
+        fields.put("expiresAt", String.valueOf(response.expiresAtMillis()));
+        fields.put("body", Base64.getEncoder().encodeToString(response.body()));
+        if (response.contentType() != null) {
+            fields.put("contentType", response.contentType());
+        }
+        if (response.contentEncoding() != null) {
+            fields.put("contentEncoding", response.contentEncoding());
+        }
+        return fields;
+    }
+
+    private static CachedResponse fromHash(Map<String, String> fields) {
+        if (fields.isEmpty() || !fields.containsKey("body")) {
+            return null;
+        }
+        long expiresAt = Long.parseLong(fields.get("expiresAt"));
+        if (expiresAt <= System.currentTimeMillis()) {
+            return null;
+        }
+        return new CachedResponse(Integer.parseInt(fields.get("status")), fields.get("contentType"),
+                fields.get("contentEncoding"), fields.get("etag"),
+                Base64.getDecoder().decode(fields.get("body")), expiresAt);
+    }
+
+    private static RedisScript<Long> loadScript(String path) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(path)));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    private static String escapeGlob(String value) {
+        return value.replaceAll("([*?\\[\\]\\\\])", "\\\\$1");
+    }
+}
@@ -0,0 +1,204 @@
+package com.ecommerce.api_gateway.coalescing;
+
+import com.ecommerce.api_gateway.cache.BoundedBody;
+import com.ecommerce.api_gateway.config.CoalescingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Lets identical concurrent GETs on opted-in routes (gateway.coalescing.routes) share
+ * one upstream call (single-flight).
+ *
+ * This filter handles:
+ * - Keying requests by route, path, sorted query, Accept, Accept-Encoding and the
+ *   verified X-User-Id, so different users never share a response
+ * - The first request (leader) goes upstream; its 200 response body is buffered once
+ *   and replayed, with its headers, to every identical request that arrived meanwhile
+ * - Waiting requests give up after the route's max-wait-ms, and whenever the leader's
+ *   response is not shareable (not 200, Set-Cookie, larger than max-body-kb, failed
+ *   or cancelled), and then call upstream themselves
+ * - gateway.coalescing counter per route and result: leader, coalesced (upstream
+ *   calls saved) and fallback
+ *
+ * Runs after ResponseCacheFilter, so cache hits are never coalesced, and before
+ * AdaptiveConcurrencyFilter and route filters, so waiting requests take neither a
+ * concurrency slot nor a rate limit token.
+ */
+@Slf4j
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    private static final String METRIC = "gateway.coalescing";
+    private static final List<String> UNSHARED_HEADERS = List.of(
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, HttpHeaders.CONTENT_LENGTH);
+
+    private final CoalescingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Response of the leader, as replayed to waiting requests
+     */
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    /**
+     * One upstream call in progress; completes empty if its response cannot be shared
+     */
+    private static final class Flight {
+        final Sinks.One<SharedResponse> result = Sinks.one();
+    }
+
+    public RequestCoalescingFilter(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null || exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        CoalescingProperties.Route settings = properties.getRoutes().get(route.getId());
+        if (settings == null) {
+            return chain.filter(exchange);
+        }
+
+        String key = coalescingKey(route.getId(), exchange.getRequest());
+        Flight flight = new Flight();
+        Flight existing = inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            count(route, "leader");
+            SharingResponse response = new SharingResponse(exchange.getResponse(), key, flight,
+                    settings.getMaxBodyKb() * 1024L);
+            return chain.filter(exchange.mutate().response(response).build())
+                    .doFinally(signal -> response.finish(null));
+        }
+
+        return existing.result.asMono()
+                .timeout(Duration.ofMillis(settings.getMaxWaitMs()), Mono.empty())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(shared -> {
+                    if (shared.isEmpty()) {
+                        count(route, "fallback");
+                        return chain.filter(exchange);
+                    }
+                    count(route, "coalesced");
+                    return replay(exchange.getResponse(), shared.get());
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        // After ResponseCacheFilter, before AdaptiveConcurrencyFilter
+        return Ordered.HIGHEST_PRECEDENCE + 175;
+    }
+
+    private static Mono<Void> replay(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private void count(Route route, String result) {
+        meterRegistry.counter(METRIC, "route", route.getId(), "result", result).increment();
+    }
+
+    /**
+     * Buffers the leader's response, hands it to the waiting requests and writes it on
+     */
+    private class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Flight flight;
+        private final long maxBodyBytes;
+
+        SharingResponse(ServerHttpResponse delegate, String key, Flight flight, long maxBodyBytes) {
+            super(delegate);
+            this.key = key;
+            this.flight = flight;
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            HttpStatusCode status = getStatusCode();
+            if (status == null || status.value() != HttpStatus.OK.value()
+                    || headers.containsHeader(HttpHeaders.SET_COOKIE) || headers.getContentLength() > maxBodyBytes) {
+                finish(null);
+                return super.writeWith(body);
+            }
+
+            return BoundedBody.read(body, maxBodyBytes, bytes -> {
+                HttpHeaders shared = new HttpHeaders();
+                shared.putAll(headers);
+                UNSHARED_HEADERS.forEach(shared::remove);
+                finish(new SharedResponse(status, HttpHeaders.readOnlyHttpHeaders(shared), bytes));
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            }, tooLarge -> {
+                finish(null);
+                return super.writeWith(tooLarge);
+            });
+        }
+
+        /**
+         * Stop accepting waiters for this key and release the ones waiting, with the
+         * response or empty (they then call upstream themselves). Only the first call counts.
+         */
+        void finish(SharedResponse response) {
+            inFlight.remove(key, flight);
+            if (response != null) {
+                flight.result.tryEmitValue(response);
+            } else {
+                flight.result.tryEmitEmpty();
+            }
+        }
+    }
+
+    private static String coalescingKey(String routeId, ServerHttpRequest request) {
+        StringBuilder key = new StringBuilder(routeId).append('|').append(request.getPath().value());
+        MultiValueMap<String, String> query = request.getQueryParams();
+        if (!query.isEmpty()) {
+            List<String> params = new ArrayList<>();
+            query.forEach((name, values) -> values.forEach(value -> params.add(name + "=" + value)));
+            params.sort(null);
+            key.append('?').append(String.join("&", params));
+        }
+        HttpHeaders headers = request.getHeaders();
+        return key.append('|').append(headers.getFirst(HttpHeaders.ACCEPT))
+                .append('|').append(headers.getFirst(HttpHeaders.ACCEPT_ENCODING))
+                .append('|').append(headers.getFirst("X-User-Id"))
+                .toString();
+    }
+}
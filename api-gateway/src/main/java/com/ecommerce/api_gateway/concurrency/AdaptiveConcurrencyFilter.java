@@ -0,0 +1,190 @@
+package com.ecommerce.api_gateway.concurrency;
+
+import com.ecommerce.api_gateway.config.AdaptiveConcurrencyProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Protects upstream services from overload by limiting the requests in flight to each
+ * of them, and answering the excess at once with 503 instead of queueing it.
+ *
+ * This filter handles:
+ * - One GradientConcurrencyLimit per upstream service (the host of an lb:// route URI,
+ *   so e.g. auth-service-login and auth-service share one limit), adapted from the
+ *   latency the gateway observes
+ * - Priority between routes of the same upstream (gateway.concurrency.route-priorities):
+ *   while a route of higher priority is on that upstream, low-priority routes may only
+ *   fill low-priority-share of its limit and normal ones normal-priority-share, so e.g.
+ *   login keeps headroom on auth-service. The highest-priority routes of an upstream
+ *   (and a route alone on it) may use the whole limit; priorities never move capacity
+ *   between upstreams
+ * - Latency samples taken when the upstream response arrives (response commit), so
+ *   slow clients reading the body do not shrink the limit
+ * - 503 with Retry-After and a JSON body for shed requests
+ * - Metrics: gateway.concurrency.limit and gateway.concurrency.in-flight gauges per
+ *   upstream, gateway.concurrency.shed counter per upstream, route and priority
+ *
+ * Runs after EdgeAuthenticationFilter and before route filters, so shed requests do
+ * not consume rate limit tokens. Rate-limited (429) responses do not count as latency
+ * samples.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyFilter implements GlobalFilter, Ordered {
+
+    private static final String LIMIT_METRIC = "gateway.concurrency.limit";
+    private static final String IN_FLIGHT_METRIC = "gateway.concurrency.in-flight";
+    private static final String SHED_METRIC = "gateway.concurrency.shed";
+    private static final byte[] BUSY_BODY =
+            "{\"code\":9997,\"message\":\"Server is busy, please retry shortly\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final AdaptiveConcurrencyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, GradientConcurrencyLimit> limits = new ConcurrentHashMap<>();
+    // Highest route priority per upstream; routes at that priority get the full limit
+    private final Map<String, RoutePriority> topPriorities = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyFilter(AdaptiveConcurrencyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Recompute the top priority of each upstream whenever the routes are (re)loaded
+     */
+    @EventListener(RefreshRoutesResultEvent.class)
+    public void onRoutesRefreshed(RefreshRoutesResultEvent event) {
+        if (!event.isSuccess() || !(event.getSource() instanceof RouteLocator routeLocator)) {
+            return;
+        }
+        routeLocator.getRoutes()
+                .collectMultimap(AdaptiveConcurrencyFilter::upstream, this::priority)
+                .subscribe(byUpstream -> byUpstream.forEach((upstream, priorities) ->
+                        topPriorities.put(upstream, priorities.stream()
+                                .max(Comparator.naturalOrder())
+                                .orElse(RoutePriority.NORMAL))),
+                        e -> log.warn("Could not compute route priorities: {}", e.getMessage()));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+
+        String upstream = upstream(route);
+        GradientConcurrencyLimit limit = limits.computeIfAbsent(upstream, this::newLimit);
+        RoutePriority priority = priority(route);
+        // Also covers routes seen before the first refresh event
+        RoutePriority top = topPriorities.merge(upstream, priority,
+                (current, seen) -> seen.compareTo(current) > 0 ? seen : current);
+
+        int inFlight = limit.tryAcquire(priority.compareTo(top) >= 0 ? 1.0 : share(priority));
+        if (inFlight < 0) {
+            meterRegistry.counter(SHED_METRIC, "upstream", upstream, "route", route.getId(),
+                    "priority", priority.name().toLowerCase()).increment();
+            log.debug("Shed {} request on route {} (limit {} reached for {})",
+                    priority, route.getId(), limit.getLimit(), upstream);
+            return busy(exchange.getResponse());
+        }
+
+        long start = System.nanoTime();
+        // Latency up to the upstream's response headers, not until the client has read the body
+        AtomicLong rttNanos = new AtomicLong(-1);
+        exchange.getResponse().beforeCommit(() -> {
+            rttNanos.compareAndSet(-1, System.nanoTime() - start);
+            return Mono.empty();
+        });
+        return chain.filter(exchange).doFinally(signal -> {
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            if (signal == SignalType.CANCEL || (status != null && status.value() == HttpStatus.TOO_MANY_REQUESTS.value())) {
+                limit.release();
+                return;
+            }
+            boolean dropped = signal == SignalType.ON_ERROR || isUpstreamFailure(status);
+            long rtt = rttNanos.get();
+            limit.release(rtt >= 0 ? rtt : System.nanoTime() - start, inFlight, dropped);
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        // After EdgeAuthenticationFilter, before route filters (rate limiting)
+        return Ordered.HIGHEST_PRECEDENCE + 200;
+    }
+
+    private GradientConcurrencyLimit newLimit(String upstream) {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(upstream, properties.getInitialLimit(),
+                properties.getMinLimit(), properties.getMaxLimit(), properties.getSmoothing(),
+                properties.getRttTolerance());
+        Gauge.builder(LIMIT_METRIC, limit, GradientConcurrencyLimit::getLimit)
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, limit, GradientConcurrencyLimit::getInFlight)
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+        return limit;
+    }
+
+    private RoutePriority priority(Route route) {
+        return properties.getRoutePriorities().getOrDefault(route.getId(), RoutePriority.NORMAL);
+    }
+
+    private double share(RoutePriority priority) {
+        return switch (priority) {
+            case LOW -> properties.getLowPriorityShare();
+            case NORMAL -> properties.getNormalPriorityShare();
+            case CRITICAL -> 1.0;
+        };
+    }
+
+    /**
+     * Upstream service of a route: the service id for lb:// routes, the route id otherwise
+     */
+    private static String upstream(Route route) {
+        String host = route.getUri().getHost();
+        return "lb".equals(route.getUri().getScheme()) && host != null ? host.toLowerCase() : route.getId();
+    }
+
+    private static boolean isUpstreamFailure(HttpStatusCode status) {
+        return status != null && (status.value() == HttpStatus.BAD_GATEWAY.value()
+                || status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+
+    private Mono<Void> busy(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+        DataBuffer body = response.bufferFactory().wrap(BUSY_BODY);
+        return response.writeWith(Mono.just(body));
+    }
+}
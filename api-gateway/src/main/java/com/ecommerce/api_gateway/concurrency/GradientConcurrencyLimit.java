@@ -0,0 +1,121 @@
+package com.ecommerce.api_gateway.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit of one upstream, adjusted from the latency it is observed to have
+ * (the gradient algorithm of Netflix's concurrency-limits, Gradient2Limit).
+ *
+ * This class handles:
+ * - Admitting a request while in-flight requests stay below a share of the limit
+ *   (lock-free, CAS on the in-flight count)
+ * - Tracking the upstream's long-term average latency and comparing each new sample
+ *   with it: as latency rises above rtt-tolerance x average, the limit shrinks in
+ *   proportion (at most halving per sample); otherwise it grows by sqrt(limit),
+ *   the queue the upstream is allowed to build
+ * - Backing off by 10% when the upstream fails (5xx gateway errors, timeouts)
+ *
+ * Samples taken while less than half the limit is in use say nothing about the
+ * upstream's capacity and do not move the limit.
+ */
+@Slf4j
+public class GradientConcurrencyLimit {
+
+    /** Samples in the long-term latency average (exponential, ~this many samples) */
+    private static final int LONG_WINDOW = 600;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    /** Guarded by this */
+    private double longRttNanos;
+
+    public GradientConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit,
+                                    double smoothing, double rttTolerance) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Take a slot if fewer than share x limit requests are in flight.
+     *
+     * @return the in-flight count including this request, or -1 if rejected
+     */
+    public int tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Give the slot back without a sample (cancelled or answered by the gateway itself)
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Give the slot back and feed the request's outcome into the limit
+     *
+     * @param rttNanos        time from admission to the end of the response
+     * @param inFlightAtStart in-flight count when the request was admitted
+     * @param dropped         the upstream failed or timed out
+     */
+    public void release(long rttNanos, int inFlightAtStart, boolean dropped) {
+        inFlight.decrementAndGet();
+        update(rttNanos, inFlightAtStart, dropped);
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtStart, boolean dropped) {
+        double current = limit;
+        double next;
+        if (dropped) {
+            next = current * BACKOFF_RATIO;
+        } else {
+            double shortRtt = Math.max(1, rttNanos);
+            longRttNanos = longRttNanos == 0 ? shortRtt : longRttNanos + (shortRtt - longRttNanos) / LONG_WINDOW;
+            // Latency has dropped well below the average (e.g. after an incident): catch up faster
+            if (longRttNanos / shortRtt > 2) {
+                longRttNanos *= 0.95;
+            }
+            if (inFlightAtStart < current / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRtt));
+            double estimate = current * gradient + Math.sqrt(current);
+            next = current * (1 - smoothing) + estimate * smoothing;
+        }
+        next = Math.max(minLimit, Math.min(maxLimit, next));
+        if ((int) next != (int) current) {
+            log.debug("Concurrency limit for {}: {} -> {}", name, (int) current, (int) next);
+        }
+        limit = next;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.api_gateway.concurrency;
+
+/**
+ * Shedding order among the routes of one upstream when it is at its concurrency
+ * limit: low-priority routes are rejected first, critical routes last.
+ * Declared in ascending order.
+ */
+public enum RoutePriority {
+    LOW,
+    NORMAL,
+    CRITICAL
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.api_gateway.config;
+
+import com.ecommerce.api_gateway.concurrency.RoutePriority;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for adaptive concurrency limiting and load shedding.
+ *
+ * <pre>
+ * gateway:
+ *   concurrency:
+ *     enabled: true
+ *     initial-limit: 20
+ *     min-limit: 5
+ *     max-limit: 500
+ *     smoothing: 0.2
+ *     rtt-tolerance: 1.5
+ *     low-priority-share: 0.7
+ *     normal-priority-share: 0.9
+ *     retry-after-seconds: 1
+ *     route-priorities:
+ *       auth-service-login: critical
+ *       auth-service-swagger: low
+ * </pre>
+ *
+ * Priorities only matter between routes sharing an upstream; a route alone on its
+ * upstream always gets the whole limit.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "gateway.concurrency")
+@Getter
+@Setter
+public class AdaptiveConcurrencyProperties {
+
+    /**
+     * Limit in-flight requests per upstream service and shed the excess with 503
+     */
+    private boolean enabled = true;
+
+    /**
+     * Concurrency limit each upstream starts with, before any latency is observed
+     */
+    private int initialLimit = 20;
+
+    private int minLimit = 5;
+
+    private int maxLimit = 500;
+
+    /**
+     * Weight of each new limit estimate (0..1); lower reacts slower but steadier
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * How much slower than its long-term average an upstream may get before the
+     * limit starts shrinking (1.5 = 50% slower)
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * Fraction of an upstream's limit that low-priority routes may fill while a
+     * higher-priority route shares the upstream
+     */
+    private double lowPriorityShare = 0.7;
+
+    /**
+     * Fraction of an upstream's limit that normal-priority routes may fill while a
+     * critical route shares the upstream; the top priority may use all of it
+     */
+    private double normalPriorityShare = 0.9;
+
+    /**
+     * Retry-After sent with shed requests
+     */
+    private int retryAfterSeconds = 1;
+
+    /**
+     * Priority by route id, relative to the other routes of the same upstream;
+     * routes not listed are normal
+     */
+    private Map<String, RoutePriority> routePriorities = new HashMap<>();
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.api_gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for request coalescing (identical concurrent GETs share one upstream call).
+ * Only routes listed under routes are coalesced.
+ *
+ * <pre>
+ * gateway:
+ *   coalescing:
+ *     enabled: true
+ *     routes:
+ *       product-service:
+ *         max-wait-ms: 2000
+ *         max-body-kb: 1024
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "gateway.coalescing")
+@Getter
+@Setter
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Settings by route id
+     */
+    private Map<String, Route> routes = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+
+        /**
+         * How long a request waits for an identical in-flight one before calling
+         * upstream itself
+         */
+        private long maxWaitMs = 2000;
+
+        /**
+         * Larger responses are not shared; waiting requests call upstream themselves
+         */
+        private int maxBodyKb = 1024;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.api_gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for user JWT verification at the gateway.
+ *
+ * <pre>
+ * gateway:
+ *   auth:
+ *     enabled: true
+ *     signer-key: ${JWT_SIGNER_KEY:${jwt-signer-key:}}
+ *     previous-signer-keys: ${JWT_PREVIOUS_SIGNER_KEYS:${jwt-previous-signer-keys:}}
+ *     identity-signing-key: ${TRUSTED_IDENTITY_KEY:${trusted-identity-key:}}
+ *     claims-cache-size: 100000
+ *     epoch-check-enabled: true
+ *     epoch-resync-interval-ms: 30000
+ *     pass-through-paths:
+ *       - /api/v1/auth/**
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "gateway.auth")
+@Getter
+@Setter
+public class EdgeAuthProperties {
+
+    /**
+     * Verify bearer tokens at the gateway and forward signed identity headers
+     */
+    private boolean enabled = true;
+
+    /**
+     * auth-service's JWT signing key (jwt.signer-key); required when enabled
+     */
+    private String signerKey;
+
+    /**
+     * Previous JWT signing keys, still accepted during a rotation (jwt.previous-signer-keys)
+     */
+    private List<String> previousSignerKeys = new ArrayList<>();
+
+    /**
+     * Key for the HMAC over the forwarded identity headers; shared with downstream
+     * services (security.trusted-identity.signing-key). Without it only an unsigned
+     * X-User-Id is set, for the gateway's own key resolvers; downstream services
+     * running TrustedIdentityFilter ignore it.
+     */
+    private String identitySigningKey;
+
+    /**
+     * Maximum number of verified tokens kept; each entry expires with its token
+     */
+    private long claimsCacheSize = 100_000;
+
+    /**
+     * Treat tokens older than the user's last revoke-all (auth:token_epoch:* in Redis)
+     * as invalid
+     */
+    private boolean epochCheckEnabled = true;
+
+    /**
+     * Full reload of the token epochs; bounds how long a missed revocation message
+     * goes unnoticed
+     */
+    private long epochResyncIntervalMs = 30_000;
+
+    /**
+     * Paths where an invalid or expired token is forwarded as is instead of being
+     * rejected (e.g. refresh and logout, which accept expired access tokens)
+     */
+    private List<String> passThroughPaths = new ArrayList<>(List.of("/api/v1/auth/**"));
+}
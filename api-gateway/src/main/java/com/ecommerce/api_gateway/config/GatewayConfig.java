@@ -1,20 +1,36 @@
 package com.ecommerce.api_gateway.config;
 
+import com.ecommerce.api_gateway.ratelimit.HybridRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
 import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.http.HttpStatus;
 
 @Configuration
 public class GatewayConfig {
 
+        private static final String MODE_HYBRID = "hybrid";
+
         private final KeyResolver ipKeyResolver;
+        private final HybridRateLimitProperties hybridProperties;
+        private final ReactiveStringRedisTemplate redisTemplate;
+        private final MeterRegistry meterRegistry;
+
+        /**
+         * redis: every request is a Redis round trip (RedisRateLimiter).
+         * hybrid: decided locally, reconciled with Redis (HybridRateLimiter).
+         */
+        @Value("${gateway.rate-limit.mode:redis}")
+        private String rateLimitMode;
 
         @Value("${gateway.rate-limit.default.replenish-rate:10}")
         private int defaultReplenishRate;
@@ -31,8 +47,14 @@ public class GatewayConfig {
         @Value("${gateway.rate-limit.auth.burst-capacity:10}")
         private int authBurstCapacity;
 
-        public GatewayConfig(KeyResolver ipKeyResolver) {
+        public GatewayConfig(KeyResolver ipKeyResolver,
+                        HybridRateLimitProperties hybridProperties,
+                        ReactiveStringRedisTemplate redisTemplate,
+                        MeterRegistry meterRegistry) {
                 this.ipKeyResolver = ipKeyResolver;
+                this.hybridProperties = hybridProperties;
+                this.redisTemplate = redisTemplate;
+                this.meterRegistry = meterRegistry;
         }
 
         /**
@@ -42,8 +64,8 @@ public class GatewayConfig {
         @Bean
         @Primary
         @Qualifier("defaultRateLimiter")
-        public RedisRateLimiter defaultRateLimiter() {
-                return new RedisRateLimiter(defaultReplenishRate, defaultBurstCapacity, defaultRequestedTokens);
+        public RateLimiter<RedisRateLimiter.Config> defaultRateLimiter() {
+                return rateLimiter(defaultReplenishRate, defaultBurstCapacity, defaultRequestedTokens);
         }
 
         /**
@@ -53,14 +75,23 @@ public class GatewayConfig {
          */
         @Bean
         @Qualifier("authRateLimiter")
-        public RedisRateLimiter authRateLimiter() {
-                return new RedisRateLimiter(authReplenishRate, authBurstCapacity, 1);
+        public RateLimiter<RedisRateLimiter.Config> authRateLimiter() {
+                return rateLimiter(authReplenishRate, authBurstCapacity, 1);
+        }
+
+        private RateLimiter<RedisRateLimiter.Config> rateLimiter(int replenishRate, int burstCapacity,
+                        int requestedTokens) {
+                if (MODE_HYBRID.equalsIgnoreCase(rateLimitMode)) {
+                        return new HybridRateLimiter(replenishRate, burstCapacity, requestedTokens,
+                                        hybridProperties, redisTemplate, meterRegistry);
+                }
+                return new RedisRateLimiter(replenishRate, burstCapacity, requestedTokens);
         }
 
         @Bean
         public RouteLocator customRouteLocator(RouteLocatorBuilder builder,
-                        @Qualifier("defaultRateLimiter") RedisRateLimiter defaultRateLimiter,
-                        @Qualifier("authRateLimiter") RedisRateLimiter authRateLimiter) {
+                        @Qualifier("defaultRateLimiter") RateLimiter<RedisRateLimiter.Config> defaultRateLimiter,
+                        @Qualifier("authRateLimiter") RateLimiter<RedisRateLimiter.Config> authRateLimiter) {
                 return builder.routes()
                                 // ==================== Swagger/OpenAPI Routes (FIRST - highest priority)
                                 // ====================
@@ -0,0 +1,44 @@
+package com.ecommerce.api_gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the hybrid (local + Redis) rate limiter, used when
+ * gateway.rate-limit.mode=hybrid.
+ *
+ * <pre>
+ * gateway:
+ *   rate-limit:
+ *     mode: hybrid
+ *     hybrid:
+ *       sync-interval-ms: 250
+ *       sync-threshold-ratio: 0.5
+ *       idle-eviction-seconds: 60
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "gateway.rate-limit.hybrid")
+@Getter
+@Setter
+public class HybridRateLimitProperties {
+
+    /**
+     * How often each replica pushes its locally admitted requests to Redis and
+     * reads back the shared bucket
+     */
+    private long syncIntervalMs = 250;
+
+    /**
+     * Below this fraction of the burst capacity (as estimated locally), a key is
+     * decided by Redis synchronously instead of locally
+     */
+    private double syncThresholdRatio = 0.5;
+
+    /**
+     * Local buckets unused for this long (and fully synced) are dropped
+     */
+    private long idleEvictionSeconds = 60;
+}
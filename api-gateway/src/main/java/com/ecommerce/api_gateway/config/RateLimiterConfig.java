@@ -30,6 +30,8 @@ public class RateLimiterConfig {
 
     /**
      * Rate limit by User ID from JWT token.
+     * X-User-Id is set by EdgeAuthenticationFilter from the verified token
+     * (any client-supplied value is stripped first).
      * Useful for authenticated endpoints where each user has their own limit.
      */
     @Bean
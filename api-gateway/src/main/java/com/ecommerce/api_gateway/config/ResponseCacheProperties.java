@@ -0,0 +1,64 @@
+package com.ecommerce.api_gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for the gateway response cache (public, read-heavy GETs).
+ *
+ * <pre>
+ * gateway:
+ *   response-cache:
+ *     enabled: true
+ *     paths:
+ *       - /api/v1/products/**
+ *     max-size-mb: 64
+ *     max-body-kb: 512
+ *     default-ttl-seconds: 0
+ *     max-ttl-seconds: 300
+ *     redis-enabled: false
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "gateway.response-cache")
+@Getter
+@Setter
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Path patterns whose GET responses may be cached
+     */
+    private List<String> paths = new ArrayList<>(List.of("/api/v1/products/**"));
+
+    /**
+     * Total size of the cached bodies kept in memory on each replica
+     */
+    private long maxSizeMb = 64;
+
+    /**
+     * Larger responses are passed through without being cached
+     */
+    private int maxBodyKb = 512;
+
+    /**
+     * TTL for responses without max-age / s-maxage; 0 caches only what upstream allows
+     */
+    private long defaultTtlSeconds = 0;
+
+    /**
+     * Upper bound on any TTL, whatever upstream asks for
+     */
+    private long maxTtlSeconds = 300;
+
+    /**
+     * Share cached responses between replicas through Redis (second level)
+     */
+    private boolean redisEnabled = false;
+}
@@ -0,0 +1,236 @@
+package com.ecommerce.api_gateway.ratelimit;
+
+import com.ecommerce.api_gateway.config.HybridRateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.AbstractStatefulConfigurable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket rate limiter that decides most requests in-process and keeps
+ * replicas in step through Redis. Drop-in replacement for RedisRateLimiter
+ * (same Config and response headers).
+ *
+ * This class handles:
+ * - A local bucket per key in a ConcurrentHashMap, updated with CAS only: the
+ *   shared bucket's tokens at the last sync, refilled at the replenish rate since,
+ *   minus what this replica admitted since
+ * - Admitting locally while that estimate stays above sync-threshold-ratio of the
+ *   burst capacity; below it, the request is decided by Redis synchronously, with
+ *   the pending local consumption applied in the same script call
+ * - Pushing local consumption to Redis every sync-interval-ms and reading back the
+ *   shared bucket, so every replica sees the others' traffic
+ * - Failing open (like RedisRateLimiter) when Redis is unavailable
+ *
+ * Accuracy: between syncs, each replica may admit up to (1 - sync-threshold-ratio)
+ * of the burst capacity more than the shared bucket would have, so the worst-case
+ * overshoot is replicas x that amount per sync interval. Keys close to their limit
+ * are decided by Redis and are exact.
+ */
+@Slf4j
+public class HybridRateLimiter extends AbstractStatefulConfigurable<RedisRateLimiter.Config>
+        implements RateLimiter<RedisRateLimiter.Config>, DisposableBean {
+
+    private static final String KEY_PREFIX = "hybrid_rate_limiter.{";
+    private static final String METRIC = "gateway.ratelimit.decisions";
+
+    private static final RedisScript<List<Long>> SCRIPT = loadScript("scripts/hybrid_rate_limiter.lua");
+
+    private final RedisRateLimiter.Config config;
+    private final HybridRateLimitProperties properties;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final Map<String, LocalBucket> buckets = new ConcurrentHashMap<>();
+    private final double syncThreshold;
+    private final Counter localAllowed;
+    private final Counter redisAllowed;
+    private final Counter redisDenied;
+    private final Counter redisErrors;
+    private final Disposable syncTask;
+
+    /**
+     * Local view of one key's shared bucket.
+     * Tokens are kept in thousandths so the pending count stays an exact long.
+     */
+    private static final class LocalBucket {
+        final String tokensKey;
+        final String timestampKey;
+        /** Shared bucket tokens (x1000) at the last sync; negative until the first sync */
+        volatile long syncedMilliTokens = -1;
+        volatile long syncedAtNanos;
+        /** Tokens admitted locally and not yet pushed to Redis */
+        final AtomicLong pending = new AtomicLong();
+        final AtomicBoolean syncing = new AtomicBoolean();
+        volatile long lastUsedNanos = System.nanoTime();
+
+        LocalBucket(String key) {
+            this.tokensKey = KEY_PREFIX + key + "}.tokens";
+            this.timestampKey = KEY_PREFIX + key + "}.timestamp";
+        }
+    }
+
+    public HybridRateLimiter(int replenishRate, long burstCapacity, int requestedTokens,
+                             HybridRateLimitProperties properties,
+                             ReactiveStringRedisTemplate redisTemplate,
+                             MeterRegistry meterRegistry) {
+        super(RedisRateLimiter.Config.class);
+        this.config = new RedisRateLimiter.Config()
+                .setReplenishRate(replenishRate)
+                .setBurstCapacity(burstCapacity)
+                .setRequestedTokens(requestedTokens);
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.syncThreshold = burstCapacity * properties.getSyncThresholdRatio();
+        this.localAllowed = meterRegistry.counter(METRIC, "path", "local", "result", "allowed");
+        this.redisAllowed = meterRegistry.counter(METRIC, "path", "redis", "result", "allowed");
+        this.redisDenied = meterRegistry.counter(METRIC, "path", "redis", "result", "denied");
+        this.redisErrors = meterRegistry.counter(METRIC, "path", "redis", "result", "error");
+        this.syncTask = Flux.interval(Duration.ofMillis(properties.getSyncIntervalMs()))
+                .onBackpressureDrop()
+                .concatMap(tick -> syncAll(), 1)
+                .subscribe();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        // Keyed by id only, like RedisRateLimiter: one budget per client across routes
+        LocalBucket bucket = buckets.computeIfAbsent(id, LocalBucket::new);
+        long now = System.nanoTime();
+        bucket.lastUsedNanos = now;
+        int requested = config.getRequestedTokens();
+
+        // Fast path: enough headroom in the local estimate
+        if (bucket.syncedMilliTokens >= 0) {
+            while (true) {
+                long pending = bucket.pending.get();
+                double remaining = estimate(bucket, pending, now) - requested;
+                if (remaining < syncThreshold) {
+                    break;
+                }
+                if (bucket.pending.compareAndSet(pending, pending + requested)) {
+                    localAllowed.increment();
+                    return Mono.just(new Response(true, headers((long) remaining)));
+                }
+            }
+        }
+
+        // Near the limit (or first sight of the key): let Redis decide
+        long consumed = bucket.pending.getAndSet(0);
+        return execute(bucket, consumed, requested)
+                .map(result -> {
+                    boolean allowed = result.get(0) == 1L;
+                    (allowed ? redisAllowed : redisDenied).increment();
+                    return new Response(allowed, headers(result.get(1)));
+                })
+                .onErrorResume(e -> {
+                    // Keep the consumption for the next sync, and fail open
+                    bucket.pending.addAndGet(consumed);
+                    redisErrors.increment();
+                    log.debug("Rate limiter falling back to allow: {}", e.getMessage());
+                    return Mono.just(new Response(true, headers(-1L)));
+                });
+    }
+
+    /**
+     * Local estimate of the shared bucket's tokens
+     */
+    private double estimate(LocalBucket bucket, long pending, long nowNanos) {
+        double elapsedSeconds = (nowNanos - bucket.syncedAtNanos) / 1_000_000_000.0;
+        double refilled = bucket.syncedMilliTokens / 1000.0 + elapsedSeconds * config.getReplenishRate();
+        return Math.min(config.getBurstCapacity(), refilled) - pending;
+    }
+
+    private Mono<List<Long>> execute(LocalBucket bucket, long consumed, int requested) {
+        long sentAt = System.nanoTime();
+        return redisTemplate.execute(SCRIPT, List.of(bucket.tokensKey, bucket.timestampKey),
+                        List.of(String.valueOf(config.getReplenishRate()), String.valueOf(config.getBurstCapacity()),
+                                String.valueOf(consumed), String.valueOf(requested)))
+                .next()
+                .doOnNext(result -> {
+                    bucket.syncedMilliTokens = result.get(2);
+                    bucket.syncedAtNanos = sentAt;
+                });
+    }
+
+    /**
+     * Push pending consumption of every active key and refresh its view of the shared
+     * bucket; drop keys that have been idle for a while
+     */
+    private Mono<Void> syncAll() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.SECONDS.toNanos(properties.getIdleEvictionSeconds());
+        return Flux.fromIterable(buckets.entrySet())
+                .filter(entry -> {
+                    LocalBucket bucket = entry.getValue();
+                    if (bucket.pending.get() == 0 && now - bucket.lastUsedNanos > idleNanos) {
+                        buckets.remove(entry.getKey(), bucket);
+                        return false;
+                    }
+                    // Keys not used since their last sync have nothing new to learn locally
+                    return bucket.pending.get() > 0 || bucket.lastUsedNanos > bucket.syncedAtNanos;
+                })
+                .flatMap(entry -> sync(entry.getValue()), 64)
+                .then();
+    }
+
+    private Mono<Void> sync(LocalBucket bucket) {
+        if (!bucket.syncing.compareAndSet(false, true)) {
+            return Mono.empty();
+        }
+        long consumed = bucket.pending.getAndSet(0);
+        return execute(bucket, consumed, 0)
+                .onErrorResume(e -> {
+                    bucket.pending.addAndGet(consumed);
+                    log.debug("Rate limiter sync failed: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> bucket.syncing.set(false))
+                .then();
+    }
+
+    private Map<String, String> headers(long remaining) {
+        return Map.of(
+                RedisRateLimiter.REMAINING_HEADER, String.valueOf(remaining),
+                RedisRateLimiter.REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+                RedisRateLimiter.BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()),
+                RedisRateLimiter.REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()));
+    }
+
+    /**
+     * Number of keys currently held locally
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    @Override
+    public void destroy() {
+        syncTask.dispose();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static RedisScript<List<Long>> loadScript(String path) {
+        DefaultRedisScript script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(path)));
+        script.setResultType(List.class);
+        return script;
+    }
+}
@@ -0,0 +1,153 @@
+package com.ecommerce.api_gateway.security;
+
+import com.ecommerce.api_gateway.config.EdgeAuthProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Verifies the user's bearer token once, at the edge, and tells downstream services
+ * who the caller is.
+ *
+ * This filter handles:
+ * - Stripping inbound X-User-* identity headers, so clients cannot spoof them
+ * - Verifying the bearer token (EdgeTokenVerifier, cached until the token expires)
+ *   and rejecting tokens revoked by a revoke-all (TokenEpochCache)
+ * - Forwarding X-User-Id / X-User-Role / X-User-Email with an HMAC signature that
+ *   downstream services check with common-lib's TrustedIdentityFilter; without
+ *   gateway.auth.identity-signing-key only an unsigned X-User-Id is set
+ * - Rejecting invalid or expired tokens with 401, except on pass-through paths
+ *
+ * Runs before the route filters, so the user key resolver of the rate limiter sees
+ * the verified X-User-Id. The Authorization header is forwarded unchanged.
+ */
+@Slf4j
+@Component
+public class EdgeAuthenticationFilter implements GlobalFilter, Ordered {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final List<String> IDENTITY_HEADERS = List.of(
+            IdentityHeaderSigner.USER_ID_HEADER, IdentityHeaderSigner.USER_ROLE_HEADER,
+            IdentityHeaderSigner.USER_EMAIL_HEADER, IdentityHeaderSigner.SIGNATURE_HEADER);
+    private static final byte[] UNAUTHENTICATED_BODY =
+            "{\"code\":1182,\"message\":\"Token is invalid or has expired\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final EdgeAuthProperties properties;
+    private final EdgeTokenVerifier tokenVerifier;
+    private final IdentityHeaderSigner headerSigner;
+    private final TokenEpochCache tokenEpochs;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public EdgeAuthenticationFilter(EdgeAuthProperties properties, TokenEpochCache tokenEpochs) {
+        if (properties.isEnabled() && (properties.getSignerKey() == null || properties.getSignerKey().isEmpty())) {
+            throw new IllegalStateException(
+                    "gateway.auth.enabled=true requires gateway.auth.signer-key (jwt-signer-key in secret/ecommerce/jwt)");
+        }
+        this.properties = properties;
+        this.tokenEpochs = tokenEpochs;
+        this.tokenVerifier = new EdgeTokenVerifier(properties.getSignerKey(), properties.getPreviousSignerKeys(),
+                properties.getClaimsCacheSize());
+        String identityKey = properties.getIdentitySigningKey();
+        this.headerSigner = identityKey != null && !identityKey.isEmpty() ? new IdentityHeaderSigner(identityKey) : null;
+        if (properties.isEnabled() && headerSigner == null) {
+            log.warn("gateway.auth.identity-signing-key not set; tokens are verified but only an unsigned X-User-Id is set");
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        boolean spoofed = IDENTITY_HEADERS.stream().anyMatch(request.getHeaders()::containsHeader);
+        if (!properties.isEnabled()) {
+            return chain.filter(spoofed ? exchange.mutate().request(stripIdentity(request).build()).build() : exchange);
+        }
+
+        String token = bearerToken(request);
+        if (token == null) {
+            return chain.filter(spoofed ? exchange.mutate().request(stripIdentity(request).build()).build() : exchange);
+        }
+
+        EdgeTokenVerifier.VerifiedToken verified = verify(token);
+        if (verified == null) {
+            if (isPassThrough(request)) {
+                return chain.filter(exchange.mutate().request(stripIdentity(request).build()).build());
+            }
+            log.debug("Rejected invalid bearer token on {}", request.getPath().value());
+            return unauthenticated(exchange.getResponse());
+        }
+
+        ServerHttpRequest.Builder mutated = stripIdentity(request);
+        if (headerSigner != null) {
+            mutated.headers(headers -> {
+                headers.set(IdentityHeaderSigner.USER_ID_HEADER, verified.userId());
+                if (verified.role() != null) {
+                    headers.set(IdentityHeaderSigner.USER_ROLE_HEADER, verified.role());
+                }
+                if (verified.email() != null) {
+                    headers.set(IdentityHeaderSigner.USER_EMAIL_HEADER, verified.email());
+                }
+                headers.set(IdentityHeaderSigner.SIGNATURE_HEADER,
+                        headerSigner.sign(verified.userId(), verified.role(), verified.email()));
+            });
+        } else {
+            // Unsigned, and only for the gateway's own key resolvers
+            mutated.headers(headers -> headers.set(IdentityHeaderSigner.USER_ID_HEADER, verified.userId()));
+        }
+        return chain.filter(exchange.mutate().request(mutated.build()).build());
+    }
+
+    @Override
+    public int getOrder() {
+        // Before route filters (rate limiting) and the other global filters
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+
+    private EdgeTokenVerifier.VerifiedToken verify(String token) {
+        EdgeTokenVerifier.VerifiedToken verified = tokenVerifier.verify(token);
+        if (verified != null && properties.isEpochCheckEnabled()
+                && tokenEpochs.isRevoked(verified.userId(), verified.epoch())) {
+            return null;
+        }
+        return verified;
+    }
+
+    private static ServerHttpRequest.Builder stripIdentity(ServerHttpRequest request) {
+        return request.mutate().headers(headers -> IDENTITY_HEADERS.forEach(headers::remove));
+    }
+
+    private static String bearerToken(ServerHttpRequest request) {
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return null;
+        }
+        String token = authorization.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    private boolean isPassThrough(ServerHttpRequest request) {
+        String path = request.getPath().value();
+        return properties.getPassThroughPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private static Mono<Void> unauthenticated(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+        DataBuffer body = response.bufferFactory().wrap(UNAUTHENTICATED_BODY);
+        return response.writeWith(Mono.just(body));
+    }
+}
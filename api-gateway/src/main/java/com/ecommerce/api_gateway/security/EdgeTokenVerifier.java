@@ -0,0 +1,167 @@
+package com.ecommerce.api_gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Verifies user access tokens at the edge, once per token.
+ *
+ * This class handles:
+ * - HS256 signature check against the key named by the token's kid (derived from
+ *   the key the same way auth-service's JwsKeyRing does); tokens without a kid are
+ *   tried against every configured key
+ * - Expiry check
+ * - Caching the verified identity by token hash until the token's exp, so repeat
+ *   requests with the same token skip parsing and the HMAC
+ *
+ * Revocation is not checked here: the caller checks the token's epoch against
+ * TokenEpochCache on every request, and single-token logout (blacklist) remains
+ * auth-service's to enforce. Invalid tokens are not cached.
+ */
+@Slf4j
+public class EdgeTokenVerifier {
+
+    private static final int KID_LENGTH = 16;
+
+    private final Map<String, JWSVerifier> verifiers;
+    private final Cache<String, VerifiedToken> cache;
+
+    /**
+     * Identity taken from a verified token
+     */
+    public record VerifiedToken(String userId, String email, String role, long epoch, Instant expiresAt) {}
+
+    public EdgeTokenVerifier(String signerKey, Collection<String> previousKeys, long cacheSize) {
+        Map<String, JWSVerifier> keys = new LinkedHashMap<>();
+        addKey(keys, signerKey);
+        if (previousKeys != null) {
+            previousKeys.forEach(key -> addKey(keys, key));
+        }
+        this.verifiers = Map.copyOf(keys);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        long nanos = (value.expiresAt().toEpochMilli() - System.currentTimeMillis()) * 1_000_000L;
+                        return Math.max(0, nanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+
+        if (verifiers.isEmpty()) {
+            log.warn("No JWT signer key configured for the gateway; every bearer token will be treated as invalid");
+        }
+    }
+
+    /**
+     * @return the token's identity, or null if the token is malformed, not signed with
+     *         a known key, or expired
+     */
+    public VerifiedToken verify(String token) {
+        String cacheKey = hash(token);
+        VerifiedToken cached = cache.getIfPresent(cacheKey);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+
+        VerifiedToken verified = verifyUncached(token);
+        if (verified != null) {
+            cache.put(cacheKey, verified);
+        }
+        return verified;
+    }
+
+    private VerifiedToken verifyUncached(String token) {
+        try {
+            SignedJWT jwt = SignedJWT.parse(token);
+            if (!JWSAlgorithm.HS256.equals(jwt.getHeader().getAlgorithm()) || !verifySignature(jwt)) {
+                return null;
+            }
+
+            JWTClaimsSet claims = jwt.getJWTClaimsSet();
+            Date expiry = claims.getExpirationTime();
+            String userId = claims.getStringClaim("userId");
+            if (expiry == null || !expiry.after(new Date()) || userId == null) {
+                return null;
+            }
+            // Tokens minted before epochs existed count as epoch 0
+            long epoch = claims.getClaim("epoch") instanceof Number number ? number.longValue() : 0;
+            return new VerifiedToken(userId, claims.getStringClaim("email"), claims.getStringClaim("role"),
+                    epoch, expiry.toInstant());
+        } catch (ParseException | JOSEException e) {
+            log.debug("Rejecting malformed bearer token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean verifySignature(SignedJWT jwt) throws JOSEException {
+        String kid = jwt.getHeader().getKeyID();
+        if (kid != null) {
+            JWSVerifier verifier = verifiers.get(kid);
+            return verifier != null && jwt.verify(verifier);
+        }
+        for (JWSVerifier verifier : verifiers.values()) {
+            if (jwt.verify(verifier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addKey(Map<String, JWSVerifier> keys, String key) {
+        if (key == null || key.isEmpty()) {
+            return;
+        }
+        String kid = HexFormat.of().formatHex(sha256(key)).substring(0, KID_LENGTH);
+        try {
+            keys.putIfAbsent(kid, new MACVerifier(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (JOSEException e) {
+            log.warn("JWT signer key (kid {}) rejected: {}", kid, e.getMessage());
+        }
+    }
+
+    private static String hash(String token) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sha256(token));
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.api_gateway.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Signs the identity headers forwarded to downstream services.
+ *
+ * The format must match common-lib's TrustedIdentityVerifier:
+ * <pre>
+ * X-User-Signature: t=&lt;epoch seconds&gt;,v1=&lt;base64url HMAC-SHA256 of "v1\nt\nuserId\nrole\nemail"&gt;
+ * </pre>
+ * Binding the timestamp lets downstream services reject replayed header sets.
+ */
+public class IdentityHeaderSigner {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_ROLE_HEADER = "X-User-Role";
+    public static final String USER_EMAIL_HEADER = "X-User-Email";
+    public static final String SIGNATURE_HEADER = "X-User-Signature";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public IdentityHeaderSigner(String signingKey) {
+        this.key = new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialize " + ALGORITHM, e);
+            }
+        });
+    }
+
+    /**
+     * @return the X-User-Signature value for these headers, issued now
+     */
+    public String sign(String userId, String role, String email) {
+        long timestamp = System.currentTimeMillis() / 1000;
+        String payload = VERSION + "\n" + timestamp + "\n" + nullToEmpty(userId) + "\n"
+                + nullToEmpty(role) + "\n" + nullToEmpty(email);
+        byte[] mac = macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return "t=" + timestamp + "," + VERSION + "=" + Base64.getUrlEncoder().withoutPadding().encodeToString(mac);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
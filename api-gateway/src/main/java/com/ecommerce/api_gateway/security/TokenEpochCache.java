@@ -0,0 +1,128 @@
+package com.ecommerce.api_gateway.security;
+
+import com.ecommerce.api_gateway.config.EdgeAuthProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user token epochs from auth-service, so tokens revoked by a revoke-all (logout
+ * from all devices, password reset) stop getting signed identity headers.
+ *
+ * This class handles:
+ * - Applying epoch bumps published by auth-service on auth:revocations
+ *   ("epoch:&lt;expiresAtMillis&gt;:&lt;userId&gt;:&lt;epoch&gt;")
+ * - Reloading every auth:token_epoch:{userId} key on startup and every
+ *   gateway.auth.epoch-resync-interval-ms, which also recovers missed messages
+ * - Answering isRevoked() from memory; users never bumped are at epoch 0
+ */
+@Slf4j
+@Component
+public class TokenEpochCache implements DisposableBean {
+
+    private static final String REVOCATIONS_CHANNEL = "auth:revocations";
+    private static final String TOKEN_EPOCH_PREFIX = "auth:token_epoch:";
+    private static final String EPOCH_MESSAGE_PREFIX = "epoch:";
+
+    private final EdgeAuthProperties properties;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+    private final Map<String, Entry> epochs = new ConcurrentHashMap<>();
+    private Disposable subscription;
+    private Disposable resync;
+
+    private record Entry(long epoch, long expiresAtMillis) {}
+
+    public TokenEpochCache(EdgeAuthProperties properties,
+                           ReactiveStringRedisTemplate redisTemplate,
+                           ReactiveRedisMessageListenerContainer listenerContainer) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        if (!properties.isEnabled() || !properties.isEpochCheckEnabled()) {
+            return;
+        }
+        subscription = listenerContainer.receive(ChannelTopic.of(REVOCATIONS_CHANNEL))
+                .subscribe(message -> onMessage(message.getMessage()),
+                        e -> log.warn("Token epoch subscription ended: {}", e.getMessage()));
+        resync = Flux.interval(Duration.ZERO, Duration.ofMillis(properties.getEpochResyncIntervalMs()))
+                .onBackpressureDrop()
+                .concatMap(tick -> reload())
+                .subscribe();
+    }
+
+    /**
+     * Whether a token of the user carrying tokenEpoch was issued before their last revoke-all
+     */
+    public boolean isRevoked(String userId, long tokenEpoch) {
+        Entry entry = epochs.get(userId);
+        return entry != null && entry.expiresAtMillis() > System.currentTimeMillis() && tokenEpoch < entry.epoch();
+    }
+
+    private void onMessage(String body) {
+        if (!body.startsWith(EPOCH_MESSAGE_PREFIX)) {
+            return;
+        }
+        String[] parts = body.substring(EPOCH_MESSAGE_PREFIX.length()).split(":");
+        try {
+            record(parts[1], new Entry(Long.parseLong(parts[2]), Long.parseLong(parts[0])));
+        } catch (RuntimeException e) {
+            log.warn("Malformed epoch message: {}", body);
+        }
+    }
+
+    private Mono<Void> reload() {
+        long now = System.currentTimeMillis();
+        epochs.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+
+        ScanOptions options = ScanOptions.scanOptions().match(TOKEN_EPOCH_PREFIX + "*").count(500).build();
+        return redisTemplate.scan(options)
+                .flatMap(key -> Mono.zip(redisTemplate.opsForValue().get(key), redisTemplate.getExpire(key))
+                        .doOnNext(loaded -> {
+                            long ttlMillis = loaded.getT2().toMillis();
+                            if (ttlMillis > 0) {
+                                record(key.substring(TOKEN_EPOCH_PREFIX.length()),
+                                        new Entry(Long.parseLong(loaded.getT1()), System.currentTimeMillis() + ttlMillis));
+                            }
+                        }), 16)
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Could not reload token epochs from Redis: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private void record(String userId, Entry entry) {
+        // Epochs only move forward; a late message or an older snapshot must not lower them
+        long now = System.currentTimeMillis();
+        epochs.merge(userId, entry, (current, update) ->
+                update.epoch() >= current.epoch() || current.expiresAtMillis() <= now ? update : current);
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        if (resync != null) {
+            resync.dispose();
+        }
+    }
+}
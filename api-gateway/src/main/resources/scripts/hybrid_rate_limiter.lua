@@ -0,0 +1,34 @@
+-- Token bucket shared by all gateway replicas, fed by their local buckets.
+-- Same bucket model as Spring Cloud Gateway's request_rate_limiter.lua, with
+-- fractional refill and consumption that was already admitted locally.
+-- KEYS[1] = tokens, KEYS[2] = last refill time (seconds, fractional)
+-- ARGV[1] = replenish rate (tokens/s), ARGV[2] = burst capacity
+-- ARGV[3] = tokens admitted locally since the last sync (always applied)
+-- ARGV[4] = tokens requested now (applied only if available; 0 for a plain sync)
+-- Returns {allowed (1/0), remaining tokens (floored), remaining * 1000}
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local consumed = tonumber(ARGV[3])
+local requested = tonumber(ARGV[4])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) + tonumber(time[2]) / 1000000
+local ttl = math.max(1, math.ceil(capacity / rate * 2))
+
+local lastTokens = tonumber(redis.call('GET', KEYS[1])) or capacity
+local lastRefreshed = tonumber(redis.call('GET', KEYS[2])) or now
+
+local tokens = math.min(capacity, lastTokens + math.max(0, now - lastRefreshed) * rate)
+-- Locally admitted requests cannot be taken back; the bucket just runs dry
+tokens = math.max(0, tokens - consumed)
+
+local allowed = 0
+if tokens >= requested then
+    allowed = 1
+    tokens = tokens - requested
+end
+
+redis.call('SET', KEYS[1], tostring(tokens), 'EX', ttl)
+redis.call('SET', KEYS[2], tostring(now), 'EX', ttl)
+
+return {allowed, math.floor(tokens), math.floor(tokens * 1000)}
@@ -0,0 +1,7 @@
+-- Store a cached response in L2, replacing any previous entry, with its expiry in the same call.
+-- KEYS[1] = entry hash
+-- ARGV[1] = ttl (ms, > 0), ARGV[2..] = field, value, field, value, ...
+redis.call('DEL', KEYS[1])
+redis.call('HSET', KEYS[1], unpack(ARGV, 2))
+redis.call('PEXPIRE', KEYS[1], ARGV[1])
+return 1
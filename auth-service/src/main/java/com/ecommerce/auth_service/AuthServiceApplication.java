@@ -5,6 +5,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.io.File;
 
@@ -12,6 +13,7 @@ import java.io.File;
 @ComponentScan(basePackages = { "com.ecommerce.auth_service", "com.ecommerce.common" })
 @EnableFeignClients(basePackages = "com.ecommerce.auth_service.client")
 @EnableAsync
+@EnableScheduling
 public class AuthServiceApplication {
 
 	static {
@@ -1,6 +1,5 @@
 package com.ecommerce.auth_service.client;
 
-import com.ecommerce.auth_service.client.dto.CreateUserProfileRequest;
 import com.ecommerce.auth_service.client.dto.UserBasicInfo;
 import com.ecommerce.auth_service.client.dto.UserProfileInfo;
 import com.ecommerce.common.dto.ApiResponse;
@@ -14,20 +13,16 @@ import java.util.UUID;
  * 
  * Uses service discovery (Consul) to find user-service.
  * Service authentication is handled by FeignServiceAuthInterceptor.
+ * Profiles are created by user-service from UserRegistered events, not through
+ * this client. Failures surface as exceptions; UserProfileCache treats them as
+ * "no profile".
  */
 @FeignClient(
         name = "user-service",
-        path = "/api/v1/internal",
-        fallbackFactory = UserServiceClientFallback.class
+        path = "/api/v1/internal"
 )
 public interface UserServiceClient {
 
-    /**
-     * Create a new user profile (called during registration)
-     */
-    @PostMapping("/users")
-    ApiResponse<UserProfileInfo> createUserProfile(@RequestBody CreateUserProfileRequest request);
-
     /**
      * Get basic user info (for login response)
      */
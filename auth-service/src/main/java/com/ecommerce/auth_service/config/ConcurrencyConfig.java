@@ -0,0 +1,25 @@
+package com.ecommerce.auth_service.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors for work that runs alongside a request.
+ */
+@Configuration
+public class ConcurrencyConfig {
+
+    /**
+     * Virtual-thread executor for the login pipeline's speculative I/O
+     * (profile fetch, refresh token creation). Tasks only block on I/O, so
+     * one virtual thread per task is cheaper than sizing a pool.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService loginPipelineExecutor() {
+        return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("login-pipeline-", 0).factory());
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.auth_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the batch introspection endpoints.
+ *
+ * <pre>
+ * auth:
+ *   introspection:
+ *     max-batch-size: 100
+ *     parallel-threshold: 16
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth.introspection")
+@Getter
+@Setter
+public class IntrospectionConfig {
+
+    /**
+     * Maximum number of tokens accepted by one batch request
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * Batches of at least this many tokens verify signatures in parallel
+     */
+    private int parallelThreshold = 16;
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.auth_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for write-behind login tracking (last_login_at, last_login_ip, login_count).
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth.login-activity")
+@Getter
+@Setter
+public class LoginActivityConfig {
+
+    /**
+     * Flush buffered login activity at least this often (milliseconds)
+     */
+    private long flushIntervalMs = 1_000;
+
+    /**
+     * Flush early once this many logins are buffered
+     */
+    private int flushThreshold = 500;
+
+    /**
+     * Maximum number of users with buffered activity. Beyond this, new
+     * entries are dropped (and counted) until the next flush.
+     */
+    private int maxPendingUsers = 50_000;
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.auth_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the login attempt limiter.
+ *
+ * <pre>
+ * auth:
+ *   login-limit:
+ *     window-seconds: 900
+ *     max-attempts-per-email: 5
+ *     max-attempts-per-ip: 50
+ *     trusted-proxy-hops: 1
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth.login-limit")
+@Getter
+@Setter
+public class LoginRateLimitConfig {
+
+    /**
+     * Length of the sliding window in seconds
+     */
+    private long windowSeconds = 900;
+
+    /**
+     * Login attempts allowed per email within the window (cleared on successful login)
+     */
+    private int maxAttemptsPerEmail = 5;
+
+    /**
+     * Login attempts allowed per client IP within the window
+     */
+    private int maxAttemptsPerIp = 50;
+
+    /**
+     * Number of trusted proxies in front of this service (the API gateway), each of
+     * which appends the address it received the request from to X-Forwarded-For.
+     * The client IP is the entry this many hops from the right; anything further left
+     * was supplied by the client and is ignored. 0 uses the connection's address.
+     */
+    private int trustedProxyHops = 1;
+}
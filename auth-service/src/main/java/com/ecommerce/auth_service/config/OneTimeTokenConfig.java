@@ -0,0 +1,27 @@
+package com.ecommerce.auth_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for one-time tokens (email verification, password reset).
+ *
+ * <pre>
+ * auth:
+ *   one-time-tokens:
+ *     max-outstanding-per-user: 3
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth.one-time-tokens")
+@Getter
+@Setter
+public class OneTimeTokenConfig {
+
+    /**
+     * Unused tokens kept per user and purpose; issuing another one revokes the oldest
+     */
+    private int maxOutstandingPerUser = 3;
+}
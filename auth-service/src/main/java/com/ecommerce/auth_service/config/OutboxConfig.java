@@ -0,0 +1,50 @@
+package com.ecommerce.auth_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the outbox relay.
+ *
+ * <pre>
+ * auth:
+ *   outbox:
+ *     relay-interval-ms: 500
+ *     batch-size: 100
+ *     stream-max-length: 100000
+ *     retention-hours: 168
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth.outbox")
+@Getter
+@Setter
+public class OutboxConfig {
+
+    /**
+     * Delay between relay runs when the previous run drained the outbox
+     */
+    private long relayIntervalMs = 500;
+
+    /**
+     * Events claimed and published per batch
+     */
+    private int batchSize = 100;
+
+    /**
+     * Approximate length the event stream is trimmed to
+     */
+    private long streamMaxLength = 100_000;
+
+    /**
+     * How long published rows are kept before cleanup
+     */
+    private long retentionHours = 168;
+
+    /**
+     * How often published rows older than the retention are deleted
+     */
+    private long cleanupIntervalMs = 3_600_000;
+}
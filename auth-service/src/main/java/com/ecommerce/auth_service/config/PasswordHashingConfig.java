@@ -0,0 +1,62 @@
+package com.ecommerce.auth_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for password hashing.
+ *
+ * <pre>
+ * auth:
+ *   password:
+ *     algorithm: argon2id
+ *     bcrypt-strength: 10
+ *     max-queue-depth: 64
+ * </pre>
+ *
+ * Changing the algorithm or cost is picked up on each user's next login:
+ * the stored hash is verified with its original encoder and re-encoded.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth.password")
+@Getter
+@Setter
+public class PasswordHashingConfig {
+
+    /**
+     * Algorithm used for new hashes: bcrypt or argon2id
+     */
+    private String algorithm = "bcrypt";
+
+    /**
+     * BCrypt cost factor
+     */
+    private int bcryptStrength = 10;
+
+    /**
+     * Argon2id memory cost in KiB
+     */
+    private int argon2MemoryKib = 19_456;
+
+    /**
+     * Argon2id iterations
+     */
+    private int argon2Iterations = 2;
+
+    /**
+     * Argon2id parallelism
+     */
+    private int argon2Parallelism = 1;
+
+    /**
+     * Hashing threads, 0 = number of available processors
+     */
+    private int threads = 0;
+
+    /**
+     * Hash operations allowed to wait for a thread before new ones are rejected
+     */
+    private int maxQueueDepth = 64;
+}
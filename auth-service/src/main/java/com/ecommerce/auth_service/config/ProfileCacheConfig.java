@@ -0,0 +1,21 @@
+package com.ecommerce.auth_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the user profile snapshot cache (auth:profile:{userId}).
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth.profile-cache")
+@Getter
+@Setter
+public class ProfileCacheConfig {
+
+    /**
+     * How long a profile snapshot is kept. Updates in user-service evict it earlier.
+     */
+    private long ttlSeconds = 3600;
+}
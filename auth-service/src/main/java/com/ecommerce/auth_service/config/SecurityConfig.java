@@ -1,5 +1,12 @@
 package com.ecommerce.auth_service.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.ecommerce.auth_service.security.TokenEpochValidator;
+import com.ecommerce.auth_service.security.TokenKeyRings;
+import com.ecommerce.auth_service.service.AccessTokenRevocationCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,33 +14,45 @@ import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
-import javax.crypto.spec.SecretKeySpec;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
 
-        private final VaultConfig vaultConfig;
+        private final TokenKeyRings tokenKeyRings;
+        private final AccessTokenRevocationCache accessTokenRevocationCache;
+
+        private static final String BCRYPT_ID = "bcrypt";
+        private static final String ARGON2ID_ID = "argon2id";
 
         private final String[] PUBLIC_POST_ENDPOINTS = {
-                        "/auth/register", "/auth/login", "/auth/introspect",
+                        "/auth/register", "/auth/login", "/auth/introspect", "/auth/introspect/batch",
                         "/auth/refresh", "/auth/logout", "/auth/resend-verification",
                         "/auth/forgot-password", "/auth/reset-password",
                         // Service-to-service authentication endpoints
-                        "/auth/service/token", "/auth/service/introspect"
+                        "/auth/service/token", "/auth/service/introspect", "/auth/service/introspect/batch"
+        };
+
+        private final String[] ADMIN_ENDPOINTS = {
+                        "/auth/admin/**"
         };
 
         private final String[] PUBLIC_GET_ENDPOINTS = {
@@ -53,6 +72,8 @@ public class SecurityConfig {
                                 .authorizeHttpRequests(request -> request
                                                 .requestMatchers(PUBLIC_GET_ENDPOINTS).permitAll()
                                                 .requestMatchers(HttpMethod.POST, PUBLIC_POST_ENDPOINTS).permitAll()
+                                                // The role is carried as the scope claim
+                                                .requestMatchers(ADMIN_ENDPOINTS).hasAuthority("SCOPE_admin")
                                                 .anyRequest().authenticated())
                                 .oauth2ResourceServer(oauth2 -> oauth2
                                                 .jwt(jwt -> jwt.decoder(jwtDecoder())));
@@ -60,14 +81,24 @@ public class SecurityConfig {
                 return http.build();
         }
 
+        /**
+         * Decoder backed by the user token key ring: the verification key is picked
+         * by the token's kid, and keys rotated in through Vault apply without a restart.
+         * Tokens issued before the user's last revoke-all are rejected by their epoch claim.
+         */
         @Bean
         public JwtDecoder jwtDecoder() {
-                SecretKeySpec secretKeySpec = new SecretKeySpec(
-                                vaultConfig.getSignerKey().getBytes(),
-                                "HmacSHA256");
-                return NimbusJwtDecoder.withSecretKey(secretKeySpec)
-                                .macAlgorithm(MacAlgorithm.HS256)
-                                .build();
+                DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+                jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+                                JWSAlgorithm.HS256, tokenKeyRings.userTokens().jwkSource()));
+                // Claims are validated by NimbusJwtDecoder's own validators
+                jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+                });
+                NimbusJwtDecoder decoder = new NimbusJwtDecoder(jwtProcessor);
+                decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                                JwtValidators.createDefault(),
+                                new TokenEpochValidator(accessTokenRevocationCache)));
+                return decoder;
         }
 
         @Bean
@@ -85,8 +116,26 @@ public class SecurityConfig {
                 return source;
         }
 
+        /**
+         * Delegating encoder: new hashes use auth.password.algorithm and carry an {id} prefix,
+         * existing hashes are verified with the encoder they were created with.
+         * Hashes stored before the prefix was introduced are plain BCrypt.
+         * Call it through PasswordHashingService so hashing stays off request threads.
+         */
         @Bean
-        public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder(10);
+        public PasswordEncoder passwordEncoder(PasswordHashingConfig hashingConfig) {
+                BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(hashingConfig.getBcryptStrength());
+
+                Map<String, PasswordEncoder> encoders = new HashMap<>();
+                encoders.put(BCRYPT_ID, bcrypt);
+                encoders.put(ARGON2ID_ID, new Argon2PasswordEncoder(16, 32,
+                                hashingConfig.getArgon2Parallelism(),
+                                hashingConfig.getArgon2MemoryKib(),
+                                hashingConfig.getArgon2Iterations()));
+
+                String idForEncode = ARGON2ID_ID.equalsIgnoreCase(hashingConfig.getAlgorithm()) ? ARGON2ID_ID : BCRYPT_ID;
+                DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(idForEncode, encoders);
+                delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+                return delegating;
         }
 }
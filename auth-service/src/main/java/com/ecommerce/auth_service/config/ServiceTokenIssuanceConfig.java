@@ -0,0 +1,35 @@
+package com.ecommerce.auth_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for reusing issued service tokens.
+ *
+ * <pre>
+ * auth:
+ *   service-token:
+ *     reuse-enabled: true
+ *     min-remaining-seconds: 600
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth.service-token")
+@Getter
+@Setter
+public class ServiceTokenIssuanceConfig {
+
+    /**
+     * Hand out the client's current token instead of minting a new one per request
+     */
+    private boolean reuseEnabled = true;
+
+    /**
+     * A cached token is only reused while it has at least this much lifetime left.
+     * Keep it above the clients' service.auth.refresh-threshold-seconds (300 by default),
+     * otherwise a client would be handed a token it immediately wants to refresh.
+     */
+    private long minRemainingSeconds = 600;
+}
@@ -5,6 +5,11 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Configuration properties for service-to-service authentication.
  * Loaded from Vault path: secret/ecommerce/services/auth-service
@@ -39,5 +44,32 @@ public class ServiceVaultConfig {
      * Service token expiration time in seconds (default: 1 hour)
      */
     private long tokenExpiration = 3600;
+
+    /**
+     * Previous service JWT keys, still accepted for verification during rotation
+     */
+    private List<String> previousJwtKeys = new ArrayList<>();
+
+    /**
+     * Clients allowed to request service tokens, keyed by client ID
+     * (service.credentials.{client-id}.client-secret). Add a client by adding an entry.
+     * A refresh merges into this map, so revoke a client by clearing its secret.
+     */
+    private Map<String, ClientCredentials> credentials = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class ClientCredentials {
+
+        /**
+         * Client secret; clients without one are ignored
+         */
+        private String clientSecret;
+
+        /**
+         * Service name put into issued tokens (defaults to the client ID)
+         */
+        private String serviceName;
+    }
 }
 
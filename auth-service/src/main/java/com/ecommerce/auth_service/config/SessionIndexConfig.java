@@ -0,0 +1,46 @@
+package com.ecommerce.auth_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the per-user refresh token session index.
+ *
+ * <pre>
+ * auth:
+ *   sessions:
+ *     max-per-user: 20
+ *     prune-limit: 100
+ *     compact-interval-ms: 600000
+ *     compact-scan-count: 500
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth.sessions")
+@Getter
+@Setter
+public class SessionIndexConfig {
+
+    /**
+     * Maximum active sessions (devices) per user; the least recently refreshed
+     * session is revoked when a new login exceeds it. 0 disables the cap.
+     */
+    private int maxPerUser = 20;
+
+    /**
+     * Maximum expired entries removed inline by each login or refresh
+     */
+    private int pruneLimit = 100;
+
+    /**
+     * How often the background compactor sweeps all session indexes
+     */
+    private long compactIntervalMs = 600_000;
+
+    /**
+     * SCAN COUNT hint used by the compactor
+     */
+    private int compactScanCount = 500;
+}
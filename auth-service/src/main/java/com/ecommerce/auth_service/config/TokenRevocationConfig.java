@@ -0,0 +1,60 @@
+package com.ecommerce.auth_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the in-process access token blacklist.
+ *
+ * <pre>
+ * auth:
+ *   revocation:
+ *     channel: auth:revocations
+ *     expected-revocations: 100000
+ *     false-positive-rate: 0.01
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth.revocation")
+@Getter
+@Setter
+public class TokenRevocationConfig {
+
+    /**
+     * Keep a local copy of the blacklist. When disabled every check goes to Redis.
+     */
+    private boolean localCacheEnabled = true;
+
+    /**
+     * Redis pub/sub channel revocations and heartbeats are published on
+     */
+    private String channel = "auth:revocations";
+
+    /**
+     * Number of concurrently revoked tokens the Bloom filter is sized for
+     */
+    private int expectedRevocations = 100_000;
+
+    /**
+     * Target false positive rate of the Bloom filter
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * How often a heartbeat is published on the channel (milliseconds)
+     */
+    private long heartbeatIntervalMs = 5_000;
+
+    /**
+     * The subscription is considered lost when no heartbeat arrived for this long (milliseconds).
+     * While lost, every check falls back to Redis.
+     */
+    private long heartbeatTimeoutMs = 15_000;
+
+    /**
+     * How often expired entries are purged and the Bloom filter rebuilt (milliseconds)
+     */
+    private long purgeIntervalMs = 60_000;
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.auth_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for bulk user imports.
+ *
+ * <pre>
+ * auth:
+ *   import:
+ *     batch-size: 1000
+ *     hash-threads: 0
+ *     max-reported-errors: 100
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth.import")
+@Getter
+@Setter
+public class UserImportConfig {
+
+    /**
+     * Rows deduplicated, inserted and checkpointed per transaction
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Threads hashing plain-text passwords during an import.
+     * 0 uses half the cores, leaving the rest to logins.
+     */
+    private int hashThreads = 0;
+
+    /**
+     * Rejected rows listed individually in the import report
+     */
+    private int maxReportedErrors = 100;
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.auth_service.config;
+
+import com.ecommerce.auth_service.dto.response.UserImportReport;
+import com.ecommerce.auth_service.service.UserImportReader;
+import com.ecommerce.auth_service.service.UserImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs a bulk user import from the command line and exits, for migrations that
+ * should not go through the HTTP API:
+ *
+ * <pre>
+ * java -jar auth-service.jar --import-users=/data/users.ndjson [--import-id=legacy-2024] [--import-format=csv]
+ * </pre>
+ *
+ * The import id defaults to the file name, so re-running the same command resumes
+ * an interrupted import. Without --import-users the service starts normally.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserImportRunner implements ApplicationRunner {
+
+    private static final String FILE_OPTION = "import-users";
+    private static final String ID_OPTION = "import-id";
+    private static final String FORMAT_OPTION = "import-format";
+
+    private final UserImportService userImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String file = option(args, FILE_OPTION);
+        if (file == null) {
+            return;
+        }
+
+        Path path = Path.of(file);
+        String importId = option(args, ID_OPTION);
+        if (importId == null) {
+            importId = path.getFileName().toString();
+        }
+        String format = option(args, FORMAT_OPTION);
+        if (format == null && file.toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            format = "csv";
+        }
+
+        int exitCode;
+        try (InputStream input = Files.newInputStream(path)) {
+            UserImportReport report = userImportService.importUsers(
+                    input, UserImportReader.formatOf(format, null), importId, "file:" + path.toAbsolutePath());
+            report.getErrors().forEach(error -> log.warn("Import {}: {}", report.getImportId(), error));
+            exitCode = 0;
+        } catch (Exception e) {
+            log.error("Import {} failed: {}", importId, e.getMessage(), e);
+            exitCode = 1;
+        }
+
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    private static String option(ApplicationArguments args, String name) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+}
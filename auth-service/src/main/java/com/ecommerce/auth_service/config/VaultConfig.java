@@ -5,6 +5,9 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration properties loaded from Vault.
  * These values are populated from Vault path: secret/ecommerce/auth-service
@@ -29,5 +32,10 @@ public class VaultConfig {
      * Refresh token expiration time in seconds (default: 24 hours)
      */
     private long refreshExpiration = 86400;
+
+    /**
+     * Previous JWT signing keys, still accepted for verification during rotation
+     */
+    private List<String> previousSignerKeys = new ArrayList<>();
 }
 
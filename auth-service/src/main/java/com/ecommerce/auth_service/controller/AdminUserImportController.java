@@ -0,0 +1,56 @@
+package com.ecommerce.auth_service.controller;
+
+import com.ecommerce.auth_service.dto.response.UserImportReport;
+import com.ecommerce.auth_service.service.UserImportReader;
+import com.ecommerce.auth_service.service.UserImportService;
+import com.ecommerce.common.dto.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Admin endpoints for migrating users in bulk.
+ *
+ * The request body is streamed (NDJSON, or CSV with a header row), so a file of
+ * any size can be posted. Re-posting the same file with the same importId resumes
+ * after the last committed batch.
+ */
+@RestController
+@RequestMapping("/auth/admin/users")
+@RequiredArgsConstructor
+@Tag(name = "User Import", description = "Admin APIs for bulk user migration")
+public class AdminUserImportController {
+
+    private final UserImportService userImportService;
+
+    @Operation(summary = "Import users",
+               description = "Bulk import users from NDJSON or CSV (email, password or passwordHash, fullName, phoneNumber, emailVerified)",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping("/import")
+    public ApiResponse<UserImportReport> importUsers(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String importId,
+            HttpServletRequest request) throws IOException {
+        String id = importId != null && !importId.isBlank() ? importId : UUID.randomUUID().toString();
+        var result = userImportService.importUsers(
+                request.getInputStream(),
+                UserImportReader.formatOf(format, request.getContentType()),
+                id,
+                "api:" + jwt.getSubject());
+        return ApiResponse.<UserImportReport>builder()
+                .result(result)
+                .build();
+    }
+}
@@ -1,6 +1,8 @@
 package com.ecommerce.auth_service.controller;
 
+import com.ecommerce.auth_service.config.LoginRateLimitConfig;
 import com.ecommerce.auth_service.dto.request.AuthenticationRequest;
+import com.ecommerce.auth_service.dto.request.BatchIntrospectRequest;
 import com.ecommerce.auth_service.dto.request.IntrospectRequest;
 import com.ecommerce.auth_service.dto.request.LogoutRequest;
 import com.ecommerce.auth_service.dto.request.RefreshTokenRequest;
@@ -10,9 +12,12 @@ import com.ecommerce.auth_service.dto.request.ForgotPasswordRequest;
 import com.ecommerce.auth_service.dto.request.ResetPasswordRequest;
 import com.ecommerce.auth_service.dto.request.ChangePasswordRequest;
 import com.ecommerce.auth_service.dto.response.AuthenticationResponse;
+import com.ecommerce.auth_service.dto.response.BatchIntrospectResponse;
 import com.ecommerce.auth_service.dto.response.IntrospectResponse;
 import com.ecommerce.auth_service.dto.response.RegisterResponse;
+import com.ecommerce.auth_service.dto.response.SessionResponse;
 import com.ecommerce.auth_service.service.AuthenticationService;
+import com.ecommerce.auth_service.service.TokenIntrospectionService;
 import com.ecommerce.common.dto.ApiResponse;
 import com.nimbusds.jose.JOSEException;
 import io.swagger.v3.oas.annotations.Operation;
@@ -26,6 +31,7 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 import java.text.ParseException;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -41,6 +47,8 @@ import java.util.UUID;
 public class AuthController {
     
     private final AuthenticationService authenticationService;
+    private final TokenIntrospectionService tokenIntrospectionService;
+    private final LoginRateLimitConfig loginRateLimitConfig;
 
     @Operation(summary = "Login", description = "Authenticate user and return JWT token")
     @PostMapping("/login")
@@ -48,7 +56,7 @@ public class AuthController {
             @Valid @RequestBody AuthenticationRequest request,
             HttpServletRequest httpRequest) {
         String clientIp = getClientIpAddress(httpRequest);
-        var result = authenticationService.authenticate(request, clientIp);
+        var result = authenticationService.authenticate(request, clientIp, httpRequest.getHeader("User-Agent"));
         return ApiResponse.<AuthenticationResponse>builder()
                 .result(result)
                 .build();
@@ -82,6 +90,16 @@ public class AuthController {
                 .build();
     }
 
+    @Operation(summary = "Introspect tokens in batch",
+               description = "Validate up to auth.introspection.max-batch-size tokens; results are in request order")
+    @PostMapping("/introspect/batch")
+    public ApiResponse<BatchIntrospectResponse> introspectBatch(@Valid @RequestBody BatchIntrospectRequest request) {
+        var result = tokenIntrospectionService.introspectUserTokens(request.getTokens());
+        return ApiResponse.<BatchIntrospectResponse>builder()
+                .result(BatchIntrospectResponse.builder().valid(result).build())
+                .build();
+    }
+
     @Operation(summary = "Register new user", description = "Create a new user account and send verification email")
     @PostMapping("/register")
     public ApiResponse<RegisterResponse> register(@Valid @RequestBody RegisterRequest request) {
@@ -158,6 +176,16 @@ public class AuthController {
                 .build();
     }
 
+    @Operation(summary = "List active sessions", description = "List the devices with a valid refresh token",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/sessions")
+    public ApiResponse<List<SessionResponse>> getActiveSessions(@AuthenticationPrincipal Jwt jwt) {
+        UUID userId = extractUserId(jwt);
+        return ApiResponse.<List<SessionResponse>>builder()
+                .result(authenticationService.getActiveSessions(userId))
+                .build();
+    }
+
     private UUID extractUserId(Jwt jwt) {
         Object userIdClaim = jwt.getClaim("userId");
         if (userIdClaim instanceof String) {
@@ -167,18 +195,22 @@ public class AuthController {
         return UUID.fromString(userIdClaim.toString());
     }
 
+    /**
+     * Client address as seen by the outermost trusted proxy. X-Forwarded-For entries
+     * left of that hop (and X-Real-IP) come from the client and are not trusted.
+     */
     private String getClientIpAddress(HttpServletRequest request) {
+        int hops = loginRateLimitConfig.getTrustedProxyHops();
         String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty() && !"unknown".equalsIgnoreCase(xForwardedFor)) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty() && !"unknown".equalsIgnoreCase(xRealIp)) {
-            return xRealIp;
-        }
-        if (request.getRemoteAddr() != null) {
-            return request.getRemoteAddr();
+        if (hops > 0 && xForwardedFor != null && !xForwardedFor.isBlank()) {
+            String[] addresses = xForwardedFor.split(",");
+            if (addresses.length >= hops) {
+                String clientIp = addresses[addresses.length - hops].trim();
+                if (!clientIp.isEmpty() && !"unknown".equalsIgnoreCase(clientIp)) {
+                    return clientIp;
+                }
+            }
         }
-        return "unknown";
+        return request.getRemoteAddr();
     }
 }
@@ -1,8 +1,10 @@
 package com.ecommerce.auth_service.controller;
 
+import com.ecommerce.auth_service.dto.request.BatchIntrospectRequest;
 import com.ecommerce.auth_service.dto.request.ServiceTokenRequest;
 import com.ecommerce.auth_service.dto.response.ServiceTokenResponse;
 import com.ecommerce.auth_service.service.ServiceTokenService;
+import com.ecommerce.auth_service.service.TokenIntrospectionService;
 import com.ecommerce.common.dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,6 +14,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controller for service-to-service authentication.
  * 
@@ -26,6 +30,7 @@ import org.springframework.web.bind.annotation.*;
 public class ServiceAuthController {
 
     private final ServiceTokenService serviceTokenService;
+    private final TokenIntrospectionService tokenIntrospectionService;
 
     /**
      * Generate a service token using client credentials.
@@ -92,6 +97,36 @@ public class ServiceAuthController {
                 .build());
     }
 
+    /**
+     * Introspect several service tokens in one call.
+     * Results are in request order.
+     */
+    @PostMapping("/introspect/batch")
+    @Operation(
+        summary = "Validate service tokens in batch",
+        description = "Check up to auth.introspection.max-batch-size service tokens at once"
+    )
+    public ResponseEntity<ApiResponse<List<ServiceTokenIntrospectResponse>>> introspectServiceTokens(
+            @Valid @RequestBody BatchIntrospectRequest request) {
+
+        List<ServiceTokenIntrospectResponse> results = tokenIntrospectionService
+                .introspectServiceTokens(request.getTokens()).stream()
+                .map(tokenInfo -> tokenInfo == null
+                        ? ServiceTokenIntrospectResponse.builder().active(false).build()
+                        : ServiceTokenIntrospectResponse.builder()
+                                .active(true)
+                                .serviceName(tokenInfo.serviceName())
+                                .clientId(tokenInfo.clientId())
+                                .build())
+                .toList();
+
+        return ResponseEntity.ok(ApiResponse.<List<ServiceTokenIntrospectResponse>>builder()
+                .code(200)
+                .message("Token validation result")
+                .result(results)
+                .build());
+    }
+
     /**
      * Response DTO for token introspection
      */
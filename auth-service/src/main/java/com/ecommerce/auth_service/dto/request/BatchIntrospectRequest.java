@@ -0,0 +1,20 @@
+package com.ecommerce.auth_service.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchIntrospectRequest {
+
+    @NotEmpty(message = "TOKEN_REQUIRED")
+    private List<@NotBlank(message = "TOKEN_REQUIRED") String> tokens;
+}
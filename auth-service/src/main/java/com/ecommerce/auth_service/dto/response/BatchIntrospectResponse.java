@@ -0,0 +1,19 @@
+package com.ecommerce.auth_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Validity of each token, in request order
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchIntrospectResponse {
+    private List<Boolean> valid;
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.auth_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionResponse {
+    private String sessionId;
+    private String userAgent;
+    private String ipAddress;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastActiveAt;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.auth_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportReport {
+    private String importId;
+    private String source;
+    private boolean completed;
+    // Line the run started after (0 for a fresh import)
+    private long resumedFromLine;
+    // Totals over all runs of this import
+    private long linesProcessed;
+    private long imported;
+    private long skippedExisting;
+    private long duplicates;
+    private long invalid;
+    // This run only
+    private long elapsedMs;
+    private double linesPerSecond;
+    private List<String> errors;
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.auth_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outbox entry: an event written in the same transaction as the change it
+ * describes, published later by OutboxRelay.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_unpublished", columnList = "published_at, created_at")
+})
+public class OutboxEvent {
+
+    /**
+     * Event id, also sent to consumers for de-duplication
+     */
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+}
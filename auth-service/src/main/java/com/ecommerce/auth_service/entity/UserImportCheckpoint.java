@@ -0,0 +1,54 @@
+package com.ecommerce.auth_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a bulk user import, committed together with each imported batch
+ * so an interrupted import resumes after the last committed line.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "user_import_checkpoints")
+public class UserImportCheckpoint {
+
+    @Id
+    @Column(name = "import_id", length = 100, updatable = false, nullable = false)
+    private String importId;
+
+    @Column(name = "source", length = 500)
+    private String source;
+
+    /**
+     * Data lines (header excluded) fully handled so far
+     */
+    @Column(name = "lines_processed", nullable = false)
+    private long linesProcessed;
+
+    @Column(name = "imported", nullable = false)
+    private long imported;
+
+    @Column(name = "skipped_existing", nullable = false)
+    private long skippedExisting;
+
+    @Column(name = "duplicates", nullable = false)
+    private long duplicates;
+
+    @Column(name = "invalid", nullable = false)
+    private long invalid;
+
+    @Column(name = "started_at", nullable = false, updatable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,107 @@
+package com.ecommerce.auth_service.ratelimit;
+
+import com.ecommerce.auth_service.config.LoginRateLimitConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sliding-window limiter for login attempts, keyed per email and per client IP.
+ *
+ * Every login attempt costs one Redis call (scripts/login_limit.lua), which evicts
+ * attempts older than the window, checks the limits and records the attempt, so
+ * concurrent guesses are counted before their outcome is known. A successful login
+ * costs one more (scripts/login_limit_success.lua).
+ * Only failed attempts stay counted: a successful login clears the email window and
+ * takes its own attempt back out of the IP window. The rest of the IP window is
+ * kept, so a single valid account cannot be used to reset it, and users sharing an
+ * IP (NAT, office) are not limited by each other's successful logins.
+ *
+ * Keys: auth:login_limit:email:{email}, auth:login_limit:ip:{ip} (sorted sets of attempt timestamps)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoginAttemptLimiter {
+
+    private static final String EMAIL_PREFIX = "auth:login_limit:email:";
+    private static final String IP_PREFIX = "auth:login_limit:ip:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LOGIN_LIMIT_SCRIPT = loadScript("scripts/login_limit.lua", List.class);
+    private static final RedisScript<Long> LOGIN_SUCCESS_SCRIPT = loadScript("scripts/login_limit_success.lua", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LoginRateLimitConfig config;
+
+    private static <T> RedisScript<T> loadScript(String path, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(path)));
+        script.setResultType(resultType);
+        return script;
+    }
+
+    /**
+     * Check the limits for this attempt and record it if allowed.
+     *
+     * @param clientIp may be null, in which case only the email is limited
+     */
+    public RateLimitDecision tryAcquire(String email, String clientIp) {
+        List<String> keys = new ArrayList<>(2);
+        List<String> args = new ArrayList<>(5);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(String.valueOf(TimeUnit.SECONDS.toMillis(config.getWindowSeconds())));
+        String attemptId = UUID.randomUUID().toString();
+        args.add(attemptId);
+
+        keys.add(emailKey(email));
+        args.add(String.valueOf(config.getMaxAttemptsPerEmail()));
+        if (clientIp != null && !clientIp.isBlank()) {
+            keys.add(IP_PREFIX + clientIp);
+            args.add(String.valueOf(config.getMaxAttemptsPerIp()));
+        }
+
+        List<?> result = stringRedisTemplate.execute(LOGIN_LIMIT_SCRIPT, keys, args.toArray());
+        if (result == null || result.size() < 3) {
+            // Fail open: the limiter must not lock everyone out if Redis misbehaves
+            log.warn("Unexpected login limiter response: {}", result);
+            return new RateLimitDecision(true, config.getMaxAttemptsPerEmail(), 0, null);
+        }
+
+        boolean allowed = ((Number) result.get(0)).longValue() == 1;
+        return new RateLimitDecision(
+                allowed,
+                ((Number) result.get(1)).longValue(),
+                ((Number) result.get(2)).longValue(),
+                allowed ? attemptId : null);
+    }
+
+    /**
+     * Uncount a successful login in one call: clear the email window and remove this
+     * attempt from the IP window
+     */
+    public void recordSuccess(String email, String clientIp, RateLimitDecision decision) {
+        List<String> keys = new ArrayList<>(2);
+        keys.add(emailKey(email));
+        if (clientIp != null && !clientIp.isBlank() && decision.attemptId() != null) {
+            keys.add(IP_PREFIX + clientIp);
+        }
+        stringRedisTemplate.execute(LOGIN_SUCCESS_SCRIPT, keys,
+                decision.attemptId() != null ? decision.attemptId() : "");
+    }
+
+    private static String emailKey(String email) {
+        return EMAIL_PREFIX + email.toLowerCase(Locale.ROOT);
+    }
+}
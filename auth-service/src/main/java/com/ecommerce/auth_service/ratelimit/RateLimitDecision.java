@@ -0,0 +1,13 @@
+package com.ecommerce.auth_service.ratelimit;
+
+/**
+ * Outcome of a rate limit check.
+ *
+ * @param allowed      whether the attempt may proceed (it has been recorded if so)
+ * @param remaining    attempts left in the current window after this one
+ * @param resetSeconds seconds until the limiting key frees up a slot
+ * @param attemptId    id under which the attempt was recorded (null if not recorded);
+ *                     lets a successful attempt be taken back out of the window
+ */
+public record RateLimitDecision(boolean allowed, long remaining, long resetSeconds, String attemptId) {
+}
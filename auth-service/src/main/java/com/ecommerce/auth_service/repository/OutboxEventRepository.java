@@ -0,0 +1,11 @@
+package com.ecommerce.auth_service.repository;
+
+import com.ecommerce.auth_service.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+}
@@ -2,7 +2,11 @@ package com.ecommerce.auth_service.repository;
 
 import com.ecommerce.auth_service.entity.UserCredential;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -13,5 +17,13 @@ public interface UserCredentialRepository extends JpaRepository<UserCredential,
     boolean existsByEmail(String email);
 
     Optional<UserCredential> findByEmail(String email);
+
+    /**
+     * Update only the password hash, leaving login tracking columns alone
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserCredential c SET c.passwordHash = :passwordHash WHERE c.id = :id")
+    int updatePasswordHash(@Param("id") UUID id, @Param("passwordHash") String passwordHash);
 }
 
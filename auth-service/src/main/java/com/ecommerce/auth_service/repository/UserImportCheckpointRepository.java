@@ -0,0 +1,9 @@
+package com.ecommerce.auth_service.repository;
+
+import com.ecommerce.auth_service.entity.UserImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserImportCheckpointRepository extends JpaRepository<UserImportCheckpoint, String> {
+}
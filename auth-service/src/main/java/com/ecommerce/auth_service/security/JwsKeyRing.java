@@ -0,0 +1,211 @@
+package com.ecommerce.auth_service.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HS256 key ring with pre-initialized signers and verifiers, addressed by kid.
+ *
+ * This class handles:
+ * - Signing with the active key and stamping its kid into the JWS header
+ * - Picking the verifier from the token's kid (tokens without a kid are tried
+ *   against every known key, for tokens issued before kids were added)
+ * - Keeping previous keys verify-only so tokens signed before a rotation stay
+ *   valid until they expire
+ *
+ * The kid is a truncated SHA-256 of the key, so every instance derives the same
+ * kid for the same Vault secret without extra coordination.
+ * One MACSigner/MACVerifier per kid, built once and shared across requests
+ * (both are thread-safe).
+ */
+@Slf4j
+public class JwsKeyRing {
+
+    private static final int KID_LENGTH = 16;
+
+    private final String name;
+    private volatile State state = new State(null, Map.of());
+
+    public JwsKeyRing(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Install a new set of keys.
+     *
+     * @param activeKey     key used for signing
+     * @param previousKeys  configured verify-only keys
+     * @param retiredGrace  how long the previously active key (if replaced) stays
+     *                      verify-only; should cover the longest token lifetime
+     */
+    public synchronized void rotate(String activeKey, Collection<String> previousKeys, Duration retiredGrace) {
+        State current = state;
+        Instant now = Instant.now();
+        Map<String, KeyEntry> keys = new LinkedHashMap<>();
+
+        KeyEntry active = activeKey != null && !activeKey.isEmpty() ? createEntry(activeKey, null) : null;
+        if (active != null) {
+            keys.put(active.kid(), active);
+        }
+
+        if (previousKeys != null) {
+            for (String key : previousKeys) {
+                if (key != null && !key.isEmpty()) {
+                    keys.putIfAbsent(kidFor(key), createEntry(key, null));
+                }
+            }
+        }
+
+        // Keep keys that are still within their grace period, and retire the old active key
+        for (KeyEntry entry : current.keys().values()) {
+            if (keys.containsKey(entry.kid())) {
+                continue;
+            }
+            if (current.active() != null && entry.kid().equals(current.active().kid())) {
+                keys.put(entry.kid(), entry.retireAt(now.plus(retiredGrace)));
+            } else if (entry.retireAt() != null && entry.retireAt().isAfter(now)) {
+                keys.put(entry.kid(), entry);
+            }
+        }
+
+        state = new State(active, Map.copyOf(keys));
+
+        if (current.active() != null && active != null && !current.active().kid().equals(active.kid())) {
+            log.info("Rotated {} signing key: {} -> {} ({} keys accepted for verification)",
+                    name, current.active().kid(), active.kid(), keys.size());
+        }
+    }
+
+    /**
+     * Sign the claims with the active key.
+     */
+    public String sign(JWTClaimsSet claims) throws JOSEException {
+        KeyEntry active = state.active();
+        if (active == null) {
+            throw new IllegalStateException(name + " signing key not configured");
+        }
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.HS256)
+                .keyID(active.kid())
+                .build();
+        SignedJWT jwt = new SignedJWT(header, claims);
+        jwt.sign(active.signer());
+        return jwt.serialize();
+    }
+
+    /**
+     * Verify the token's signature against the key named by its kid.
+     * Unknown kids and non-HS256 tokens are rejected.
+     */
+    public boolean verify(SignedJWT jwt) throws JOSEException {
+        JWSHeader header = jwt.getHeader();
+        if (!JWSAlgorithm.HS256.equals(header.getAlgorithm())) {
+            return false;
+        }
+
+        State current = state;
+        String kid = header.getKeyID();
+        if (kid != null) {
+            KeyEntry entry = current.usableKey(kid);
+            return entry != null && jwt.verify(entry.verifier());
+        }
+
+        for (KeyEntry entry : current.keys().values()) {
+            if (current.isUsable(entry) && jwt.verify(entry.verifier())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * View of the ring as a JWK source, for decoders built on Nimbus' JWT processor.
+     */
+    public JWKSource<SecurityContext> jwkSource() {
+        return (JWKSelector selector, SecurityContext context) -> {
+            State current = state;
+            List<JWK> jwks = new ArrayList<>(current.keys().size());
+            for (KeyEntry entry : current.keys().values()) {
+                if (current.isUsable(entry)) {
+                    jwks.add(entry.jwk());
+                }
+            }
+            return selector.select(new JWKSet(jwks));
+        };
+    }
+
+    public String activeKid() {
+        KeyEntry active = state.active();
+        return active != null ? active.kid() : null;
+    }
+
+    public static String kidFor(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest).substring(0, KID_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private KeyEntry createEntry(String key, Instant retireAt) {
+        byte[] secret = key.getBytes(StandardCharsets.UTF_8);
+        String kid = kidFor(key);
+        try {
+            OctetSequenceKey jwk = new OctetSequenceKey.Builder(secret)
+                    .keyID(kid)
+                    .algorithm(JWSAlgorithm.HS256)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .build();
+            return new KeyEntry(kid, new MACSigner(secret), new MACVerifier(secret), jwk, retireAt);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Invalid " + name + " key (kid " + kid + "): " + e.getMessage(), e);
+        }
+    }
+
+    private record KeyEntry(String kid, JWSSigner signer, JWSVerifier verifier, OctetSequenceKey jwk,
+                            Instant retireAt) {
+
+        KeyEntry retireAt(Instant instant) {
+            return new KeyEntry(kid, signer, verifier, jwk, instant);
+        }
+    }
+
+    private record State(KeyEntry active, Map<String, KeyEntry> keys) {
+
+        KeyEntry usableKey(String kid) {
+            KeyEntry entry = keys.get(kid);
+            return entry != null && isUsable(entry) ? entry : null;
+        }
+
+        boolean isUsable(KeyEntry entry) {
+            return entry.retireAt() == null || entry.retireAt().isAfter(Instant.now());
+        }
+    }
+}
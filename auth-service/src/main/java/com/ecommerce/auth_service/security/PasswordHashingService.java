@@ -0,0 +1,127 @@
+package com.ecommerce.auth_service.security;
+
+import com.ecommerce.auth_service.config.PasswordHashingConfig;
+import com.ecommerce.common.exception.AppException;
+import com.ecommerce.common.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a dedicated, CPU-sized pool.
+ *
+ * This service handles:
+ * - Bounding concurrent BCrypt/Argon2 work to the number of cores
+ * - Admission control: when max-queue-depth operations are already waiting,
+ *   new ones fail fast with SERVER_BUSY (503 + Retry-After) instead of pinning
+ *   more request threads
+ * - Per-operation timers (auth.password.hash, tag operation) and a rejection counter
+ * - Detecting hashes that should be re-encoded (algorithm or cost changed)
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private static final String HASH_TIMER = "auth.password.hash";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  PasswordHashingConfig config,
+                                  MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+
+        int threads = config.getThreads() > 0 ? config.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getMaxQueueDepth())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.matchesTimer = Timer.builder(HASH_TIMER)
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder(HASH_TIMER)
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .description("Hash operations rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Hash operations waiting for a thread")
+                .register(meterRegistry);
+
+        log.info("Password hashing pool: {} threads, queue depth {}", threads, config.getMaxQueueDepth());
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Whether the stored hash was produced with another algorithm or a lower cost
+     * than currently configured. Cheap, it only inspects the hash prefix.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Timer timer, Callable<T> operation) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(operation));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Password hashing queue full, rejecting request");
+            throw new AppException(ErrorCode.SERVER_BUSY);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AppException(ErrorCode.SERVER_BUSY);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.auth_service.security;
+
+import com.ecommerce.auth_service.config.ServiceVaultConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Client credentials allowed to request service tokens.
+ *
+ * - Built from service.credentials.* at startup and rebuilt after every refresh;
+ *   the new snapshot replaces the old one in a single volatile write
+ * - Only SHA-256 digests of the secrets are kept
+ * - Secrets are compared with MessageDigest.isEqual (constant time); unknown
+ *   client IDs are compared against a dummy digest so they take the same time
+ *
+ * Service secrets are random, high-entropy values, so a fast hash is sufficient here.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ServiceCredentialRegistry {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private static final byte[] UNKNOWN_CLIENT_DIGEST = new byte[32];
+
+    private final ServiceVaultConfig serviceVaultConfig;
+
+    private volatile Map<String, RegisteredClient> clients = Map.of();
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        reload();
+    }
+
+    /**
+     * Check a client's credentials.
+     *
+     * @return the client's service name, or null if the credentials are invalid
+     */
+    public String authenticate(String clientId, String clientSecret) {
+        RegisteredClient client = clientId != null ? clients.get(clientId) : null;
+        byte[] expected = client != null ? client.secretDigest() : UNKNOWN_CLIENT_DIGEST;
+        byte[] presented = digest(clientSecret != null ? clientSecret : "");
+
+        boolean matches = MessageDigest.isEqual(expected, presented);
+        return client != null && matches ? client.serviceName() : null;
+    }
+
+    public int size() {
+        return clients.size();
+    }
+
+    private void reload() {
+        Map<String, RegisteredClient> rebuilt = new HashMap<>();
+        serviceVaultConfig.getCredentials().forEach((clientId, credentials) -> {
+            String secret = credentials.getClientSecret();
+            if (secret == null || secret.isEmpty()) {
+                return;
+            }
+            String serviceName = credentials.getServiceName() != null && !credentials.getServiceName().isEmpty()
+                    ? credentials.getServiceName()
+                    : clientId;
+            rebuilt.put(clientId, new RegisteredClient(serviceName, digest(secret)));
+        });
+        clients = Map.copyOf(rebuilt);
+        log.info("Loaded service credentials for {} clients", rebuilt.size());
+    }
+
+    private static byte[] digest(String value) {
+        // digest() resets the instance, so it is ready for the next call
+        return SHA_256.get().digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record RegisteredClient(String serviceName, byte[] secretDigest) {}
+}
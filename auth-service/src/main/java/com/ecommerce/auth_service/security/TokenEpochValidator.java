@@ -0,0 +1,57 @@
+package com.ecommerce.auth_service.security;
+
+import com.ecommerce.auth_service.service.AccessTokenRevocationCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.UUID;
+
+/**
+ * Rejects user access tokens issued before the user's last revoke-all
+ * (logout from all devices, password reset).
+ *
+ * Compares the token's epoch claim with the locally replicated epoch, so the
+ * check normally stays in-process. Tokens without the claim count as epoch 0;
+ * tokens without a UUID userId (service tokens, legacy tokens) are not checked.
+ */
+@RequiredArgsConstructor
+public class TokenEpochValidator implements OAuth2TokenValidator<Jwt> {
+
+    public static final String EPOCH_CLAIM = "epoch";
+
+    private static final OAuth2Error REVOKED = new OAuth2Error(
+            OAuth2ErrorCodes.INVALID_TOKEN, "Token has been revoked", null);
+
+    private final AccessTokenRevocationCache revocationCache;
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        UUID userId = parseUserId(jwt.getClaimAsString("userId"));
+        if (userId == null) {
+            return OAuth2TokenValidatorResult.success();
+        }
+        Object epoch = jwt.getClaim(EPOCH_CLAIM);
+        long tokenEpoch = epoch instanceof Number number ? number.longValue() : 0;
+        return revocationCache.isEpochRevoked(userId, tokenEpoch)
+                ? OAuth2TokenValidatorResult.failure(REVOKED)
+                : OAuth2TokenValidatorResult.success();
+    }
+
+    /**
+     * The userId claim as a UUID, or null if it is missing or not a UUID
+     */
+    public static UUID parseUserId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecommerce.auth_service.security;
+
+import com.ecommerce.auth_service.config.ServiceVaultConfig;
+import com.ecommerce.auth_service.config.VaultConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Key rings for user access tokens (jwt.signer-key) and service tokens (service.jwt-key).
+ *
+ * Keys are loaded at startup and reloaded after every refresh, so a new key written
+ * to Vault is picked up without a restart. The replaced key stays verify-only for
+ * the lifetime of the tokens it signed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenKeyRings {
+
+    private final VaultConfig vaultConfig;
+    private final ServiceVaultConfig serviceVaultConfig;
+
+    private final JwsKeyRing userTokens = new JwsKeyRing("user token");
+    private final JwsKeyRing serviceTokens = new JwsKeyRing("service token");
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        reload();
+    }
+
+    public JwsKeyRing userTokens() {
+        return userTokens;
+    }
+
+    public JwsKeyRing serviceTokens() {
+        return serviceTokens;
+    }
+
+    private void reload() {
+        rotate(userTokens, vaultConfig.getSignerKey(), vaultConfig.getPreviousSignerKeys(),
+                Duration.ofSeconds(vaultConfig.getExpiration()));
+        rotate(serviceTokens, serviceVaultConfig.getJwtKey(), serviceVaultConfig.getPreviousJwtKeys(),
+                Duration.ofSeconds(serviceVaultConfig.getTokenExpiration()));
+    }
+
+    private void rotate(JwsKeyRing ring, String activeKey, List<String> previousKeys, Duration grace) {
+        try {
+            ring.rotate(activeKey, previousKeys, grace);
+        } catch (IllegalStateException e) {
+            // Keep serving with the keys already loaded rather than failing the refresh
+            log.error("Could not load signing keys: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.ecommerce.auth_service.service;
+
+import com.ecommerce.auth_service.config.TokenRevocationConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process replica of the access token blacklist (auth:blacklist:*) and of the
+ * per-user token epochs (auth:token_epoch:*).
+ *
+ * This service handles:
+ * - Seeding the local set from Redis (SCAN + pipelined PTTL) on startup
+ * - Applying revocations pushed over Redis pub/sub by TokenRedisService.blacklistAccessToken
+ * - Answering isRevoked() from a Bloom filter and the local set, so checks for
+ *   non-revoked tokens normally never touch Redis
+ * - Revoking every access token of a user with one epoch bump (revokeAllForUser)
+ *   and answering isEpochRevoked() from the local epoch map
+ * - Purging entries once their TTL passes and rebuilding the Bloom filter
+ *
+ * Consistency: every instance publishes a heartbeat on the same channel. If no
+ * heartbeat has been received within heartbeat-timeout-ms the subscription is
+ * treated as lost and every check falls back to Redis EXISTS until a heartbeat
+ * arrives again and the set has been re-seeded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccessTokenRevocationCache implements MessageListener {
+
+    private final TokenRedisService tokenRedisService;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final TokenRevocationConfig config;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // Only users whose epoch was bumped; everyone else is at epoch 0
+    private final Map<UUID, TokenRedisService.TokenEpoch> tokenEpochs = new ConcurrentHashMap<>();
+    private volatile RevocationBloomFilter bloomFilter;
+    private volatile long lastHeartbeatMillis;
+    private volatile boolean synced;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.isLocalCacheEnabled()) {
+            log.info("Local access token blacklist disabled, checking Redis on every request");
+            return;
+        }
+        bloomFilter = newBloomFilter(0);
+        // Subscribe before seeding so no revocation published in between is missed
+        listenerContainer.addMessageListener(this, new ChannelTopic(config.getChannel()));
+        heartbeat();
+    }
+
+    /**
+     * Check whether an access token has been revoked.
+     */
+    public boolean isRevoked(String jti) {
+        if (!isLocalCopyTrusted()) {
+            return tokenRedisService.isAccessTokenBlacklisted(jti);
+        }
+
+        if (!bloomFilter.mightContain(jti)) {
+            return false;
+        }
+
+        Long expiresAt = revokedTokens.get(jti);
+        if (expiresAt != null && expiresAt > System.currentTimeMillis()) {
+            return true;
+        }
+
+        // Bloom filter false positive or an entry that just expired: confirm in Redis
+        return tokenRedisService.isAccessTokenBlacklisted(jti);
+    }
+
+    /**
+     * Revoke an access token: writes the blacklist entry to Redis (which publishes it
+     * to all instances) and records it locally right away.
+     */
+    public void revoke(String jti, long ttlSeconds) {
+        tokenRedisService.blacklistAccessToken(jti, ttlSeconds);
+        if (bloomFilter != null) {
+            record(jti, System.currentTimeMillis() + ttlSeconds * 1000);
+        }
+    }
+
+    /**
+     * Revoke every access token of a user issued so far: one epoch bump in Redis,
+     * broadcast to all instances, and recorded locally right away.
+     *
+     * @param ttlSeconds access token lifetime; after it no older-epoch token can be valid
+     */
+    public void revokeAllForUser(UUID userId, long ttlSeconds) {
+        long epoch = tokenRedisService.bumpTokenEpoch(userId, ttlSeconds);
+        if (bloomFilter != null) {
+            recordEpoch(userId, new TokenRedisService.TokenEpoch(epoch, System.currentTimeMillis() + ttlSeconds * 1000));
+        }
+    }
+
+    /**
+     * Epoch to embed in a new access token for the user.
+     */
+    public long currentEpoch(UUID userId) {
+        if (!isLocalCopyTrusted()) {
+            return tokenRedisService.getTokenEpoch(userId);
+        }
+        TokenRedisService.TokenEpoch entry = tokenEpochs.get(userId);
+        return entry != null && entry.expiresAtMillis() > System.currentTimeMillis() ? entry.epoch() : 0;
+    }
+
+    /**
+     * Whether a token carrying tokenEpoch was issued before the user's last revoke-all.
+     */
+    public boolean isEpochRevoked(UUID userId, long tokenEpoch) {
+        return tokenEpoch < currentEpoch(userId);
+    }
+
+    /**
+     * Revocation check for many tokens at once. Uses the local copy where it can;
+     * everything else (Bloom filter hits, or all lookups while the local copy is not
+     * trusted) goes to Redis in one round trip: a single read-only script call
+     * (scripts/revocation_lookup.lua) covering every jti and user.
+     *
+     * @return revoked flags, in the order of the queries
+     */
+    public boolean[] findRevoked(List<RevocationQuery> queries) {
+        boolean[] revoked = new boolean[queries.size()];
+        boolean trusted = isLocalCopyTrusted();
+        long now = System.currentTimeMillis();
+
+        Set<String> remoteJtis = new LinkedHashSet<>();
+        Set<UUID> remoteUsers = new LinkedHashSet<>();
+        for (int i = 0; i < queries.size(); i++) {
+            RevocationQuery query = queries.get(i);
+            if (!trusted) {
+                if (query.jti() != null) {
+                    remoteJtis.add(query.jti());
+                }
+                if (query.userId() != null) {
+                    remoteUsers.add(query.userId());
+                }
+                continue;
+            }
+            if (query.userId() != null && isEpochRevoked(query.userId(), query.epoch())) {
+                revoked[i] = true;
+            } else if (query.jti() != null && bloomFilter.mightContain(query.jti())) {
+                Long expiresAt = revokedTokens.get(query.jti());
+                if (expiresAt != null && expiresAt > now) {
+                    revoked[i] = true;
+                } else {
+                    remoteJtis.add(query.jti());
+                }
+            }
+        }
+
+        if (remoteJtis.isEmpty() && remoteUsers.isEmpty()) {
+            return revoked;
+        }
+        TokenRedisService.RevocationLookup lookup =
+                tokenRedisService.lookupRevocations(List.copyOf(remoteJtis), List.copyOf(remoteUsers));
+        for (int i = 0; i < queries.size(); i++) {
+            RevocationQuery query = queries.get(i);
+            if (query.jti() != null && lookup.blacklistedJtis().contains(query.jti())) {
+                revoked[i] = true;
+            }
+            Long epoch = query.userId() != null ? lookup.epochs().get(query.userId()) : null;
+            if (epoch != null && query.epoch() < epoch) {
+                revoked[i] = true;
+            }
+        }
+        return revoked;
+    }
+
+    /**
+     * One token to check in findRevoked; jti and userId may be null
+     */
+    public record RevocationQuery(String jti, UUID userId, long epoch) {}
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+
+        if (body.startsWith(TokenRedisService.HEARTBEAT_MESSAGE_PREFIX)) {
+            long now = System.currentTimeMillis();
+            if (synced && lastHeartbeatMillis > 0 && now - lastHeartbeatMillis > config.getHeartbeatTimeoutMs()) {
+                // Heartbeats stopped for a while: revocations may have been missed
+                log.warn("Revocation channel was silent for {} ms, re-seeding local blacklist",
+                        now - lastHeartbeatMillis);
+                synced = false;
+            }
+            lastHeartbeatMillis = now;
+            return;
+        }
+
+        if (body.startsWith(TokenRedisService.EPOCH_MESSAGE_PREFIX)) {
+            // epoch:<expiresAtMillis>:<userId>:<epoch>
+            String[] parts = body.substring(TokenRedisService.EPOCH_MESSAGE_PREFIX.length()).split(":");
+            try {
+                recordEpoch(UUID.fromString(parts[1]),
+                        new TokenRedisService.TokenEpoch(Long.parseLong(parts[2]), Long.parseLong(parts[0])));
+            } catch (RuntimeException e) {
+                log.warn("Malformed epoch message: {}", body);
+            }
+            return;
+        }
+
+        if (body.startsWith(TokenRedisService.REVOCATION_MESSAGE_PREFIX)) {
+            String payload = body.substring(TokenRedisService.REVOCATION_MESSAGE_PREFIX.length());
+            int separator = payload.indexOf(':');
+            if (separator <= 0) {
+                log.warn("Malformed revocation message: {}", body);
+                return;
+            }
+            try {
+                long expiresAt = Long.parseLong(payload.substring(0, separator));
+                record(payload.substring(separator + 1), expiresAt);
+            } catch (NumberFormatException e) {
+                log.warn("Malformed revocation message: {}", body);
+            }
+        }
+    }
+
+    /**
+     * Publish this instance's heartbeat and re-seed the local set when it is out of sync.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.heartbeat-interval-ms:5000}")
+    public void heartbeat() {
+        if (bloomFilter == null) {
+            return;
+        }
+        try {
+            tokenRedisService.publishRevocationHeartbeat(instanceId);
+            if (!synced) {
+                resync();
+            }
+        } catch (Exception e) {
+            log.warn("Could not reach Redis for revocation heartbeat: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drop expired revocations and rebuild the Bloom filter from what is left.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        if (bloomFilter == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int before = revokedTokens.size();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        tokenEpochs.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        rebuildBloomFilter();
+
+        int removed = before - revokedTokens.size();
+        if (removed > 0) {
+            log.debug("Purged {} expired revocations, {} remaining", removed, revokedTokens.size());
+        }
+    }
+
+    private void resync() {
+        Map<String, Long> snapshot = tokenRedisService.loadBlacklistedTokens();
+        long now = System.currentTimeMillis();
+        snapshot.forEach((jti, expiresAt) -> {
+            if (expiresAt > now) {
+                record(jti, expiresAt);
+            }
+        });
+        Map<UUID, TokenRedisService.TokenEpoch> epochs = tokenRedisService.loadTokenEpochs();
+        epochs.forEach(this::recordEpoch);
+        synced = true;
+        log.info("Local access token blacklist seeded with {} entries and {} user epochs",
+                snapshot.size(), epochs.size());
+    }
+
+    private void record(String jti, long expiresAtMillis) {
+        revokedTokens.merge(jti, expiresAtMillis, Math::max);
+        bloomFilter.put(jti);
+    }
+
+    private void recordEpoch(UUID userId, TokenRedisService.TokenEpoch entry) {
+        // Epochs only move forward while the key lives; a late or replayed message must not lower them
+        long now = System.currentTimeMillis();
+        tokenEpochs.merge(userId, entry, (current, update) ->
+                update.epoch() >= current.epoch() || current.expiresAtMillis() <= now ? update : current);
+    }
+
+    private void rebuildBloomFilter() {
+        RevocationBloomFilter rebuilt = newBloomFilter(revokedTokens.size());
+        revokedTokens.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        // Entries recorded into the old filter while the new one was being built
+        revokedTokens.keySet().forEach(rebuilt::put);
+    }
+
+    private RevocationBloomFilter newBloomFilter(int currentSize) {
+        int capacity = Math.max(config.getExpectedRevocations(), currentSize * 2);
+        return new RevocationBloomFilter(capacity, config.getFalsePositiveRate());
+    }
+
+    private boolean isLocalCopyTrusted() {
+        return bloomFilter != null
+                && synced
+                && System.currentTimeMillis() - lastHeartbeatMillis <= config.getHeartbeatTimeoutMs();
+    }
+}
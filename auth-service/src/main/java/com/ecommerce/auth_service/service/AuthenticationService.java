@@ -1,7 +1,5 @@
 package com.ecommerce.auth_service.service;
 
-import com.ecommerce.auth_service.client.UserServiceClient;
-import com.ecommerce.auth_service.client.dto.CreateUserProfileRequest;
 import com.ecommerce.auth_service.client.dto.UserBasicInfo;
 import com.ecommerce.auth_service.config.VaultConfig;
 import com.ecommerce.auth_service.dto.request.AuthenticationRequest;
@@ -10,43 +8,72 @@ import com.ecommerce.auth_service.dto.request.RegisterRequest;
 import com.ecommerce.auth_service.dto.response.AuthenticationResponse;
 import com.ecommerce.auth_service.dto.response.IntrospectResponse;
 import com.ecommerce.auth_service.dto.response.RegisterResponse;
+import com.ecommerce.auth_service.dto.response.SessionResponse;
 import com.ecommerce.auth_service.entity.UserCredential;
 import com.ecommerce.auth_service.entity.UserRole;
 import com.ecommerce.auth_service.entity.UserStatus;
+import com.ecommerce.auth_service.ratelimit.LoginAttemptLimiter;
+import com.ecommerce.auth_service.ratelimit.RateLimitDecision;
 import com.ecommerce.auth_service.repository.UserCredentialRepository;
-import com.ecommerce.common.dto.ApiResponse;
 import com.ecommerce.common.exception.AppException;
 import com.ecommerce.common.exception.ErrorCode;
-import com.nimbusds.jose.*;
-import com.nimbusds.jose.crypto.MACSigner;
-import com.nimbusds.jose.crypto.MACVerifier;
+import com.ecommerce.auth_service.security.PasswordHashingService;
+import com.ecommerce.auth_service.security.TokenEpochValidator;
+import com.ecommerce.auth_service.security.TokenKeyRings;
+import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.text.ParseException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService {
 
+    private static final String LOGIN_TIMER = "auth.login";
+    private static final String LOGIN_STAGE_TIMER = "auth.login.stage";
+
     private final UserCredentialRepository userCredentialRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final VaultConfig vaultConfig;
     private final TokenRedisService tokenRedisService;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+    private final AccessTokenRevocationCache accessTokenRevocationCache;
+    private final TokenKeyRings tokenKeyRings;
+    private final ExecutorService loginPipelineExecutor;
+    private final MeterRegistry meterRegistry;
     private final EmailVerificationService emailVerificationService;
     private final PasswordResetService passwordResetService;
-    private final UserServiceClient userServiceClient;
+    private final UserEventOutbox userEventOutbox;
+    private final UserProfileCache userProfileCache;
+    private final LoginActivityRecorder loginActivityRecorder;
+
+    // Registered once per outcome / stage instead of on every login
+    private final Map<String, Timer> loginTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
 
     // --- 1. INTROSPECT (Verify Token) ---
     public IntrospectResponse introspect(IntrospectRequest request) throws JOSEException, ParseException {
@@ -64,21 +91,39 @@ public class AuthenticationService {
     }
 
     // --- 2. AUTHENTICATE (Login) ---
-    public AuthenticationResponse authenticate(AuthenticationRequest request, String clientIp) {
+    /**
+     * Login as a pipeline: once the credential is loaded, the user-service profile
+     * fetch and the refresh token write start on virtual threads and overlap with
+     * the BCrypt check. If the password is wrong their results are discarded and
+     * the speculative refresh token is deleted.
+     */
+    public AuthenticationResponse authenticate(AuthenticationRequest request, String clientIp, String userAgent) {
+        Timer.Sample loginSample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            AuthenticationResponse response = doAuthenticate(request, clientIp, userAgent);
+            outcome = "success";
+            return response;
+        } finally {
+            loginSample.stop(loginTimers.computeIfAbsent(outcome, tag -> Timer.builder(LOGIN_TIMER)
+                    .tag("outcome", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)));
+        }
+    }
+
+    private AuthenticationResponse doAuthenticate(AuthenticationRequest request, String clientIp, String userAgent) {
         String email = request.getEmail();
 
-        // Check rate limiting
-        if (tokenRedisService.isRateLimited(email)) {
-            long resetTime = tokenRedisService.getRateLimitResetTime(email);
-            log.warn("User {} is rate limited. Reset in {} seconds", email, resetTime);
+        // Check and record the attempt (per email and per IP) in one call
+        RateLimitDecision rateLimit = timed("rate_limit", () -> loginAttemptLimiter.tryAcquire(email, clientIp));
+        if (!rateLimit.allowed()) {
+            log.warn("User {} is rate limited. Reset in {} seconds", email, rateLimit.resetSeconds());
             throw new AppException(ErrorCode.RATE_LIMITED);
         }
 
-        var userCredential = userCredentialRepository.findByEmail(email)
-                .orElseThrow(() -> {
-                    tokenRedisService.recordFailedLoginAttempt(email);
-                    return new AppException(ErrorCode.UNAUTHENTICATED);
-                });
+        var userCredential = timed("credential_lookup", () -> userCredentialRepository.findByEmail(email))
+                .orElseThrow(() -> new AppException(ErrorCode.UNAUTHENTICATED));
 
         // Check user status with specific error messages
         switch (userCredential.getStatus()) {
@@ -88,55 +133,113 @@ public class AuthenticationService {
             case inactive -> throw new AppException(ErrorCode.ACCOUNT_NOT_ACTIVE);
         }
 
-        // Verify password
-        boolean authenticated = passwordEncoder.matches(request.getPassword(), userCredential.getPasswordHash());
-        if (!authenticated) {
-            int attempts = tokenRedisService.recordFailedLoginAttempt(email);
-            int remaining = tokenRedisService.getRemainingAttempts(email);
-            log.warn("Failed login attempt {} for user {}. {} attempts remaining", attempts, email, remaining);
-            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        // Start speculative work, it only becomes visible if the password matches
+        UUID userId = userCredential.getId();
+        CompletableFuture<UserBasicInfo> profileFuture = CompletableFuture.supplyAsync(
+                () -> timed("profile_fetch", () -> userProfileCache.get(userId)), loginPipelineExecutor);
+        CompletableFuture<String> refreshTokenFuture = CompletableFuture.supplyAsync(
+                () -> timed("refresh_token", () -> tokenRedisService.createRefreshToken(userId, clientIp, userAgent)), loginPipelineExecutor);
+
+        boolean completed = false;
+        try {
+            // Verify password
+            boolean authenticated = timed("password_verify",
+                    () -> passwordHashingService.matches(request.getPassword(), userCredential.getPasswordHash()));
+            if (!authenticated) {
+                log.warn("Failed login attempt for user {}. {} attempts remaining", email, rateLimit.remaining());
+                throw new AppException(ErrorCode.UNAUTHENTICATED);
+            }
+
+            // Login successful - only failed attempts count against the limits
+            loginAttemptLimiter.recordSuccess(email, clientIp, rateLimit);
+
+            // Login tracking is written behind; only a password rehash is persisted inline
+            loginActivityRecorder.record(userCredential.getId(), LocalDateTime.now(), clientIp);
+            rehashIfOutdated(userCredential, request.getPassword());
+
+            // Generate tokens
+            var accessToken = timed("access_token", () -> generateToken(userCredential));
+            var refreshToken = awaitStage(refreshTokenFuture);
+            // Only a successful login may push the user's older sessions out
+            tokenRedisService.enforceSessionCap(userId);
+
+            // Profile is optional - login succeeds without it
+            UserBasicInfo profile = awaitStage(profileFuture);
+
+            AuthenticationResponse response = AuthenticationResponse.builder()
+                    .accessToken(accessToken)
+                    .refreshToken(refreshToken)
+                    .tokenType("Bearer")
+                    .expiresIn(vaultConfig.getExpiration())
+                    .userId(userCredential.getId())
+                    .email(userCredential.getEmail())
+                    .fullName(profile != null ? profile.getFullName() : null)
+                    .avatarUrl(profile != null ? profile.getAvatarUrl() : null)
+                    .role(userCredential.getRole().name())
+                    .authenticated(true)
+                    .build();
+            completed = true;
+            return response;
+        } finally {
+            if (!completed) {
+                discardSpeculativeWork(profileFuture, refreshTokenFuture);
+            }
         }
+    }
 
-        // Login successful - reset failed attempts
-        tokenRedisService.resetLoginAttempts(email);
+    /**
+     * Re-encode the password with the current algorithm/cost if the stored hash is outdated.
+     * Skipped (and retried on a later login) when the hashing pool is saturated.
+     */
+    private void rehashIfOutdated(UserCredential userCredential, String rawPassword) {
+        if (!passwordHashingService.needsRehash(userCredential.getPasswordHash())) {
+            return;
+        }
+        try {
+            String newHash = timed("password_rehash", () -> passwordHashingService.encode(rawPassword));
+            userCredentialRepository.updatePasswordHash(userCredential.getId(), newHash);
+            userCredential.setPasswordHash(newHash);
+            log.info("Upgraded password hash for user {}", userCredential.getId());
+        } catch (AppException e) {
+            log.debug("Skipping password rehash for user {}: {}", userCredential.getId(), e.getMessage());
+        }
+    }
 
-        // Update login tracking
-        userCredential.setLastLoginAt(LocalDateTime.now());
-        userCredential.setLastLoginIp(clientIp);
-        userCredential.setLoginCount(userCredential.getLoginCount() + 1);
-        userCredentialRepository.save(userCredential);
+    /**
+     * Drop speculative results when login does not complete (wrong password or a later error).
+     * A refresh token that was (or is about to be) written is deleted again.
+     */
+    private void discardSpeculativeWork(CompletableFuture<UserBasicInfo> profileFuture,
+                                        CompletableFuture<String> refreshTokenFuture) {
+        profileFuture.cancel(true);
+        refreshTokenFuture.whenComplete((token, error) -> {
+            if (token != null) {
+                tokenRedisService.invalidateRefreshToken(token);
+            }
+        });
+    }
 
-        // Fetch user profile from user-service
-        String fullName = null;
-        String avatarUrl = null;
+    private static <T> T awaitStage(CompletableFuture<T> future) {
         try {
-            ApiResponse<UserBasicInfo> profileResponse = userServiceClient.getUserBasicInfo(userCredential.getId());
-            if (profileResponse != null && profileResponse.getCode() == 200 && profileResponse.getResult() != null) {
-                UserBasicInfo profile = profileResponse.getResult();
-                fullName = profile.getFullName();
-                avatarUrl = profile.getAvatarUrl();
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
             }
-        } catch (Exception e) {
-            log.warn("Could not fetch user profile from user-service: {}", e.getMessage());
-            // Continue without profile info - not critical for login
+            throw e;
         }
+    }
 
-        // Generate tokens
-        var accessToken = generateToken(userCredential);
-        var refreshToken = tokenRedisService.createRefreshToken(userCredential.getId());
-
-        return AuthenticationResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
-                .tokenType("Bearer")
-                .expiresIn(vaultConfig.getExpiration())
-                .userId(userCredential.getId())
-                .email(userCredential.getEmail())
-                .fullName(fullName)
-                .avatarUrl(avatarUrl)
-                .role(userCredential.getRole().name())
-                .authenticated(true)
-                .build();
+    private <T> T timed(String stage, Supplier<T> body) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return body.get();
+        } finally {
+            sample.stop(stageTimers.computeIfAbsent(stage, tag -> Timer.builder(LOGIN_STAGE_TIMER)
+                    .tag("stage", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)));
+        }
     }
 
     // --- 3. REGISTER ---
@@ -148,7 +251,7 @@ public class AuthenticationService {
         // Create user credential
         UserCredential userCredential = UserCredential.builder()
                 .email(request.getEmail())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHashingService.encode(request.getPassword()))
                 .role(UserRole.customer)
                 .status(UserStatus.pending_verification)
                 .emailVerified(false)
@@ -158,36 +261,17 @@ public class AuthenticationService {
         UserCredential savedCredential = userCredentialRepository.save(userCredential);
         log.info("Created user credential for email: {}", savedCredential.getEmail());
 
-        // Create user profile in user-service
+        // user-service creates the profile from the UserRegistered event; the outbox row
+        // commits with the credential, so neither can exist without the other
         String fullName = request.getFullName();
         String phoneNumber = request.getPhoneNumber();
-        try {
-            CreateUserProfileRequest profileRequest = CreateUserProfileRequest.builder()
-                    .userId(savedCredential.getId())
-                    .email(savedCredential.getEmail())
-                    .fullName(fullName)
-                    .phoneNumber(phoneNumber)
-                    .build();
-
-            ApiResponse<?> profileResponse = userServiceClient.createUserProfile(profileRequest);
-            // Check for success (2xx codes: 200, 201, etc.)
-            if (profileResponse == null || profileResponse.getCode() < 200 || profileResponse.getCode() >= 300) {
-                log.error("Failed to create user profile in user-service. Response: {}", profileResponse);
-                // Note: We don't rollback credential creation to avoid orphaned profiles
-                // A background job can sync later
-            } else {
-                log.info("Created user profile in user-service for userId: {}", savedCredential.getId());
-            }
-        } catch (Exception e) {
-            log.error("Error creating user profile in user-service: {}", e.getMessage());
-            // Continue - profile can be created later via sync
-        }
+        userEventOutbox.userRegistered(savedCredential, fullName, phoneNumber);
 
-        // Send verification email
-        emailVerificationService.sendVerificationEmail(
-                savedCredential.getId(),
-                savedCredential.getEmail(),
-                fullName != null ? fullName : "User");
+        // Send verification email once the credential is committed
+        UUID userId = savedCredential.getId();
+        String email = savedCredential.getEmail();
+        runAfterCommit(() -> emailVerificationService.sendVerificationEmail(
+                userId, email, fullName != null ? fullName : "User"));
 
         return RegisterResponse.builder()
                 .userId(savedCredential.getId())
@@ -201,42 +285,46 @@ public class AuthenticationService {
                 .build();
     }
 
+    /**
+     * Run side effects outside the registration transaction. A failure is logged, not
+     * reported to the caller, since the account already exists (the email can be resent).
+     */
+    private void runAfterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    action.run();
+                } catch (Exception e) {
+                    log.error("Post-registration step failed: {}", e.getMessage());
+                }
+            }
+        });
+    }
+
     // --- 4. REFRESH TOKEN ---
     public AuthenticationResponse refreshToken(String refreshToken) {
-        // Validate refresh token
-        UUID userId = tokenRedisService.validateRefreshToken(refreshToken);
-        if (userId == null) {
+        // Consume the refresh token and issue its replacement in one atomic call
+        TokenRedisService.RotatedRefreshToken rotated = tokenRedisService.rotateRefreshToken(refreshToken);
+        if (rotated == null) {
             throw new AppException(ErrorCode.TOKEN_INVALID);
         }
+        UUID userId = rotated.userId();
 
-        // Get user credential
+        // Get user credential and check status; the replacement token is dropped if either fails
         UserCredential userCredential = userCredentialRepository.findById(userId)
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
-
-        // Check user status
-        if (userCredential.getStatus() != UserStatus.active) {
-            throw new AppException(ErrorCode.ACCOUNT_NOT_ACTIVE);
+                .orElse(null);
+        if (userCredential == null || userCredential.getStatus() != UserStatus.active) {
+            tokenRedisService.invalidateRefreshToken(rotated.refreshToken());
+            throw new AppException(userCredential == null ? ErrorCode.USER_NOT_EXISTED : ErrorCode.ACCOUNT_NOT_ACTIVE);
         }
 
-        // Invalidate old refresh token
-        tokenRedisService.invalidateRefreshToken(refreshToken);
-
-        // Fetch user profile
-        String fullName = null;
-        String avatarUrl = null;
-        try {
-            ApiResponse<UserBasicInfo> profileResponse = userServiceClient.getUserBasicInfo(userId);
-            if (profileResponse != null && profileResponse.getCode() == 200 && profileResponse.getResult() != null) {
-                fullName = profileResponse.getResult().getFullName();
-                avatarUrl = profileResponse.getResult().getAvatarUrl();
-            }
-        } catch (Exception e) {
-            log.warn("Could not fetch user profile during refresh: {}", e.getMessage());
-        }
+        // Profile snapshot only, refresh never waits on user-service
+        UserBasicInfo profile = userProfileCache.getIfCached(userId);
 
-        // Generate new tokens
+        // Generate new access token
         var newAccessToken = generateToken(userCredential);
-        var newRefreshToken = tokenRedisService.createRefreshToken(userCredential.getId());
+        var newRefreshToken = rotated.refreshToken();
 
         return AuthenticationResponse.builder()
                 .accessToken(newAccessToken)
@@ -245,8 +333,8 @@ public class AuthenticationService {
                 .expiresIn(vaultConfig.getExpiration())
                 .userId(userCredential.getId())
                 .email(userCredential.getEmail())
-                .fullName(fullName)
-                .avatarUrl(avatarUrl)
+                .fullName(profile != null ? profile.getFullName() : null)
+                .avatarUrl(profile != null ? profile.getAvatarUrl() : null)
                 .role(userCredential.getRole().name())
                 .authenticated(true)
                 .build();
@@ -269,7 +357,7 @@ public class AuthenticationService {
 
             if (ttlSeconds > 0) {
                 // Blacklist the access token
-                tokenRedisService.blacklistAccessToken(jti, ttlSeconds);
+                accessTokenRevocationCache.revoke(jti, ttlSeconds);
             }
         } catch (ParseException e) {
             log.warn("Could not parse access token for blacklisting: {}", e.getMessage());
@@ -286,13 +374,38 @@ public class AuthenticationService {
     // --- 6. LOGOUT ALL DEVICES ---
     public void logoutAllDevices(UUID userId) {
         tokenRedisService.invalidateAllRefreshTokens(userId);
+        accessTokenRevocationCache.revokeAllForUser(userId, vaultConfig.getExpiration());
         log.info("User {} logged out from all devices", userId);
     }
 
+    // --- 7. ACTIVE SESSIONS ---
+    public List<SessionResponse> getActiveSessions(UUID userId) {
+        Duration refreshTokenTtl = TokenRedisService.refreshTokenTtl();
+        return tokenRedisService.getActiveSessions(userId).stream()
+                .map(session -> {
+                    TokenRedisService.SessionMetadata metadata = session.metadata();
+                    // Each rotation resets the expiry, so expiry - TTL is the last refresh
+                    SessionResponse.SessionResponseBuilder builder = SessionResponse.builder()
+                            .lastActiveAt(toLocalDateTime(session.expiresAt().minus(refreshTokenTtl)))
+                            .expiresAt(toLocalDateTime(session.expiresAt()));
+                    if (metadata != null) {
+                        builder.sessionId(metadata.sessionId())
+                                .ipAddress(metadata.ipAddress())
+                                .userAgent(metadata.userAgent())
+                                .createdAt(toLocalDateTime(Instant.ofEpochMilli(metadata.createdAt())));
+                    }
+                    return builder.build();
+                })
+                .toList();
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
     // --- Helper: Generate Token ---
     private String generateToken(UserCredential userCredential) {
         String jti = UUID.randomUUID().toString();
-        JWSHeader header = new JWSHeader(JWSAlgorithm.HS256);
 
         JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder()
                 .subject(userCredential.getEmail())
@@ -305,15 +418,12 @@ public class AuthenticationService {
                 .claim("email", userCredential.getEmail())
                 .claim("role", userCredential.getRole().name())
                 .claim("scope", userCredential.getRole().name())
+                .claim(TokenEpochValidator.EPOCH_CLAIM,
+                        accessTokenRevocationCache.currentEpoch(userCredential.getId()))
                 .build();
 
-        Payload payload = new Payload(jwtClaimsSet.toJSONObject());
-
-        JWSObject jwsObject = new JWSObject(header, payload);
-
         try {
-            jwsObject.sign(new MACSigner(vaultConfig.getSignerKey().getBytes()));
-            return jwsObject.serialize();
+            return tokenKeyRings.userTokens().sign(jwtClaimsSet);
         } catch (JOSEException e) {
             log.error("Cannot create token", e);
             throw new RuntimeException(e);
@@ -322,29 +432,35 @@ public class AuthenticationService {
 
     // --- Helper: Verify Token ---
     private void verifyToken(String token) throws JOSEException, ParseException {
-        JWSVerifier verifier = new MACVerifier(vaultConfig.getSignerKey().getBytes());
-
         SignedJWT signedJWT = SignedJWT.parse(token);
         JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
 
         Date expiryTime = claims.getExpirationTime();
-        var verified = signedJWT.verify(verifier);
+        var verified = tokenKeyRings.userTokens().verify(signedJWT);
 
         if (!(verified && expiryTime.after(new Date())))
             throw new AppException(ErrorCode.UNAUTHENTICATED);
 
         // Check if token is blacklisted
         String jti = claims.getJWTID();
-        if (jti != null && tokenRedisService.isAccessTokenBlacklisted(jti)) {
+        if (jti != null && accessTokenRevocationCache.isRevoked(jti)) {
             log.warn("Token {} is blacklisted", jti);
             throw new AppException(ErrorCode.TOKEN_INVALID);
         }
+
+        // Check the token was issued after the user's last logout-all / password reset
+        UUID userId = TokenEpochValidator.parseUserId(claims.getStringClaim("userId"));
+        Long epoch = claims.getLongClaim(TokenEpochValidator.EPOCH_CLAIM);
+        if (userId != null && accessTokenRevocationCache.isEpochRevoked(userId, epoch != null ? epoch : 0)) {
+            log.warn("Token {} predates the user's last revoke-all", jti);
+            throw new AppException(ErrorCode.TOKEN_INVALID);
+        }
     }
 
     // --- 9. VERIFY EMAIL (UC-05) ---
     public String verifyEmail(String token) {
-        // Validate token and get userId
-        UUID userId = emailVerificationService.validateToken(token);
+        // Consume token and get userId (single use, even under concurrent requests)
+        UUID userId = emailVerificationService.consumeToken(token);
         if (userId == null) {
             throw new AppException(ErrorCode.TOKEN_INVALID);
         }
@@ -367,9 +483,6 @@ public class AuthenticationService {
 
         userCredentialRepository.save(userCredential);
 
-        // Invalidate token after successful verification
-        emailVerificationService.invalidateToken(token);
-
         log.info("Email verified for user {}", userId);
         return "Email verified successfully! You can now login.";
     }
@@ -388,17 +501,13 @@ public class AuthenticationService {
 
         // Try to get user's name from user-service
         String fullName = "User";
-        try {
-            ApiResponse<UserBasicInfo> response = userServiceClient.getUserBasicInfo(userCredential.getId());
-            if (response != null && response.getCode() == 200 && response.getResult() != null) {
-                fullName = response.getResult().getFullName();
-            }
-        } catch (Exception e) {
-            log.warn("Could not fetch user profile for verification email: {}", e.getMessage());
+        UserBasicInfo profile = userProfileCache.get(userCredential.getId());
+        if (profile != null && profile.getFullName() != null) {
+            fullName = profile.getFullName();
         }
 
         // Send new verification email
-        emailVerificationService.sendVerificationEmail(
+        emailVerificationService.resendVerificationEmail(
                 userCredential.getId(),
                 userCredential.getEmail(),
                 fullName);
@@ -427,13 +536,9 @@ public class AuthenticationService {
 
         // Try to get user's name
         String fullName = "User";
-        try {
-            ApiResponse<UserBasicInfo> response = userServiceClient.getUserBasicInfo(userCredential.getId());
-            if (response != null && response.getCode() == 200 && response.getResult() != null) {
-                fullName = response.getResult().getFullName();
-            }
-        } catch (Exception e) {
-            log.warn("Could not fetch user profile for password reset email: {}", e.getMessage());
+        UserBasicInfo profile = userProfileCache.get(userCredential.getId());
+        if (profile != null && profile.getFullName() != null) {
+            fullName = profile.getFullName();
         }
 
         // Send password reset email
@@ -453,8 +558,8 @@ public class AuthenticationService {
             throw new AppException(ErrorCode.PASSWORD_MISMATCH);
         }
 
-        // Validate token and get userId
-        UUID userId = passwordResetService.validateToken(token);
+        // Consume token and get userId (single use, even under concurrent requests)
+        UUID userId = passwordResetService.consumeToken(token);
         if (userId == null) {
             throw new AppException(ErrorCode.INVALID_RESET_TOKEN);
         }
@@ -464,14 +569,15 @@ public class AuthenticationService {
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
 
         // Update password
-        userCredential.setPasswordHash(passwordEncoder.encode(newPassword));
+        userCredential.setPasswordHash(passwordHashingService.encode(newPassword));
         userCredentialRepository.save(userCredential);
 
-        // Invalidate the token
-        passwordResetService.invalidateToken(token);
+        // Revoke any other reset links still outstanding
+        passwordResetService.invalidateAllUserTokens(userId);
 
         // Invalidate all existing tokens for security
         tokenRedisService.invalidateAllUserTokens(userId);
+        accessTokenRevocationCache.revokeAllForUser(userId, vaultConfig.getExpiration());
 
         log.info("Password reset successfully for user {}", userId);
         return "Password reset successfully! You can now login with your new password.";
@@ -489,17 +595,17 @@ public class AuthenticationService {
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
 
         // Verify current password
-        if (!passwordEncoder.matches(currentPassword, userCredential.getPasswordHash())) {
+        if (!passwordHashingService.matches(currentPassword, userCredential.getPasswordHash())) {
             throw new AppException(ErrorCode.INCORRECT_PASSWORD);
         }
 
         // Check new password is different from current
-        if (passwordEncoder.matches(newPassword, userCredential.getPasswordHash())) {
+        if (passwordHashingService.matches(newPassword, userCredential.getPasswordHash())) {
             throw new AppException(ErrorCode.SAME_PASSWORD);
         }
 
         // Update password
-        userCredential.setPasswordHash(passwordEncoder.encode(newPassword));
+        userCredential.setPasswordHash(passwordHashingService.encode(newPassword));
         userCredentialRepository.save(userCredential);
 
         log.info("Password changed successfully for user {}", userId);
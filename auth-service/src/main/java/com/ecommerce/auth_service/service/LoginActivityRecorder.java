@@ -0,0 +1,226 @@
+package com.ecommerce.auth_service.service;
+
+import com.ecommerce.auth_service.config.LoginActivityConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind recorder for login tracking columns on user_credentials.
+ *
+ * This service handles:
+ * - Buffering successful logins in memory, coalesced per user
+ *   (latest time and IP, summed login count)
+ * - Flushing them as one batched JDBC UPDATE every flush-interval-ms,
+ *   or earlier once flush-threshold logins are buffered
+ * - Bounding the buffer (max-pending-users); overflow is dropped and counted
+ * - Isolating bad rows: when a batch fails on bad data, its rows are written one by
+ *   one and a row the database rejects is dropped and counted; when the database is
+ *   unavailable, the remaining rows are kept for the next flush
+ * - Flushing whatever is left on shutdown
+ *
+ * Login tracking is informational, so a crash can lose at most one interval of it.
+ */
+@Slf4j
+@Service
+public class LoginActivityRecorder {
+
+    private static final String UPDATE_SQL = """
+            UPDATE user_credentials
+               SET last_login_at = ?,
+                   last_login_ip = ?,
+                   login_count = login_count + ?
+             WHERE id = ?
+            """;
+
+    // Width of user_credentials.last_login_ip (an IPv6 address in text form)
+    private static final int MAX_IP_LENGTH = 45;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoginActivityConfig config;
+    private final Map<UUID, PendingLogin> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger bufferedLogins = new AtomicInteger();
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+    private final Counter droppedCounter;
+    private final Counter flushedCounter;
+    private final Counter rejectedCounter;
+
+    public LoginActivityRecorder(JdbcTemplate jdbcTemplate,
+                                 LoginActivityConfig config,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "login-activity-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly,
+                config.getFlushIntervalMs(), config.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+
+        this.droppedCounter = Counter.builder("auth.login.activity.dropped")
+                .description("Login activity events dropped because the buffer was full")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("auth.login.activity.flushed")
+                .description("User rows updated by login activity flushes")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.login.activity.rejected")
+                .description("Login activity rows dropped because the database rejected them")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.activity.pending", pending, Map::size)
+                .description("Users with buffered login activity")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffer a successful login. Never touches the database.
+     */
+    public void record(UUID userId, LocalDateTime loginAt, String clientIp) {
+        if (pending.size() >= config.getMaxPendingUsers() && !pending.containsKey(userId)) {
+            droppedCounter.increment();
+            requestEarlyFlush();
+            return;
+        }
+
+        pending.merge(userId, new PendingLogin(loginAt, truncateIp(clientIp), 1), PendingLogin::combine);
+        if (bufferedLogins.incrementAndGet() >= config.getFlushThreshold()) {
+            requestEarlyFlush();
+        }
+    }
+
+    /**
+     * Write all buffered activity. Entries recorded while the flush runs go to the next one.
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        bufferedLogins.set(0);
+
+        List<UUID> userIds = new ArrayList<>(pending.size());
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (UUID userId : pending.keySet()) {
+            PendingLogin login = pending.remove(userId);
+            if (login != null) {
+                userIds.add(userId);
+                batch.add(new Object[]{Timestamp.valueOf(login.lastLoginAt()), login.lastLoginIp(), login.count(), userId});
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+            flushedCounter.increment(batch.size());
+            log.debug("Flushed login activity for {} users", batch.size());
+        } catch (RuntimeException e) {
+            if (!isRowError(e)) {
+                // Database unavailable: keep everything for the next flush
+                requeue(userIds, batch, 0);
+                throw e;
+            }
+            log.debug("Login activity batch failed, writing rows one by one: {}", e.getMessage());
+            flushRowByRow(userIds, batch);
+        }
+    }
+
+    /**
+     * Fallback after a batch failed on bad data, so one bad row cannot hold back the
+     * others. Rows the database rejects are dropped; on any other failure (connection
+     * loss, timeout) this row and the rest are put back and the pass stops.
+     */
+    private void flushRowByRow(List<UUID> userIds, List<Object[]> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                jdbcTemplate.update(UPDATE_SQL, batch.get(i));
+                flushedCounter.increment();
+            } catch (RuntimeException e) {
+                if (!isRowError(e)) {
+                    requeue(userIds, batch, i);
+                    throw e;
+                }
+                rejectedCounter.increment();
+                log.warn("Dropping login activity for user {}: {}", userIds.get(i), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Failures caused by the row itself (constraint, value too long), as opposed to
+     * the database being unreachable or overloaded
+     */
+    private static boolean isRowError(RuntimeException e) {
+        return e instanceof DataIntegrityViolationException || e instanceof DataRetrievalFailureException;
+    }
+
+    private void requeue(List<UUID> userIds, List<Object[]> batch, int from) {
+        for (int i = from; i < batch.size(); i++) {
+            Object[] row = batch.get(i);
+            PendingLogin login = new PendingLogin(((Timestamp) row[0]).toLocalDateTime(), (String) row[1], (Integer) row[2]);
+            pending.merge(userIds.get(i), login, PendingLogin::combine);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    private void requestEarlyFlush() {
+        if (earlyFlushScheduled.compareAndSet(false, true)) {
+            try {
+                flusher.execute(() -> {
+                    earlyFlushScheduled.set(false);
+                    flushQuietly();
+                });
+            } catch (RuntimeException e) {
+                // Flusher already shut down
+                earlyFlushScheduled.set(false);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Could not flush login activity ({} users pending): {}", pending.size(), e.getMessage());
+        }
+    }
+
+    private static String truncateIp(String clientIp) {
+        return clientIp != null && clientIp.length() > MAX_IP_LENGTH ? clientIp.substring(0, MAX_IP_LENGTH) : clientIp;
+    }
+
+    private record PendingLogin(LocalDateTime lastLoginAt, String lastLoginIp, int count) {
+
+        PendingLogin combine(PendingLogin other) {
+            PendingLogin latest = other.lastLoginAt().isAfter(lastLoginAt) ? other : this;
+            return new PendingLogin(latest.lastLoginAt(), latest.lastLoginIp(), count + other.count());
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.ecommerce.auth_service.service;
+
+import com.ecommerce.auth_service.config.OneTimeTokenConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis store for single-use tokens sent by email.
+ *
+ * This store handles:
+ * - Issuing a token: cooldown check, cooldown, token and per-user index in one call
+ *   (scripts/one_time_token_issue.lua)
+ * - Capping outstanding tokens per user and purpose so resend loops cannot pile them up
+ * - Consuming a token with GETDEL, so a token is accepted at most once even under
+ *   concurrent requests
+ *
+ * Key layout per purpose:
+ * - {tokenPrefix}{token} -> userId (expires with the token)
+ * - {cooldownPrefix}{subject} -> "1" (expires with the cooldown, subject is usually the email)
+ * - {indexPrefix}{userId} -> sorted set of outstanding tokens scored by expiry (ms)
+ *
+ * The scripts only touch keys passed in KEYS, so the outstanding tokens are read from
+ * the index first; a script that finds a token it was not given refuses and the call
+ * is retried with a fresh read.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OneTimeTokenStore {
+
+    private static final int MAX_SCRIPT_ATTEMPTS = 3;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ISSUE_SCRIPT =
+            loadScript("scripts/one_time_token_issue.lua", List.class);
+    private static final RedisScript<Long> REVOKE_ALL_SCRIPT =
+            loadScript("scripts/one_time_token_revoke_all.lua", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final OneTimeTokenConfig config;
+
+    public enum Purpose {
+        EMAIL_VERIFICATION("auth:email_verification:", "auth:resend_cooldown:",
+                "auth:email_verification_index:", Duration.ofHours(24), Duration.ofMinutes(15)),
+        PASSWORD_RESET("auth:password_reset:", "auth:reset_cooldown:",
+                "auth:password_reset_index:", Duration.ofHours(1), Duration.ofMinutes(5));
+
+        private final String tokenPrefix;
+        private final String cooldownPrefix;
+        private final String indexPrefix;
+        private final Duration tokenTtl;
+        private final Duration cooldown;
+
+        Purpose(String tokenPrefix, String cooldownPrefix, String indexPrefix,
+                Duration tokenTtl, Duration cooldown) {
+            this.tokenPrefix = tokenPrefix;
+            this.cooldownPrefix = cooldownPrefix;
+            this.indexPrefix = indexPrefix;
+            this.tokenTtl = tokenTtl;
+            this.cooldown = cooldown;
+        }
+    }
+
+    /**
+     * Result of {@link #issue}: the token, or the remaining cooldown when refused
+     */
+    public record IssueResult(String token, long cooldownRemainingSeconds) {
+        public boolean issued() {
+            return token != null;
+        }
+    }
+
+    /**
+     * Issue a new token for a user and start the cooldown for the subject.
+     *
+     * @param enforceCooldown refuse (without issuing) while the subject's cooldown is active
+     */
+    public IssueResult issue(Purpose purpose, UUID userId, String cooldownSubject, boolean enforceCooldown) {
+        String token = UUID.randomUUID().toString();
+        String indexKey = purpose.indexPrefix + userId;
+
+        for (int attempt = 0; attempt < MAX_SCRIPT_ATTEMPTS; attempt++) {
+            List<String> outstanding = outstandingTokens(indexKey);
+            List<String> keys = new ArrayList<>(3 + outstanding.size());
+            keys.add(purpose.tokenPrefix + token);
+            keys.add(purpose.cooldownPrefix + cooldownSubject);
+            keys.add(indexKey);
+            List<String> args = new ArrayList<>(7 + outstanding.size());
+            args.add(userId.toString());
+            args.add(token);
+            args.add(String.valueOf(purpose.tokenTtl.toMillis()));
+            args.add(String.valueOf(purpose.cooldown.toMillis()));
+            args.add(String.valueOf(System.currentTimeMillis()));
+            args.add(String.valueOf(Math.max(1, config.getMaxOutstandingPerUser())));
+            args.add(enforceCooldown ? "1" : "0");
+            for (String outstandingToken : outstanding) {
+                keys.add(purpose.tokenPrefix + outstandingToken);
+                args.add(outstandingToken);
+            }
+
+            List<?> result = redisTemplate.execute(ISSUE_SCRIPT, keys, args.toArray());
+
+            if (result == null || result.size() < 2) {
+                throw new IllegalStateException("Unexpected one-time token script result: " + result);
+            }
+            long status = ((Number) result.get(0)).longValue();
+            if (status == 0) {
+                long remainingMs = ((Number) result.get(1)).longValue();
+                return new IssueResult(null, TimeUnit.MILLISECONDS.toSeconds(remainingMs + 999));
+            }
+            if (status == 1) {
+                return new IssueResult(token, 0);
+            }
+        }
+        throw new IllegalStateException("Token index of user " + userId + " kept changing while issuing a "
+                + purpose + " token");
+    }
+
+    /**
+     * Take a token, deleting it in the same command.
+     *
+     * @return the owning userId, or null if the token is unknown, expired or already used
+     */
+    public UUID consume(Purpose purpose, String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String userId = redisTemplate.opsForValue().getAndDelete(purpose.tokenPrefix + token);
+        if (userId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(userId);
+        } catch (IllegalArgumentException e) {
+            log.warn("Malformed user id stored for {} token", purpose);
+            return null;
+        }
+    }
+
+    /**
+     * Revoke all outstanding tokens of a user for one purpose
+     */
+    public long revokeAll(Purpose purpose, UUID userId) {
+        String indexKey = purpose.indexPrefix + userId;
+
+        for (int attempt = 0; attempt < MAX_SCRIPT_ATTEMPTS; attempt++) {
+            List<String> outstanding = outstandingTokens(indexKey);
+            List<String> keys = new ArrayList<>(1 + outstanding.size());
+            keys.add(indexKey);
+            for (String token : outstanding) {
+                keys.add(purpose.tokenPrefix + token);
+            }
+
+            Long revoked = redisTemplate.execute(REVOKE_ALL_SCRIPT, keys, outstanding.toArray());
+            if (revoked == null) {
+                return 0;
+            }
+            if (revoked >= 0) {
+                return revoked;
+            }
+        }
+        throw new IllegalStateException("Token index of user " + userId + " kept changing while revoking "
+                + purpose + " tokens");
+    }
+
+    /**
+     * @return remaining cooldown for the subject in seconds, 0 if none
+     */
+    public long cooldownRemainingSeconds(Purpose purpose, String cooldownSubject) {
+        Long ttl = redisTemplate.getExpire(purpose.cooldownPrefix + cooldownSubject, TimeUnit.SECONDS);
+        return ttl != null && ttl > 0 ? ttl : 0;
+    }
+
+    /**
+     * @return remaining lifetime of a token in seconds, 0 if unknown or expired
+     */
+    public long tokenRemainingSeconds(Purpose purpose, String token) {
+        Long ttl = redisTemplate.getExpire(purpose.tokenPrefix + token, TimeUnit.SECONDS);
+        return ttl != null && ttl > 0 ? ttl : 0;
+    }
+
+    private List<String> outstandingTokens(String indexKey) {
+        Set<String> tokens = redisTemplate.opsForZSet().range(indexKey, 0, -1);
+        return tokens != null ? new ArrayList<>(tokens) : List.of();
+    }
+
+    private static <T> RedisScript<T> loadScript(String path, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(path)));
+        script.setResultType(resultType);
+        return script;
+    }
+}
@@ -0,0 +1,164 @@
+package com.ecommerce.auth_service.service;
+
+import com.ecommerce.auth_service.config.OutboxConfig;
+import com.ecommerce.common.event.UserAccountEvents;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Publishes outbox rows to the user account event stream (UserAccountEvents.STREAM_KEY).
+ *
+ * This service handles:
+ * - Claiming a batch of unpublished rows with FOR UPDATE SKIP LOCKED, so several
+ *   auth-service instances can relay concurrently without publishing a row twice
+ * - Publishing the batch with one pipelined round of XADDs (stream trimmed to
+ *   about stream-max-length entries) and marking the rows published in the same
+ *   transaction; if publishing fails the rows stay unpublished and are retried
+ * - Deleting published rows after retention-hours
+ *
+ * Delivery is at-least-once: a crash between XADD and commit republishes the batch,
+ * so consumers de-duplicate by event id or make the effect idempotent.
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    private static final String CLAIM_SQL = """
+            SELECT id, event_type, payload
+              FROM outbox_events
+             WHERE published_at IS NULL
+             ORDER BY created_at
+             LIMIT ?
+               FOR UPDATE SKIP LOCKED
+            """;
+    private static final String MARK_PUBLISHED_SQL = "UPDATE outbox_events SET published_at = ? WHERE id = ?";
+    private static final String CLEANUP_SQL = "DELETE FROM outbox_events WHERE published_at < ?";
+
+    private static final byte[] STREAM_KEY = bytes(UserAccountEvents.STREAM_KEY);
+    private static final byte[] FIELD_EVENT_ID = bytes(UserAccountEvents.FIELD_EVENT_ID);
+    private static final byte[] FIELD_TYPE = bytes(UserAccountEvents.FIELD_TYPE);
+    private static final byte[] FIELD_PAYLOAD = bytes(UserAccountEvents.FIELD_PAYLOAD);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final OutboxConfig config;
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+
+    private record PendingEvent(UUID id, String type, String payload) {}
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       StringRedisTemplate redisTemplate,
+                       OutboxConfig config,
+                       MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.redisTemplate = redisTemplate;
+        this.config = config;
+        this.publishedCounter = Counter.builder("auth.outbox.published")
+                .description("Outbox events published to the event stream")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("auth.outbox.publish.failures")
+                .description("Outbox relay runs that failed and will be retried")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relay until the outbox is drained (a batch comes back short)
+     */
+    @Scheduled(fixedDelayString = "${auth.outbox.relay-interval-ms:500}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = relayBatch();
+            } while (published >= config.getBatchSize());
+        } catch (Exception e) {
+            failureCounter.increment();
+            log.warn("Outbox relay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<PendingEvent> events = jdbcTemplate.query(CLAIM_SQL,
+                    (rs, rowNum) -> new PendingEvent(
+                            rs.getObject("id", UUID.class),
+                            rs.getString("event_type"),
+                            rs.getString("payload")),
+                    Math.max(1, config.getBatchSize()));
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            publish(events);
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(MARK_PUBLISHED_SQL, events, events.size(), (ps, event) -> {
+                ps.setTimestamp(1, now);
+                ps.setObject(2, event.id());
+            });
+            return events.size();
+        });
+
+        int count = published != null ? published : 0;
+        if (count > 0) {
+            publishedCounter.increment(count);
+            log.debug("Relayed {} outbox events", count);
+        }
+        return count;
+    }
+
+    private void publish(List<PendingEvent> events) {
+        RedisStreamCommands.XAddOptions options = RedisStreamCommands.XAddOptions
+                .maxlen(config.getStreamMaxLength())
+                .approximateTrimming(true);
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (PendingEvent event : events) {
+                connection.streamCommands().xAdd(StreamRecords.rawBytes(Map.of(
+                                FIELD_EVENT_ID, bytes(event.id().toString()),
+                                FIELD_TYPE, bytes(event.type()),
+                                FIELD_PAYLOAD, bytes(event.payload())))
+                        .withStreamKey(STREAM_KEY), options);
+            }
+            return null;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${auth.outbox.cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        try {
+            int deleted = jdbcTemplate.update(CLEANUP_SQL,
+                    Timestamp.valueOf(LocalDateTime.now().minusHours(config.getRetentionHours())));
+            if (deleted > 0) {
+                log.info("Deleted {} published outbox events", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Outbox cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
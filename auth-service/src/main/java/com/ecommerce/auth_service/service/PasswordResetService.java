@@ -1,15 +1,15 @@
 package com.ecommerce.auth_service.service;
 
+import com.ecommerce.auth_service.service.OneTimeTokenStore.IssueResult;
+import com.ecommerce.auth_service.service.OneTimeTokenStore.Purpose;
 import com.ecommerce.common.exception.AppException;
 import com.ecommerce.common.exception.ErrorCode;
 import com.ecommerce.common.service.EmailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Service for managing password reset tokens in Redis
@@ -19,85 +19,45 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class PasswordResetService {
 
-    private final StringRedisTemplate redisTemplate;
+    private final OneTimeTokenStore oneTimeTokenStore;
     private final EmailService emailService;
 
-    private static final String RESET_TOKEN_PREFIX = "auth:password_reset:";
-    private static final String RESET_COOLDOWN_PREFIX = "auth:reset_cooldown:";
-    private static final long TOKEN_EXPIRY_HOURS = 1; // Token expires in 1 hour
-    private static final long COOLDOWN_MINUTES = 5; // Cooldown between requests
-
     /**
-     * Generate password reset token, store in Redis, and send email
+     * Generate password reset token, store in Redis, and send email.
+     * The cooldown is checked and set atomically with issuing the token.
      */
     public void sendPasswordResetEmail(UUID userId, String email, String fullName) {
-        // Check cooldown
-        checkResetCooldown(email);
-
-        // Generate unique token
-        String token = UUID.randomUUID().toString();
-
-        // Store token in Redis with user ID as value
-        String key = RESET_TOKEN_PREFIX + token;
-        redisTemplate.opsForValue().set(key, userId.toString(), TOKEN_EXPIRY_HOURS, TimeUnit.HOURS);
-
-        // Set cooldown for resend
-        String cooldownKey = RESET_COOLDOWN_PREFIX + email;
-        redisTemplate.opsForValue().set(cooldownKey, "1", COOLDOWN_MINUTES, TimeUnit.MINUTES);
+        IssueResult issued = oneTimeTokenStore.issue(Purpose.PASSWORD_RESET, userId, email, true);
+        if (!issued.issued()) {
+            long remainingMinutes = (issued.cooldownRemainingSeconds() / 60) + 1;
+            throw new AppException(ErrorCode.PASSWORD_RESET_COOLDOWN,
+                    "Vui lòng đợi " + remainingMinutes + " phút trước khi yêu cầu lại");
+        }
 
         log.info("Created password reset token for user {}", userId);
 
         // Send email asynchronously
-        emailService.sendPasswordResetEmail(email, fullName, token);
-    }
-
-    /**
-     * Check if user can request password reset (cooldown check)
-     */
-    private void checkResetCooldown(String email) {
-        String cooldownKey = RESET_COOLDOWN_PREFIX + email;
-        Long ttl = redisTemplate.getExpire(cooldownKey, TimeUnit.SECONDS);
-        if (ttl != null && ttl > 0) {
-            long remainingMinutes = (ttl / 60) + 1;
-            throw new AppException(ErrorCode.PASSWORD_RESET_COOLDOWN,
-                    "Vui lòng đợi " + remainingMinutes + " phút trước khi yêu cầu lại");
-        }
+        emailService.sendPasswordResetEmail(email, fullName, issued.token());
     }
 
     /**
-     * Validate password reset token
+     * Consume password reset token: a token is accepted at most once
      * 
      * @return userId if valid, null otherwise
      */
-    public UUID validateToken(String token) {
-        String key = RESET_TOKEN_PREFIX + token;
-        String userIdStr = redisTemplate.opsForValue().get(key);
-
-        if (userIdStr == null) {
-            log.warn("Password reset token not found or expired: {}", token);
-            return null;
+    public UUID consumeToken(String token) {
+        UUID userId = oneTimeTokenStore.consume(Purpose.PASSWORD_RESET, token);
+        if (userId == null) {
+            log.warn("Password reset token not found, expired or already used: {}", token);
         }
-
-        return UUID.fromString(userIdStr);
-    }
-
-    /**
-     * Invalidate (delete) password reset token after successful reset
-     */
-    public void invalidateToken(String token) {
-        String key = RESET_TOKEN_PREFIX + token;
-        redisTemplate.delete(key);
-        log.info("Invalidated password reset token");
+        return userId;
     }
 
     /**
-     * Invalidate all tokens for a user (when password is reset)
-     * Note: This is a simplified implementation. For production,
-     * consider storing user-token mapping for complete invalidation.
+     * Invalidate all outstanding reset tokens for a user (when password is reset)
      */
     public void invalidateAllUserTokens(UUID userId) {
-        // In a more complete implementation, we would track all tokens per user
-        // For now, the token will naturally expire
-        log.info("Password reset completed for user {}", userId);
+        long revoked = oneTimeTokenStore.revokeAll(Purpose.PASSWORD_RESET, userId);
+        log.info("Password reset completed for user {}, revoked {} outstanding reset tokens", userId, revoked);
     }
 }
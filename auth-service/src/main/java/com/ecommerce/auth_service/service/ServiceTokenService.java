@@ -1,150 +1,153 @@
 package com.ecommerce.auth_service.service;
 
+import com.ecommerce.auth_service.config.ServiceTokenIssuanceConfig;
 import com.ecommerce.auth_service.config.ServiceVaultConfig;
 import com.ecommerce.auth_service.dto.request.ServiceTokenRequest;
 import com.ecommerce.auth_service.dto.response.ServiceTokenResponse;
 import com.ecommerce.common.exception.AppException;
 import com.ecommerce.common.exception.ErrorCode;
-import com.nimbusds.jose.*;
-import com.nimbusds.jose.crypto.MACSigner;
-import com.nimbusds.jose.crypto.MACVerifier;
+import com.ecommerce.auth_service.security.ServiceCredentialRegistry;
+import com.ecommerce.auth_service.security.TokenKeyRings;
+import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.stereotype.Service;
 
 import java.text.ParseException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service for generating and validating service-to-service JWT tokens.
  * 
  * This service handles:
- * - Generating JWT tokens for services to authenticate with each other
+ * - Generating JWT tokens for services to authenticate with each other,
+ *   reusing a client's current token while it is fresh enough (auth.service-token)
  * - Validating incoming service tokens
- * - Managing service credentials loaded from Vault
+ * - Signing and verifying through the service token key ring (kid-based rotation)
+ * - Checking client credentials against ServiceCredentialRegistry (loaded from Vault)
  */
 @Slf4j
 @Service
-@RefreshScope
-@RequiredArgsConstructor
 public class ServiceTokenService {
 
-    private final ServiceVaultConfig serviceVaultConfig;
-
-    // Map of service credentials loaded from Vault
-    // In production, this should be loaded dynamically from Vault
-    @Value("${service.credentials.product-service.client-secret:}")
-    private String productServiceSecret;
-
-    @Value("${service.credentials.order-service.client-secret:}")
-    private String orderServiceSecret;
-
-    @Value("${service.credentials.user-service.client-secret:}")
-    private String userServiceSecret;
+    private static final String ISSUANCE_METRIC = "auth.service.token.issuance";
 
-    @Value("${service.credentials.api-gateway.client-secret:}")
-    private String apiGatewaySecret;
+    private final ServiceVaultConfig serviceVaultConfig;
+    private final TokenKeyRings tokenKeyRings;
+    private final ServiceCredentialRegistry serviceCredentialRegistry;
+    private final ServiceTokenIssuanceConfig issuanceConfig;
+    private final Map<String, IssuedToken> issuedTokens = new ConcurrentHashMap<>();
+    private final Counter issuedCounter;
+    private final Counter reusedCounter;
+
+    public ServiceTokenService(ServiceVaultConfig serviceVaultConfig,
+                               TokenKeyRings tokenKeyRings,
+                               ServiceCredentialRegistry serviceCredentialRegistry,
+                               ServiceTokenIssuanceConfig issuanceConfig,
+                               MeterRegistry meterRegistry) {
+        this.serviceVaultConfig = serviceVaultConfig;
+        this.tokenKeyRings = tokenKeyRings;
+        this.serviceCredentialRegistry = serviceCredentialRegistry;
+        this.issuanceConfig = issuanceConfig;
+        this.issuedCounter = Counter.builder(ISSUANCE_METRIC)
+                .description("Service token requests, by whether a new token was minted")
+                .tag("result", "issued")
+                .register(meterRegistry);
+        this.reusedCounter = Counter.builder(ISSUANCE_METRIC)
+                .description("Service token requests, by whether a new token was minted")
+                .tag("result", "reused")
+                .register(meterRegistry);
+    }
 
     /**
      * Generate a service token for the requesting service.
+     * A still-fresh token issued earlier to the same client is handed out again.
      * 
      * @param request Contains clientId and clientSecret
      * @return ServiceTokenResponse with JWT token
      */
     public ServiceTokenResponse generateServiceToken(ServiceTokenRequest request) {
         // Validate service credentials
-        String serviceName = validateServiceCredentials(request.getClientId(), request.getClientSecret());
+        String serviceName = serviceCredentialRegistry.authenticate(request.getClientId(), request.getClientSecret());
         
         if (serviceName == null) {
             log.warn("Invalid service credentials for client: {}", request.getClientId());
             throw new AppException(ErrorCode.UNAUTHENTICATED);
         }
 
-        // Generate JWT token for the service
-        String token = generateToken(serviceName, request.getClientId());
-        
-        log.info("Generated service token for: {}", serviceName);
+        IssuedToken issued = issuanceConfig.isReuseEnabled()
+                ? currentOrNewToken(serviceName, request.getClientId())
+                : mintToken(serviceName, request.getClientId());
 
         return ServiceTokenResponse.builder()
-                .accessToken(token)
+                .accessToken(issued.token())
                 .tokenType("Bearer")
-                .expiresIn(serviceVaultConfig.getTokenExpiration())
+                .expiresIn(Math.max(0, Duration.between(Instant.now(), issued.expiresAt()).getSeconds()))
                 .serviceName(serviceName)
                 .build();
     }
 
     /**
-     * Validate service credentials.
-     * 
-     * @return service name if valid, null otherwise
+     * The client's cached token if it is signed with the active key and has at least
+     * min-remaining-seconds left; otherwise a new one. compute() runs per client under
+     * the map's bin lock, so concurrent requests from one client mint at most once.
      */
-    private String validateServiceCredentials(String clientId, String clientSecret) {
-        Map<String, String> serviceSecrets = getServiceSecrets();
-        
-        String expectedSecret = serviceSecrets.get(clientId);
-        if (expectedSecret != null && expectedSecret.equals(clientSecret)) {
-            return clientId;
-        }
-        
-        return null;
+    private IssuedToken currentOrNewToken(String serviceName, String clientId) {
+        boolean[] minted = new boolean[1];
+        IssuedToken issued = issuedTokens.compute(clientId, (id, current) -> {
+            if (isReusable(current, serviceName)) {
+                return current;
+            }
+            minted[0] = true;
+            return mintToken(serviceName, id);
+        });
+        (minted[0] ? issuedCounter : reusedCounter).increment();
+        return issued;
     }
 
-    /**
-     * Get map of service credentials.
-     * In production, this should be loaded from Vault dynamically.
-     */
-    private Map<String, String> getServiceSecrets() {
-        Map<String, String> secrets = new HashMap<>();
-        
-        if (productServiceSecret != null && !productServiceSecret.isEmpty()) {
-            secrets.put("product-service", productServiceSecret);
-        }
-        if (orderServiceSecret != null && !orderServiceSecret.isEmpty()) {
-            secrets.put("order-service", orderServiceSecret);
-        }
-        if (userServiceSecret != null && !userServiceSecret.isEmpty()) {
-            secrets.put("user-service", userServiceSecret);
-        }
-        if (apiGatewaySecret != null && !apiGatewaySecret.isEmpty()) {
-            secrets.put("api-gateway", apiGatewaySecret);
-        }
-        
-        return secrets;
+    private boolean isReusable(IssuedToken current, String serviceName) {
+        return current != null
+                && current.serviceName().equals(serviceName)
+                && current.kid().equals(tokenKeyRings.serviceTokens().activeKid())
+                && Instant.now().plusSeconds(issuanceConfig.getMinRemainingSeconds()).isBefore(current.expiresAt());
+    }
+
+    private IssuedToken mintToken(String serviceName, String clientId) {
+        Instant expiresAt = Instant.now().plus(serviceVaultConfig.getTokenExpiration(), ChronoUnit.SECONDS);
+        String kid = tokenKeyRings.serviceTokens().activeKid();
+        String token = generateToken(serviceName, clientId, expiresAt);
+        log.info("Generated service token for: {}", serviceName);
+        return new IssuedToken(token, serviceName, kid, expiresAt);
     }
 
     /**
      * Generate JWT token for a service.
      */
-    private String generateToken(String serviceName, String clientId) {
+    private String generateToken(String serviceName, String clientId, Instant expiresAt) {
         String jti = UUID.randomUUID().toString();
-        JWSHeader header = new JWSHeader(JWSAlgorithm.HS256);
 
         JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder()
                 .subject(serviceName)
                 .issuer("com.ecommerce.auth-service")
                 .jwtID(jti)
                 .issueTime(new Date())
-                .expirationTime(new Date(
-                        Instant.now().plus(serviceVaultConfig.getTokenExpiration(), ChronoUnit.SECONDS).toEpochMilli()))
+                .expirationTime(Date.from(expiresAt))
                 .claim("clientId", clientId)
                 .claim("serviceName", serviceName)
                 .claim("type", "SERVICE")  // Distinguish from user tokens
                 .claim("scope", "service")
                 .build();
 
-        Payload payload = new Payload(jwtClaimsSet.toJSONObject());
-        JWSObject jwsObject = new JWSObject(header, payload);
-
         try {
-            jwsObject.sign(new MACSigner(getServiceJwtKey().getBytes()));
-            return jwsObject.serialize();
-        } catch (JOSEException e) {
+            return tokenKeyRings.serviceTokens().sign(jwtClaimsSet);
+        } catch (JOSEException | IllegalStateException e) {
             log.error("Cannot create service token", e);
             throw new RuntimeException("Failed to generate service token", e);
         }
@@ -158,12 +161,11 @@ public class ServiceTokenService {
      */
     public ServiceTokenInfo validateToken(String token) {
         try {
-            JWSVerifier verifier = new MACVerifier(getServiceJwtKey().getBytes());
             SignedJWT signedJWT = SignedJWT.parse(token);
             JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
 
             // Verify signature
-            if (!signedJWT.verify(verifier)) {
+            if (!tokenKeyRings.serviceTokens().verify(signedJWT)) {
                 log.warn("Service token signature verification failed");
                 return null;
             }
@@ -194,17 +196,9 @@ public class ServiceTokenService {
     }
 
     /**
-     * Get JWT signing key for service tokens.
+     * A token handed out to a client, kept for reuse
      */
-    private String getServiceJwtKey() {
-        String key = serviceVaultConfig.getJwtKey();
-        if (key == null || key.isEmpty()) {
-            // Fallback: use the user JWT key if service key not configured
-            log.warn("Service JWT key not configured, check Vault configuration");
-            throw new IllegalStateException("Service JWT key not configured");
-        }
-        return key;
-    }
+    private record IssuedToken(String token, String serviceName, String kid, Instant expiresAt) {}
 
     /**
      * Inner class to hold validated service token info.
@@ -0,0 +1,51 @@
+package com.ecommerce.auth_service.service;
+
+import com.ecommerce.auth_service.config.SessionIndexConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Background sweep of the per-user session indexes.
+ *
+ * Logins and refreshes already prune expired entries of the user they touch;
+ * this catches users who stopped logging in before their index expired, and
+ * migrates the legacy auth:user_refresh sets.
+ *
+ * Only one instance sweeps per interval: each run first takes a lease
+ * (auth:sessions:compact_lease, SET NX) that expires after compact-interval-ms and
+ * is not released, so the other instances skip that interval. The sweep is
+ * idempotent, so a run overlapping a slow one is harmless.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionIndexCompactor {
+
+    private static final String LEASE_KEY = "auth:sessions:compact_lease";
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+
+    private final TokenRedisService tokenRedisService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final SessionIndexConfig sessionIndexConfig;
+
+    @Scheduled(fixedDelayString = "${auth.sessions.compact-interval-ms:600000}")
+    public void compact() {
+        try {
+            Boolean leased = stringRedisTemplate.opsForValue().setIfAbsent(LEASE_KEY, INSTANCE_ID,
+                    Duration.ofMillis(sessionIndexConfig.getCompactIntervalMs()));
+            if (!Boolean.TRUE.equals(leased)) {
+                log.debug("Session index compaction already done this interval by another instance");
+                return;
+            }
+            tokenRedisService.compactSessionIndexes();
+        } catch (RuntimeException e) {
+            log.warn("Session index compaction failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecommerce.auth_service.service;
+
+import com.ecommerce.auth_service.config.IntrospectionConfig;
+import com.ecommerce.auth_service.security.TokenEpochValidator;
+import com.ecommerce.auth_service.security.TokenKeyRings;
+import com.ecommerce.common.exception.AppException;
+import com.ecommerce.common.exception.ErrorCode;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Batch introspection for gateways and batch jobs that validate many tokens at once.
+ *
+ * This service handles:
+ * - Verifying signatures and expiry, in parallel once a batch reaches parallel-threshold
+ * - Checking blacklist and token epoch for all user tokens together
+ *   (local copy first, at most one Redis script call)
+ * - Validating service tokens the same way as ServiceTokenService.validateToken
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenIntrospectionService {
+
+    private final TokenKeyRings tokenKeyRings;
+    private final AccessTokenRevocationCache accessTokenRevocationCache;
+    private final ServiceTokenService serviceTokenService;
+    private final IntrospectionConfig config;
+
+    /**
+     * Validate user access tokens.
+     *
+     * @return validity of each token, in request order
+     */
+    public List<Boolean> introspectUserTokens(List<String> tokens) {
+        checkBatchSize(tokens);
+
+        List<AccessTokenRevocationCache.RevocationQuery> verified = map(tokens, this::verifyUserToken);
+
+        List<AccessTokenRevocationCache.RevocationQuery> queries = new ArrayList<>(verified.size());
+        for (AccessTokenRevocationCache.RevocationQuery query : verified) {
+            if (query != null) {
+                queries.add(query);
+            }
+        }
+        boolean[] revoked = accessTokenRevocationCache.findRevoked(queries);
+
+        List<Boolean> valid = new ArrayList<>(tokens.size());
+        int next = 0;
+        for (AccessTokenRevocationCache.RevocationQuery query : verified) {
+            valid.add(query != null && !revoked[next++]);
+        }
+        return valid;
+    }
+
+    /**
+     * Validate service tokens.
+     *
+     * @return token info for each valid token and null for each invalid one, in request order
+     */
+    public List<ServiceTokenService.ServiceTokenInfo> introspectServiceTokens(List<String> tokens) {
+        checkBatchSize(tokens);
+        return map(tokens, token -> token == null || token.isBlank() ? null : serviceTokenService.validateToken(token));
+    }
+
+    /**
+     * Signature and expiry check of one user token.
+     * Returns what the revocation check needs, or null if the token is invalid.
+     */
+    private AccessTokenRevocationCache.RevocationQuery verifyUserToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            SignedJWT signedJWT = SignedJWT.parse(token);
+            JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+
+            Date expiryTime = claims.getExpirationTime();
+            if (expiryTime == null || !expiryTime.after(new Date())
+                    || !tokenKeyRings.userTokens().verify(signedJWT)) {
+                return null;
+            }
+
+            Long epoch = claims.getLongClaim(TokenEpochValidator.EPOCH_CLAIM);
+            return new AccessTokenRevocationCache.RevocationQuery(
+                    claims.getJWTID(),
+                    TokenEpochValidator.parseUserId(claims.getStringClaim("userId")),
+                    epoch != null ? epoch : 0);
+        } catch (ParseException | JOSEException e) {
+            log.debug("Rejected token in batch introspection: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Map in request order; large batches use the common fork-join pool
+     * since HMAC verification is CPU-bound.
+     */
+    private <T> List<T> map(List<String> tokens, Function<String, T> mapper) {
+        var stream = tokens.size() >= config.getParallelThreshold() ? tokens.parallelStream() : tokens.stream();
+        // toList() keeps encounter order and allows null elements
+        return stream.map(mapper).toList();
+    }
+
+    private void checkBatchSize(List<String> tokens) {
+        if (tokens.size() > config.getMaxBatchSize()) {
+            throw new AppException(ErrorCode.TOO_MANY_TOKENS);
+        }
+    }
+}
@@ -1,13 +1,36 @@
 package com.ecommerce.auth_service.service;
 
+import com.ecommerce.auth_service.config.SessionIndexConfig;
+import com.ecommerce.auth_service.config.TokenRevocationConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Note: userId is now UUID (stored as String in Redis)
@@ -16,8 +39,9 @@ import java.util.concurrent.TimeUnit;
 /**
  * Service for managing tokens using Redis
  * - Access Token Blacklist (for logout)
- * - Refresh Token Storage
- * - Login Rate Limiting
+ * - Refresh Token Storage (atomic Lua scripts)
+ * - Per-user session index (refresh tokens scored by expiry)
+ * - Per-user token epoch (revokes all access tokens of a user at once)
  */
 @Slf4j
 @Service
@@ -25,29 +49,43 @@ import java.util.concurrent.TimeUnit;
 public class TokenRedisService {
 
     private final StringRedisTemplate stringRedisTemplate;
+    private final TokenRevocationConfig revocationConfig;
+    private final SessionIndexConfig sessionIndexConfig;
 
     // Redis key prefixes
     private static final String BLACKLIST_PREFIX = "auth:blacklist:";
     private static final String REFRESH_TOKEN_PREFIX = "auth:refresh:";
-    private static final String USER_REFRESH_PREFIX = "auth:user_refresh:";
-    private static final String LOGIN_ATTEMPTS_PREFIX = "auth:login_attempts:";
+    private static final String USER_SESSIONS_PREFIX = "auth:user_sessions:";
+    private static final String USER_SESSION_META_PREFIX = "auth:user_session_meta:";
+    // Unscored per-user token set used before the session index; read only to clean it up
+    private static final String LEGACY_USER_REFRESH_PREFIX = "auth:user_refresh:";
     private static final String USER_SESSION_PREFIX = "auth:session:";
+    private static final String TOKEN_EPOCH_PREFIX = "auth:token_epoch:";
 
     // Default TTL values
     private static final long REFRESH_TOKEN_TTL_DAYS = 7;
     private static final long BLACKLIST_TTL_HOURS = 24;
-    private static final long LOGIN_ATTEMPT_WINDOW_MINUTES = 15;
-    private static final int MAX_LOGIN_ATTEMPTS = 5;
+    private static final int BLACKLIST_SCAN_BATCH = 1000;
+
+    // Pub/sub message prefixes on the revocation channel
+    static final String REVOCATION_MESSAGE_PREFIX = "revoke:";
+    static final String HEARTBEAT_MESSAGE_PREFIX = "heartbeat:";
+    static final String EPOCH_MESSAGE_PREFIX = "epoch:";
 
     // ==================== ACCESS TOKEN BLACKLIST ====================
 
     /**
      * Add an access token to blacklist (used when user logs out)
-     * Token will be automatically removed after TTL
+     * Token will be automatically removed after TTL.
+     * The revocation is also published so every instance updates its local copy.
      */
     public void blacklistAccessToken(String jti, long ttlSeconds) {
         String key = BLACKLIST_PREFIX + jti;
         stringRedisTemplate.opsForValue().set(key, "blacklisted", ttlSeconds, TimeUnit.SECONDS);
+
+        long expiresAtMillis = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds);
+        stringRedisTemplate.convertAndSend(revocationConfig.getChannel(),
+                REVOCATION_MESSAGE_PREFIX + expiresAtMillis + ":" + jti);
         log.info("Token {} added to blacklist, TTL: {} seconds", jti, ttlSeconds);
     }
 
@@ -60,144 +98,405 @@ public class TokenRedisService {
         return exists != null && exists;
     }
 
-    // ==================== REFRESH TOKEN MANAGEMENT ====================
+    /**
+     * Blacklist and epoch lookups for many tokens in one round trip
+     * (a read-only script: EXISTS per jti and GET per user).
+     */
+    @SuppressWarnings("unchecked")
+    public RevocationLookup lookupRevocations(List<String> jtis, List<UUID> userIds) {
+        if (jtis.isEmpty() && userIds.isEmpty()) {
+            return new RevocationLookup(Set.of(), Map.of());
+        }
+        List<String> keys = new ArrayList<>(jtis.size() + userIds.size());
+        jtis.forEach(jti -> keys.add(BLACKLIST_PREFIX + jti));
+        userIds.forEach(userId -> keys.add(TOKEN_EPOCH_PREFIX + userId));
+
+        List<Long> replies = stringRedisTemplate.execute(REVOCATION_LOOKUP_SCRIPT, keys, String.valueOf(jtis.size()));
+
+        Set<String> blacklisted = new HashSet<>();
+        for (int i = 0; i < jtis.size(); i++) {
+            if (replies.get(i) == 1L) {
+                blacklisted.add(jtis.get(i));
+            }
+        }
+        Map<UUID, Long> epochs = new HashMap<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            epochs.put(userIds.get(i), replies.get(jtis.size() + i));
+        }
+        return new RevocationLookup(blacklisted, epochs);
+    }
 
     /**
-     * Store a refresh token for a user
-     * Returns the generated refresh token
+     * Result of lookupRevocations: blacklisted jtis and the current epoch per user
      */
-    public String createRefreshToken(UUID userId) {
-        String refreshToken = UUID.randomUUID().toString();
-        String tokenKey = REFRESH_TOKEN_PREFIX + refreshToken;
-        String userKey = USER_REFRESH_PREFIX + userId.toString();
+    public record RevocationLookup(Set<String> blacklistedJtis, Map<UUID, Long> epochs) {}
+
+    /**
+     * Load every blacklisted token with its expiry (epoch millis).
+     * Uses SCAN instead of KEYS and fetches TTLs in one pipeline per batch.
+     */
+    public Map<String, Long> loadBlacklistedTokens() {
+        Map<String, Long> result = new HashMap<>();
+        scanInBatches(BLACKLIST_PREFIX, keys -> {
+            List<Object> ttls = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : keys) {
+                    connection.keyCommands().pTtl(key.getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < keys.size(); i++) {
+                Long expiresAt = expiresAt(ttls.get(i), now);
+                if (expiresAt != null) {
+                    result.put(keys.get(i).substring(BLACKLIST_PREFIX.length()), expiresAt);
+                }
+            }
+        });
+        return result;
+    }
+
+    private void scanInBatches(String prefix, Consumer<List<String>> batchHandler) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(prefix + "*")
+                .count(BLACKLIST_SCAN_BATCH)
+                .build();
+
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            List<String> batch = new ArrayList<>(BLACKLIST_SCAN_BATCH);
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == BLACKLIST_SCAN_BATCH) {
+                    batchHandler.accept(batch);
+                    batch = new ArrayList<>(BLACKLIST_SCAN_BATCH);
+                }
+            }
+            if (!batch.isEmpty()) {
+                batchHandler.accept(batch);
+            }
+        }
+    }
 
-        // Store refresh token -> userId mapping
-        stringRedisTemplate.opsForValue().set(
-                tokenKey,
-                userId.toString(),
-                Duration.ofDays(REFRESH_TOKEN_TTL_DAYS));
+    /**
+     * Absolute expiry for a PTTL reply, or null if the key is already gone (-2).
+     * -1 (no TTL) should not happen for these keys and is treated as never expiring.
+     */
+    private static Long expiresAt(Object pttl, long now) {
+        if (pttl instanceof Long ttlMillis && ttlMillis != -2) {
+            return ttlMillis == -1 ? Long.MAX_VALUE : now + ttlMillis;
+        }
+        return null;
+    }
+
+    /**
+     * Publish a heartbeat on the revocation channel so subscribers can detect a dropped subscription
+     */
+    public void publishRevocationHeartbeat(String instanceId) {
+        stringRedisTemplate.convertAndSend(revocationConfig.getChannel(), HEARTBEAT_MESSAGE_PREFIX + instanceId);
+    }
+
+    // ==================== USER TOKEN EPOCH ====================
+    //
+    // auth:token_epoch:{userId} is embedded as the "epoch" claim of every access token.
+    // Bumping it revokes all of the user's access tokens at once; the key expires once
+    // no token with an older epoch can still be valid. Bumps set it to the Redis time
+    // in ms, so a bump after expiry still lands above every epoch handed out before.
 
-        // Store userId -> refresh token mapping (for invalidation)
-        stringRedisTemplate.opsForSet().add(userKey, refreshToken);
-        stringRedisTemplate.expire(userKey, Duration.ofDays(REFRESH_TOKEN_TTL_DAYS));
+    private static final RedisScript<Long> BUMP_TOKEN_EPOCH_SCRIPT =
+            loadScript("scripts/token_epoch_bump.lua", Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> REVOCATION_LOOKUP_SCRIPT =
+            loadScript("scripts/revocation_lookup.lua", List.class);
 
-        log.info("Created refresh token for user {}", userId);
+    /**
+     * Advance a user's token epoch and publish it on the revocation channel.
+     * Returns the new epoch.
+     */
+    public long bumpTokenEpoch(UUID userId, long ttlSeconds) {
+        long ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        Long epoch = stringRedisTemplate.execute(BUMP_TOKEN_EPOCH_SCRIPT,
+                List.of(TOKEN_EPOCH_PREFIX + userId),
+                String.valueOf(ttlMillis), revocationConfig.getChannel(), EPOCH_MESSAGE_PREFIX,
+                String.valueOf(System.currentTimeMillis() + ttlMillis), userId.toString());
+        log.info("Token epoch of user {} advanced to {}", userId, epoch);
+        return epoch != null ? epoch : 0;
+    }
+
+    /**
+     * Current token epoch of a user; 0 if it was never bumped (or has expired)
+     */
+    public long getTokenEpoch(UUID userId) {
+        String epoch = stringRedisTemplate.opsForValue().get(TOKEN_EPOCH_PREFIX + userId);
+        return epoch != null ? Long.parseLong(epoch) : 0;
+    }
+
+    /**
+     * Load every non-zero token epoch with its expiry (SCAN + pipelined GET/PTTL)
+     */
+    public Map<UUID, TokenEpoch> loadTokenEpochs() {
+        Map<UUID, TokenEpoch> result = new HashMap<>();
+        scanInBatches(TOKEN_EPOCH_PREFIX, keys -> {
+            List<Object> replies = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : keys) {
+                    byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                    connection.stringCommands().get(rawKey);
+                    connection.keyCommands().pTtl(rawKey);
+                }
+                return null;
+            });
+
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < keys.size(); i++) {
+                Object epoch = replies.get(2 * i);
+                Long expiresAt = expiresAt(replies.get(2 * i + 1), now);
+                if (epoch != null && expiresAt != null) {
+                    UUID userId = UUID.fromString(keys.get(i).substring(TOKEN_EPOCH_PREFIX.length()));
+                    result.put(userId, new TokenEpoch(Long.parseLong(epoch.toString()), expiresAt));
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * A user's token epoch and when its key expires (epoch millis)
+     */
+    public record TokenEpoch(long epoch, long expiresAtMillis) {}
+
+    // ==================== REFRESH TOKEN MANAGEMENT ====================
+    //
+    // Each operation is a single Lua script call (EVALSHA after the first use),
+    // so token and session index always change together.
+    // The scripts derive the index keys from the stored userId; this assumes
+    // a non-clustered Redis, like the rest of this service.
+    //
+    // Session index per user:
+    // - auth:user_sessions:{userId}      sorted set, member = refresh token, score = expiry (ms)
+    // - auth:user_session_meta:{userId}  hash, field = refresh token, value = SessionMetadata JSON
+    // Expired members are pruned on every write and by the background compactor,
+    // and both keys expire together with the user's newest token.
+
+    private static final RedisScript<Long> CREATE_REFRESH_TOKEN_SCRIPT =
+            loadScript("scripts/refresh_token_create.lua", Long.class);
+    private static final RedisScript<Long> ENFORCE_SESSION_CAP_SCRIPT =
+            loadScript("scripts/session_cap_enforce.lua", Long.class);
+    private static final RedisScript<String> ROTATE_REFRESH_TOKEN_SCRIPT =
+            loadScript("scripts/refresh_token_rotate.lua", String.class);
+    private static final RedisScript<Long> INVALIDATE_REFRESH_TOKEN_SCRIPT =
+            loadScript("scripts/refresh_token_invalidate.lua", Long.class);
+    private static final RedisScript<Long> INVALIDATE_ALL_REFRESH_TOKENS_SCRIPT =
+            loadScript("scripts/refresh_token_invalidate_all.lua", Long.class);
+    private static final RedisScript<Long> COMPACT_SESSION_INDEX_SCRIPT =
+            loadScript("scripts/session_index_compact.lua", Long.class);
+
+    private static final ObjectReader SESSION_METADATA_READER = new ObjectMapper().readerFor(SessionMetadata.class);
+    private static final ObjectWriter SESSION_METADATA_WRITER = new ObjectMapper().writerFor(SessionMetadata.class);
+    private static final int MAX_USER_AGENT_LENGTH = 256;
+
+    private static <T> RedisScript<T> loadScript(String path, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(path)));
+        script.setResultType(resultType);
+        return script;
+    }
+
+    /**
+     * Store a refresh token for a user as a new session (device)
+     * Returns the generated refresh token. Does not apply the per-user session cap,
+     * so a login can create it before the password is verified; call
+     * enforceSessionCap once the login succeeds.
+     */
+    public String createRefreshToken(UUID userId, String ipAddress, String userAgent) {
+        String refreshToken = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        SessionMetadata metadata = new SessionMetadata(
+                UUID.randomUUID().toString(), ipAddress, truncate(userAgent, MAX_USER_AGENT_LENGTH), now);
+
+        Long removed = stringRedisTemplate.execute(CREATE_REFRESH_TOKEN_SCRIPT,
+                List.of(REFRESH_TOKEN_PREFIX + refreshToken,
+                        USER_SESSIONS_PREFIX + userId,
+                        USER_SESSION_META_PREFIX + userId),
+                userId.toString(), refreshToken, refreshTokenTtlSeconds(), String.valueOf(now),
+                writeMetadata(metadata),
+                String.valueOf(sessionIndexConfig.getPruneLimit()));
+
+        log.info("Created refresh token for user {} (removed {} stale sessions)", userId, removed);
         return refreshToken;
     }
 
     /**
-     * Validate and get userId from refresh token
-     * Returns null if token is invalid or expired
+     * Drop a user's least recently refreshed sessions beyond auth.sessions.max-per-user.
+     * The newest session is always kept.
      */
-    public UUID validateRefreshToken(String refreshToken) {
-        String key = REFRESH_TOKEN_PREFIX + refreshToken;
-        String userId = stringRedisTemplate.opsForValue().get(key);
+    public void enforceSessionCap(UUID userId) {
+        int maxSessions = sessionIndexConfig.getMaxPerUser();
+        if (maxSessions <= 0) {
+            return;
+        }
+        Long removed = stringRedisTemplate.execute(ENFORCE_SESSION_CAP_SCRIPT,
+                List.of(USER_SESSIONS_PREFIX + userId, USER_SESSION_META_PREFIX + userId),
+                String.valueOf(maxSessions), REFRESH_TOKEN_PREFIX);
+        if (removed != null && removed > 0) {
+            log.info("Removed {} sessions over the cap for user {}", removed, userId);
+        }
+    }
+
+    /**
+     * Atomically consume a refresh token and issue its replacement (rotate-on-refresh).
+     * Returns null if the token is invalid or expired; a token can only be rotated once.
+     */
+    public RotatedRefreshToken rotateRefreshToken(String refreshToken) {
+        String newRefreshToken = UUID.randomUUID().toString();
+
+        String userId = stringRedisTemplate.execute(ROTATE_REFRESH_TOKEN_SCRIPT,
+                List.of(REFRESH_TOKEN_PREFIX + refreshToken),
+                refreshToken, newRefreshToken, refreshTokenTtlSeconds(),
+                String.valueOf(System.currentTimeMillis()),
+                REFRESH_TOKEN_PREFIX, USER_SESSIONS_PREFIX, USER_SESSION_META_PREFIX, LEGACY_USER_REFRESH_PREFIX,
+                String.valueOf(sessionIndexConfig.getPruneLimit()));
 
         if (userId == null) {
             log.warn("Invalid or expired refresh token");
             return null;
         }
 
-        return UUID.fromString(userId);
+        return new RotatedRefreshToken(UUID.fromString(userId), newRefreshToken);
     }
 
     /**
      * Invalidate a specific refresh token
      */
     public void invalidateRefreshToken(String refreshToken) {
-        String tokenKey = REFRESH_TOKEN_PREFIX + refreshToken;
-        String userId = stringRedisTemplate.opsForValue().get(tokenKey);
-
-        if (userId != null) {
-            // Remove from user's refresh token set
-            String userKey = USER_REFRESH_PREFIX + userId;
-            stringRedisTemplate.opsForSet().remove(userKey, refreshToken);
-        }
-
-        // Delete the token
-        stringRedisTemplate.delete(tokenKey);
+        stringRedisTemplate.execute(INVALIDATE_REFRESH_TOKEN_SCRIPT,
+                List.of(REFRESH_TOKEN_PREFIX + refreshToken),
+                refreshToken, USER_SESSIONS_PREFIX, USER_SESSION_META_PREFIX, LEGACY_USER_REFRESH_PREFIX);
         log.info("Invalidated refresh token");
     }
 
     /**
      * Invalidate all refresh tokens for a user (logout from all devices)
+     * One call regardless of how many devices the user has.
      */
     public void invalidateAllRefreshTokens(UUID userId) {
-        String userKey = USER_REFRESH_PREFIX + userId.toString();
-        var tokens = stringRedisTemplate.opsForSet().members(userKey);
-
-        if (tokens != null) {
-            for (String token : tokens) {
-                stringRedisTemplate.delete(REFRESH_TOKEN_PREFIX + token);
-            }
-        }
-
-        stringRedisTemplate.delete(userKey);
-        log.info("Invalidated all refresh tokens for user {}", userId);
+        Long deleted = stringRedisTemplate.execute(INVALIDATE_ALL_REFRESH_TOKENS_SCRIPT,
+                List.of(USER_SESSIONS_PREFIX + userId,
+                        USER_SESSION_META_PREFIX + userId,
+                        LEGACY_USER_REFRESH_PREFIX + userId),
+                REFRESH_TOKEN_PREFIX);
+        log.info("Invalidated {} refresh tokens for user {}", deleted, userId);
     }
 
-    // ==================== LOGIN RATE LIMITING ====================
-
     /**
-     * Record a failed login attempt
-     * Returns the current number of attempts
+     * Active sessions of a user, most recently refreshed first.
+     * A range read on the session index plus one HMGET for the metadata.
      */
-    public int recordFailedLoginAttempt(String email) {
-        String key = LOGIN_ATTEMPTS_PREFIX + email;
-        Long attempts = stringRedisTemplate.opsForValue().increment(key);
+    public List<ActiveSession> getActiveSessions(UUID userId) {
+        Set<ZSetOperations.TypedTuple<String>> entries = stringRedisTemplate.opsForZSet()
+                .reverseRangeByScoreWithScores(USER_SESSIONS_PREFIX + userId,
+                        System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+        if (entries == null || entries.isEmpty()) {
+            return List.of();
+        }
 
-        if (attempts != null && attempts == 1) {
-            // First attempt, set expiration
-            stringRedisTemplate.expire(key, Duration.ofMinutes(LOGIN_ATTEMPT_WINDOW_MINUTES));
+        List<Object> tokens = new ArrayList<>(entries.size());
+        for (ZSetOperations.TypedTuple<String> entry : entries) {
+            tokens.add(entry.getValue());
+        }
+        List<Object> metadata = stringRedisTemplate.opsForHash()
+                .multiGet(USER_SESSION_META_PREFIX + userId, tokens);
+
+        List<ActiveSession> sessions = new ArrayList<>(entries.size());
+        int i = 0;
+        for (ZSetOperations.TypedTuple<String> entry : entries) {
+            Object json = metadata.get(i++);
+            sessions.add(new ActiveSession(
+                    json != null ? readMetadata((String) json) : null,
+                    Instant.ofEpochMilli(entry.getScore().longValue())));
         }
+        return sessions;
+    }
 
-        return attempts != null ? attempts.intValue() : 1;
+    /**
+     * Sweep every session index (and any legacy auth:user_refresh set):
+     * drop expired entries and migrate legacy sets into the index.
+     * Users are compacted as SCAN returns them, so memory stays bounded by one page;
+     * a user seen twice (SCAN duplicates, or both key kinds) is just compacted twice.
+     * Returns the number of entries removed.
+     */
+    public long compactSessionIndexes() {
+        String now = String.valueOf(System.currentTimeMillis());
+        long[] totals = new long[2];
+        compactByPrefix(USER_SESSIONS_PREFIX, now, totals);
+        compactByPrefix(LEGACY_USER_REFRESH_PREFIX, now, totals);
+        log.info("Compacted {} session indexes, removed {} stale entries", totals[0], totals[1]);
+        return totals[1];
     }
 
     /**
-     * Check if user is rate limited
+     * @param totals [users compacted, entries removed], accumulated
      */
-    public boolean isRateLimited(String email) {
-        String key = LOGIN_ATTEMPTS_PREFIX + email;
-        String attempts = stringRedisTemplate.opsForValue().get(key);
+    private void compactByPrefix(String prefix, String now, long[] totals) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(prefix + "*")
+                .count(sessionIndexConfig.getCompactScanCount())
+                .build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String userId = cursor.next().substring(prefix.length());
+                Long count = stringRedisTemplate.execute(COMPACT_SESSION_INDEX_SCRIPT,
+                        List.of(USER_SESSIONS_PREFIX + userId,
+                                USER_SESSION_META_PREFIX + userId,
+                                LEGACY_USER_REFRESH_PREFIX + userId),
+                        now, REFRESH_TOKEN_PREFIX);
+                totals[0]++;
+                totals[1] += count != null ? count : 0;
+            }
+        }
+    }
 
-        if (attempts == null) {
-            return false;
+    private static String writeMetadata(SessionMetadata metadata) {
+        try {
+            return SESSION_METADATA_WRITER.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize session metadata", e);
         }
+    }
 
-        return Integer.parseInt(attempts) >= MAX_LOGIN_ATTEMPTS;
+    private static SessionMetadata readMetadata(String json) {
+        try {
+            return SESSION_METADATA_READER.readValue(json);
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable session metadata: {}", e.getMessage());
+            return null;
+        }
     }
 
-    /**
-     * Get remaining attempts for a user
-     */
-    public int getRemainingAttempts(String email) {
-        String key = LOGIN_ATTEMPTS_PREFIX + email;
-        String attempts = stringRedisTemplate.opsForValue().get(key);
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
 
-        if (attempts == null) {
-            return MAX_LOGIN_ATTEMPTS;
-        }
+    private static String refreshTokenTtlSeconds() {
+        return String.valueOf(refreshTokenTtl().toSeconds());
+    }
 
-        return Math.max(0, MAX_LOGIN_ATTEMPTS - Integer.parseInt(attempts));
+    public static Duration refreshTokenTtl() {
+        return Duration.ofDays(REFRESH_TOKEN_TTL_DAYS);
     }
 
     /**
-     * Reset login attempts after successful login
+     * Result of rotating a refresh token
      */
-    public void resetLoginAttempts(String email) {
-        String key = LOGIN_ATTEMPTS_PREFIX + email;
-        stringRedisTemplate.delete(key);
-    }
+    public record RotatedRefreshToken(UUID userId, String refreshToken) {}
 
     /**
-     * Get time until rate limit resets (in seconds)
+     * Device details recorded when a session starts; carried over on every rotation
      */
-    public long getRateLimitResetTime(String email) {
-        String key = LOGIN_ATTEMPTS_PREFIX + email;
-        Long ttl = stringRedisTemplate.getExpire(key, TimeUnit.SECONDS);
-        return ttl != null && ttl > 0 ? ttl : 0;
-    }
+    public record SessionMetadata(String sessionId, String ipAddress, String userAgent, long createdAt) {}
+
+    /**
+     * A live session; metadata is null for tokens issued before the session index existed
+     */
+    public record ActiveSession(SessionMetadata metadata, Instant expiresAt) {}
 
     // ==================== USER SESSION MANAGEMENT ====================
 
@@ -0,0 +1,89 @@
+package com.ecommerce.auth_service.service;
+
+import com.ecommerce.auth_service.entity.OutboxEvent;
+import com.ecommerce.auth_service.entity.UserCredential;
+import com.ecommerce.auth_service.repository.OutboxEventRepository;
+import com.ecommerce.common.event.UserAccountEvents;
+import com.ecommerce.common.event.UserRegisteredEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes user account events to the outbox table. Callers must be inside the
+ * transaction that makes the change, so the event exists exactly when the change does;
+ * OutboxRelay publishes it afterwards.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserEventOutbox {
+
+    private static final ObjectWriter USER_REGISTERED_WRITER =
+            new ObjectMapper().writerFor(UserRegisteredEvent.class);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO outbox_events (id, aggregate_id, event_type, payload, created_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userRegistered(UserCredential credential, String fullName, String phoneNumber) {
+        UserRegisteredEvent event = UserRegisteredEvent.builder()
+                .userId(credential.getId())
+                .email(credential.getEmail())
+                .fullName(fullName)
+                .phoneNumber(phoneNumber)
+                .build();
+
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .id(UUID.randomUUID())
+                    .aggregateId(credential.getId())
+                    .eventType(UserAccountEvents.USER_REGISTERED)
+                    .payload(USER_REGISTERED_WRITER.writeValueAsString(event))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize UserRegistered event", e);
+        }
+        log.debug("Queued UserRegistered event for user {}", credential.getId());
+    }
+
+    /**
+     * Queue UserRegistered events for many users with one JDBC batch (bulk import)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void usersRegistered(List<UserRegisteredEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, event.getUserId());
+            ps.setString(3, UserAccountEvents.USER_REGISTERED);
+            try {
+                ps.setString(4, USER_REGISTERED_WRITER.writeValueAsString(event));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize UserRegistered event", e);
+            }
+            ps.setTimestamp(5, now);
+        });
+        log.debug("Queued {} UserRegistered events", events.size());
+    }
+}
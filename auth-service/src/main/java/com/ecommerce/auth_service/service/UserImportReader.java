@@ -0,0 +1,166 @@
+package com.ecommerce.auth_service.service;
+
+import com.ecommerce.common.exception.AppException;
+import com.ecommerce.common.exception.ErrorCode;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Line-by-line reader for bulk import files, so a file of any size is streamed.
+ *
+ * Formats:
+ * - NDJSON: one JSON object per line
+ * - CSV: header line naming the columns, comma separated, double-quoted fields
+ *   may contain commas and doubled quotes (not line breaks)
+ *
+ * Fields: email, password or passwordHash, fullName, phoneNumber, emailVerified.
+ * Blank lines are ignored and do not count as data lines.
+ */
+public class UserImportReader {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    /**
+     * One row of the import file
+     */
+    public record ImportedUser(String email, String password, String passwordHash,
+                               String fullName, String phoneNumber, Boolean emailVerified) {}
+
+    /**
+     * A data line with its 1-based number, parsed or rejected
+     */
+    public record Line(long number, ImportedUser user, String error) {}
+
+    private static final ObjectReader NDJSON_READER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(ImportedUser.class);
+
+    private final BufferedReader reader;
+    private final Format format;
+    private Map<String, Integer> csvColumns;
+    private long lineNumber;
+
+    public UserImportReader(BufferedReader reader, Format format) {
+        this.reader = reader;
+        this.format = format;
+    }
+
+    public static Format formatOf(String format, String contentType) {
+        String value = format != null ? format : contentType;
+        if (value == null) {
+            return Format.NDJSON;
+        }
+        value = value.toLowerCase(Locale.ROOT);
+        if (value.contains("csv")) {
+            return Format.CSV;
+        }
+        if (value.contains("ndjson") || value.contains("json")) {
+            return Format.NDJSON;
+        }
+        throw new AppException(ErrorCode.IMPORT_FORMAT_INVALID, "Unsupported import format: " + value);
+    }
+
+    /**
+     * @return the next data line, or null at end of input
+     */
+    public Line next() throws IOException {
+        String raw;
+        while ((raw = reader.readLine()) != null) {
+            if (raw.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvColumns == null) {
+                readCsvHeader(raw);
+                continue;
+            }
+            lineNumber++;
+            try {
+                return new Line(lineNumber, format == Format.CSV ? parseCsv(raw) : NDJSON_READER.readValue(raw), null);
+            } catch (Exception e) {
+                return new Line(lineNumber, null, "unreadable row");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Skip data lines already handled by an earlier run
+     */
+    public void skip(long lines) throws IOException {
+        while (lineNumber < lines && next() != null) {
+            // discard
+        }
+    }
+
+    private void readCsvHeader(String header) {
+        List<String> names = splitCsv(header);
+        csvColumns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            csvColumns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!csvColumns.containsKey("email")) {
+            throw new AppException(ErrorCode.IMPORT_FORMAT_INVALID, "CSV header must contain an email column");
+        }
+    }
+
+    private ImportedUser parseCsv(String raw) {
+        List<String> values = splitCsv(raw);
+        String verified = column(values, "emailverified");
+        return new ImportedUser(
+                column(values, "email"),
+                column(values, "password"),
+                column(values, "passwordhash"),
+                column(values, "fullname"),
+                column(values, "phonenumber"),
+                verified != null ? Boolean.valueOf(verified.trim()) : null);
+    }
+
+    private String column(List<String> values, String name) {
+        Integer index = csvColumns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,401 @@
+package com.ecommerce.auth_service.service;
+
+import com.ecommerce.auth_service.config.UserImportConfig;
+import com.ecommerce.auth_service.dto.response.UserImportReport;
+import com.ecommerce.auth_service.entity.UserImportCheckpoint;
+import com.ecommerce.auth_service.entity.UserRole;
+import com.ecommerce.auth_service.entity.UserStatus;
+import com.ecommerce.auth_service.repository.UserImportCheckpointRepository;
+import com.ecommerce.auth_service.service.UserImportReader.Format;
+import com.ecommerce.auth_service.service.UserImportReader.ImportedUser;
+import com.ecommerce.auth_service.service.UserImportReader.Line;
+import com.ecommerce.common.event.UserRegisteredEvent;
+import com.ecommerce.common.exception.AppException;
+import com.ecommerce.common.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import of user credentials, for onboarding legacy customers.
+ *
+ * This service handles:
+ * - Streaming NDJSON or CSV input in batches of batch-size rows
+ * - Accepting pre-hashed passwords (BCrypt, or {bcrypt}/{argon2id} prefixed) as is,
+ *   and hashing plain-text ones on a pool of hash-threads threads owned by the import,
+ *   so an import never queues behind (or starves) login hashing
+ * - Deduplicating each batch within itself and against user_credentials with one
+ *   set-based query (email = ANY(?))
+ * - Inserting each batch with one multi-row INSERT over unnest() arrays
+ *   (ON CONFLICT DO NOTHING covers concurrent registrations), queueing
+ *   UserRegistered outbox events in bulk for the ids it RETURNs and saving the
+ *   checkpoint, all in one transaction
+ * - Resuming an import id after the last committed line; the report carries totals
+ *   and this run's throughput
+ *
+ * Imported users get no verification email: emailVerified rows become active,
+ * others pending_verification (they can request a new verification email).
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final String EXISTING_EMAILS_SQL = "SELECT email FROM user_credentials WHERE email = ANY(?)";
+    private static final String INSERT_SQL = """
+            INSERT INTO user_credentials
+                (id, email, password_hash, role, status, email_verified, email_verified_at,
+                 login_count, created_at, updated_at, created_by)
+            SELECT u.id, u.email, u.password_hash, CAST(? AS user_role), CAST(u.status AS user_status),
+                   u.email_verified, CASE WHEN u.email_verified THEN CAST(? AS timestamp) END,
+                   0, CAST(? AS timestamp), CAST(? AS timestamp), 'bulk-import'
+              FROM unnest(?, ?, ?, ?, ?) AS u(id, email, password_hash, status, email_verified)
+            ON CONFLICT (email) DO NOTHING
+            RETURNING id
+            """;
+    private static final String IMPORT_METRIC = "auth.import.rows";
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+    private static final int MAX_EMAIL_LENGTH = 255;
+    private static final int MIN_PASSWORD_LENGTH = 8;
+    private static final int MAX_PASSWORD_LENGTH = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final UserEventOutbox userEventOutbox;
+    private final UserImportCheckpointRepository checkpointRepository;
+    private final UserImportConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> runningImports = ConcurrentHashMap.newKeySet();
+
+    /**
+     * A row that passed validation, with the hash to store once known
+     */
+    private record Candidate(long line, ImportedUser user, String passwordHash) {}
+
+    private static final class RunState {
+        final UserImportCheckpoint checkpoint;
+        final List<String> errors = new ArrayList<>();
+
+        RunState(UserImportCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+        }
+    }
+
+    public UserImportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             PasswordEncoder passwordEncoder,
+                             UserEventOutbox userEventOutbox,
+                             UserImportCheckpointRepository checkpointRepository,
+                             UserImportConfig config,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.userEventOutbox = userEventOutbox;
+        this.checkpointRepository = checkpointRepository;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Import users from a stream. Re-running with the same importId resumes
+     * after the last committed line (the same input must be supplied).
+     */
+    public UserImportReport importUsers(InputStream input, Format format, String importId, String source) {
+        if (!runningImports.add(importId)) {
+            throw new AppException(ErrorCode.IMPORT_IN_PROGRESS);
+        }
+        ExecutorService hashPool = newHashPool();
+        try {
+            return run(input, format, importId, source, hashPool);
+        } finally {
+            hashPool.shutdownNow();
+            runningImports.remove(importId);
+        }
+    }
+
+    private UserImportReport run(InputStream input, Format format, String importId, String source,
+                                 ExecutorService hashPool) {
+        long startNanos = System.nanoTime();
+        UserImportCheckpoint checkpoint = checkpointRepository.findById(importId)
+                .orElseGet(() -> UserImportCheckpoint.builder()
+                        .importId(importId)
+                        .source(source)
+                        .startedAt(LocalDateTime.now())
+                        .build());
+        long resumedFrom = checkpoint.getLinesProcessed();
+        RunState state = new RunState(checkpoint);
+
+        if (checkpoint.getCompletedAt() != null) {
+            log.info("Import {} already completed, nothing to do", importId);
+            return report(state, resumedFrom, startNanos);
+        }
+        if (resumedFrom > 0) {
+            log.info("Resuming import {} after line {}", importId, resumedFrom);
+        }
+
+        int batchSize = Math.max(1, config.getBatchSize());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            UserImportReader rows = new UserImportReader(reader, format);
+            rows.skip(resumedFrom);
+
+            List<Line> batch = new ArrayList<>(batchSize);
+            Line line;
+            while ((line = rows.next()) != null) {
+                batch.add(line);
+                if (batch.size() == batchSize) {
+                    importBatch(batch, state, hashPool);
+                    batch.clear();
+                    log.info("Import {}: {} lines, {} imported", importId,
+                            checkpoint.getLinesProcessed(), checkpoint.getImported());
+                }
+            }
+            if (!batch.isEmpty()) {
+                importBatch(batch, state, hashPool);
+            }
+        } catch (IOException e) {
+            log.error("Import {} stopped after line {}: {}", importId, checkpoint.getLinesProcessed(), e.getMessage());
+            throw new AppException(ErrorCode.IMPORT_FORMAT_INVALID,
+                    "Import stopped after line " + checkpoint.getLinesProcessed() + ", resume with the same import id");
+        }
+
+        checkpoint.setCompletedAt(LocalDateTime.now());
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> checkpointRepository.save(checkpoint));
+
+        UserImportReport report = report(state, resumedFrom, startNanos);
+        log.info("Import {} completed: {} imported, {} existing, {} duplicates, {} invalid, {} lines/s",
+                importId, report.getImported(), report.getSkippedExisting(), report.getDuplicates(),
+                report.getInvalid(), Math.round(report.getLinesPerSecond()));
+        return report;
+    }
+
+    private void importBatch(List<Line> batch, RunState state, ExecutorService hashPool) {
+        UserImportCheckpoint checkpoint = state.checkpoint;
+        long invalid = 0;
+        long duplicates = 0;
+
+        // Validate and deduplicate within the batch (first occurrence wins)
+        Map<String, Candidate> candidates = new LinkedHashMap<>();
+        for (Line line : batch) {
+            String error = line.error() != null ? line.error() : validate(line.user());
+            if (error != null) {
+                invalid++;
+                reportError(state, line.number(), error);
+            } else if (candidates.putIfAbsent(line.user().email().trim(),
+                    new Candidate(line.number(), line.user(), null)) != null) {
+                duplicates++;
+            }
+        }
+
+        // Set-based dedupe against existing credentials
+        Set<String> existing = existingEmails(candidates.keySet());
+        long skippedExisting = existing.size();
+        existing.forEach(candidates::remove);
+
+        List<Candidate> toInsert = hashPasswords(new ArrayList<>(candidates.values()), hashPool);
+        long batchEnd = batch.get(batch.size() - 1).number();
+
+        long finalInvalid = invalid;
+        long finalDuplicates = duplicates;
+        transactionTemplate.executeWithoutResult(status -> {
+            List<UserRegisteredEvent> events = insert(toInsert);
+            userEventOutbox.usersRegistered(events);
+
+            checkpoint.setLinesProcessed(batchEnd);
+            checkpoint.setImported(checkpoint.getImported() + events.size());
+            // Rows lost to a concurrent registration count as existing
+            checkpoint.setSkippedExisting(checkpoint.getSkippedExisting() + skippedExisting
+                    + (toInsert.size() - events.size()));
+            checkpoint.setDuplicates(checkpoint.getDuplicates() + finalDuplicates);
+            checkpoint.setInvalid(checkpoint.getInvalid() + finalInvalid);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+
+            meterRegistry.counter(IMPORT_METRIC, "result", "imported").increment(events.size());
+        });
+        meterRegistry.counter(IMPORT_METRIC, "result", "existing").increment(skippedExisting);
+        meterRegistry.counter(IMPORT_METRIC, "result", "duplicate").increment(finalDuplicates);
+        meterRegistry.counter(IMPORT_METRIC, "result", "invalid").increment(finalInvalid);
+    }
+
+    private String validate(ImportedUser user) {
+        String email = user.email() != null ? user.email().trim() : null;
+        if (email == null || email.isEmpty()) {
+            return "email is required";
+        }
+        if (email.length() > MAX_EMAIL_LENGTH || !EMAIL.matcher(email).matches()) {
+            return "invalid email";
+        }
+        if (user.passwordHash() != null) {
+            return isSupportedHash(user.passwordHash()) ? null : "unsupported password hash";
+        }
+        if (user.password() == null) {
+            return "password or passwordHash is required";
+        }
+        if (user.password().length() < MIN_PASSWORD_LENGTH || user.password().length() > MAX_PASSWORD_LENGTH) {
+            return "password must be between 8 and 100 characters";
+        }
+        return null;
+    }
+
+    /**
+     * Hashes the login path can verify: {bcrypt}/{argon2id} prefixed, or plain BCrypt
+     * (matched by the delegating encoder's default and upgraded on first login)
+     */
+    private static boolean isSupportedHash(String hash) {
+        return hash.startsWith("{bcrypt}") || hash.startsWith("{argon2id}") || BCRYPT_HASH.matcher(hash).matches();
+    }
+
+    private Set<String> existingEmails(Set<String> emails) {
+        if (emails.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<String> existing = new HashSet<>();
+        jdbcTemplate.query(con -> {
+            Array array = con.createArrayOf("varchar", emails.toArray());
+            var statement = con.prepareStatement(EXISTING_EMAILS_SQL);
+            statement.setArray(1, array);
+            return statement;
+        }, rs -> {
+            existing.add(rs.getString(1));
+        });
+        return existing;
+    }
+
+    private List<Candidate> hashPasswords(List<Candidate> candidates, ExecutorService hashPool) {
+        List<CompletableFuture<Candidate>> futures = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            ImportedUser user = candidate.user();
+            if (user.passwordHash() != null) {
+                futures.add(CompletableFuture.completedFuture(
+                        new Candidate(candidate.line(), user, user.passwordHash())));
+            } else {
+                futures.add(CompletableFuture.supplyAsync(() -> new Candidate(candidate.line(), user,
+                        passwordEncoder.encode(user.password())), hashPool));
+            }
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * @return events for the rows actually inserted (the ids RETURNed by the INSERT;
+     *         rows lost to ON CONFLICT are not returned)
+     */
+    private List<UserRegisteredEvent> insert(List<Candidate> candidates) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int size = candidates.size();
+        UUID[] ids = new UUID[size];
+        String[] emails = new String[size];
+        String[] hashes = new String[size];
+        String[] statuses = new String[size];
+        Boolean[] verified = new Boolean[size];
+        Map<UUID, ImportedUser> usersById = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            ImportedUser user = candidates.get(i).user();
+            boolean emailVerified = Boolean.TRUE.equals(user.emailVerified());
+            ids[i] = UUID.randomUUID();
+            emails[i] = user.email().trim();
+            hashes[i] = candidates.get(i).passwordHash();
+            statuses[i] = (emailVerified ? UserStatus.active : UserStatus.pending_verification).name();
+            verified[i] = emailVerified;
+            usersById.put(ids[i], user);
+        }
+
+        List<UUID> inserted = jdbcTemplate.query(con -> {
+            var statement = con.prepareStatement(INSERT_SQL);
+            statement.setString(1, UserRole.customer.name());
+            statement.setTimestamp(2, now);
+            statement.setTimestamp(3, now);
+            statement.setTimestamp(4, now);
+            statement.setArray(5, con.createArrayOf("uuid", ids));
+            statement.setArray(6, con.createArrayOf("varchar", emails));
+            statement.setArray(7, con.createArrayOf("varchar", hashes));
+            statement.setArray(8, con.createArrayOf("varchar", statuses));
+            statement.setArray(9, con.createArrayOf("bool", verified));
+            return statement;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+
+        List<UserRegisteredEvent> events = new ArrayList<>(inserted.size());
+        for (UUID id : inserted) {
+            ImportedUser user = usersById.get(id);
+            events.add(UserRegisteredEvent.builder()
+                    .userId(id)
+                    .email(user.email().trim())
+                    .fullName(user.fullName())
+                    .phoneNumber(user.phoneNumber())
+                    .build());
+        }
+        return events;
+    }
+
+    private void reportError(RunState state, long line, String error) {
+        if (state.errors.size() < config.getMaxReportedErrors()) {
+            state.errors.add("line " + line + ": " + error);
+        }
+    }
+
+    private ExecutorService newHashPool() {
+        int threads = config.getHashThreads() > 0
+                ? config.getHashThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCounter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "import-hash-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private UserImportReport report(RunState state, long resumedFrom, long startNanos) {
+        UserImportCheckpoint checkpoint = state.checkpoint;
+        long elapsedMs = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        long linesThisRun = checkpoint.getLinesProcessed() - resumedFrom;
+        return UserImportReport.builder()
+                .importId(checkpoint.getImportId())
+                .source(checkpoint.getSource())
+                .completed(checkpoint.getCompletedAt() != null)
+                .resumedFromLine(resumedFrom)
+                .linesProcessed(checkpoint.getLinesProcessed())
+                .imported(checkpoint.getImported())
+                .skippedExisting(checkpoint.getSkippedExisting())
+                .duplicates(checkpoint.getDuplicates())
+                .invalid(checkpoint.getInvalid())
+                .elapsedMs(elapsedMs)
+                .linesPerSecond(linesThisRun * 1000.0 / elapsedMs)
+                .errors(state.errors)
+                .build();
+    }
+}
@@ -0,0 +1,209 @@
+package com.ecommerce.auth_service.service;
+
+import com.ecommerce.auth_service.client.UserServiceClient;
+import com.ecommerce.auth_service.client.dto.UserBasicInfo;
+import com.ecommerce.auth_service.config.ProfileCacheConfig;
+import com.ecommerce.common.dto.ApiResponse;
+import com.ecommerce.common.event.UserProfileEvents;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Redis-backed snapshot of UserBasicInfo, so auth flows do not call user-service
+ * for every fullName/avatarUrl lookup.
+ *
+ * This service handles:
+ * - get(): cache first, loads synchronously from user-service on a miss
+ * - getIfCached(): never waits; a miss schedules a background load
+ *   and returns null (used by refresh)
+ * - Evicting entries when user-service publishes a profile change; each eviction
+ *   bumps a per-user version, and a load only stores its result if the version is
+ *   unchanged, so a fetch that raced an eviction cannot re-cache stale data
+ * - Hit/miss counters (auth.profile.cache, tag result)
+ */
+@Slf4j
+@Service
+public class UserProfileCache implements MessageListener {
+
+    private static final String PROFILE_PREFIX = "auth:profile:";
+    private static final String VERSION_PREFIX = "auth:profile_version:";
+    private static final String CACHE_METRIC = "auth.profile.cache";
+
+    private static final RedisScript<Long> EVICT_SCRIPT = loadScript("scripts/profile_evict.lua");
+    private static final RedisScript<Long> STORE_SCRIPT = loadScript("scripts/profile_store.lua");
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final UserServiceClient userServiceClient;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ExecutorService loginPipelineExecutor;
+    private final Duration ttl;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final Counter hits;
+    private final Counter misses;
+    private final Map<UUID, CompletableFuture<UserBasicInfo>> inFlightLoads = new ConcurrentHashMap<>();
+
+    public UserProfileCache(StringRedisTemplate stringRedisTemplate,
+                            UserServiceClient userServiceClient,
+                            RedisMessageListenerContainer listenerContainer,
+                            ExecutorService loginPipelineExecutor,
+                            ProfileCacheConfig config,
+                            MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.userServiceClient = userServiceClient;
+        this.listenerContainer = listenerContainer;
+        this.loginPipelineExecutor = loginPipelineExecutor;
+        this.ttl = Duration.ofSeconds(config.getTtlSeconds());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        this.reader = objectMapper.readerFor(UserBasicInfo.class);
+        this.writer = objectMapper.writerFor(UserBasicInfo.class);
+
+        this.hits = Counter.builder(CACHE_METRIC).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(CACHE_METRIC).tag("result", "miss").register(meterRegistry);
+    }
+
+    private static RedisScript<Long> loadScript(String path) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(path)));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(UserProfileEvents.PROFILE_CHANGED_CHANNEL));
+    }
+
+    /**
+     * Cached profile, loading it from user-service on a miss.
+     * Returns null if user-service is unavailable.
+     */
+    public UserBasicInfo get(UUID userId) {
+        UserBasicInfo cached = readCached(userId);
+        if (cached != null) {
+            return cached;
+        }
+        return loadOnce(userId).join();
+    }
+
+    /**
+     * Cached profile without ever waiting on user-service.
+     * On a miss the profile is loaded in the background for the next call.
+     */
+    public UserBasicInfo getIfCached(UUID userId) {
+        UserBasicInfo cached = readCached(userId);
+        if (cached == null) {
+            CompletableFuture.runAsync(() -> loadOnce(userId), loginPipelineExecutor);
+        }
+        return cached;
+    }
+
+    public void evict(UUID userId) {
+        stringRedisTemplate.execute(EVICT_SCRIPT,
+                List.of(PROFILE_PREFIX + userId, VERSION_PREFIX + userId),
+                String.valueOf(ttl.toMillis()));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            evict(UUID.fromString(body));
+            log.debug("Evicted profile snapshot for user {}", body);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed profile change event: {}", body);
+        }
+    }
+
+    private UserBasicInfo readCached(UUID userId) {
+        String json;
+        try {
+            json = stringRedisTemplate.opsForValue().get(PROFILE_PREFIX + userId);
+        } catch (Exception e) {
+            log.warn("Could not read profile snapshot for user {}: {}", userId, e.getMessage());
+            misses.increment();
+            return null;
+        }
+
+        if (json != null) {
+            try {
+                UserBasicInfo profile = reader.readValue(json);
+                hits.increment();
+                return profile;
+            } catch (JsonProcessingException e) {
+                log.warn("Discarding unreadable profile snapshot for user {}", userId);
+                evict(userId);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Load from user-service, sharing one call between concurrent misses for the same user.
+     */
+    private CompletableFuture<UserBasicInfo> loadOnce(UUID userId) {
+        CompletableFuture<UserBasicInfo> created = new CompletableFuture<>();
+        CompletableFuture<UserBasicInfo> existing = inFlightLoads.putIfAbsent(userId, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            created.complete(load(userId));
+        } catch (RuntimeException e) {
+            created.complete(null);
+        } finally {
+            inFlightLoads.remove(userId, created);
+        }
+        return created;
+    }
+
+    private UserBasicInfo load(UUID userId) {
+        try {
+            // Read before the fetch: an eviction after this point makes the store a no-op
+            String version = stringRedisTemplate.opsForValue().get(VERSION_PREFIX + userId);
+            ApiResponse<UserBasicInfo> response = userServiceClient.getUserBasicInfo(userId);
+            if (response == null || response.getCode() != 200 || response.getResult() == null) {
+                return null;
+            }
+            UserBasicInfo profile = response.getResult();
+            Long stored = stringRedisTemplate.execute(STORE_SCRIPT,
+                    List.of(PROFILE_PREFIX + userId, VERSION_PREFIX + userId),
+                    version != null ? version : "0", writer.writeValueAsString(profile), String.valueOf(ttl.toMillis()));
+            if (stored == null || stored == 0) {
+                log.debug("Profile of user {} changed during load; not caching it", userId);
+            }
+            return profile;
+        } catch (Exception e) {
+            log.warn("Could not fetch user profile from user-service: {}", e.getMessage());
+            return null;
+        }
+    }
+}
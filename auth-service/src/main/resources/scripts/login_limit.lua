@@ -0,0 +1,41 @@
+-- Sliding-window login attempt limiter: check and record in one call.
+-- KEYS[i]  = sorted set of attempt timestamps for one dimension (email, IP, ...)
+-- ARGV[1]  = now (ms), ARGV[2] = window (ms), ARGV[3] = unique member for this attempt
+-- ARGV[3+i] = max attempts per window for KEYS[i]
+-- Returns {allowed (1/0), remaining attempts, seconds until the limiting key frees a slot}
+local now = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local windowStart = now - window
+
+local counts = {}
+local blockedReset = -1
+for i, key in ipairs(KEYS) do
+    redis.call('ZREMRANGEBYSCORE', key, '-inf', windowStart)
+    local count = redis.call('ZCARD', key)
+    counts[i] = count
+    if count >= tonumber(ARGV[3 + i]) then
+        local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+        local reset = math.ceil((tonumber(oldest[2]) + window - now) / 1000)
+        if reset > blockedReset then
+            blockedReset = reset
+        end
+    end
+end
+
+if blockedReset >= 0 then
+    return {0, 0, blockedReset}
+end
+
+local remaining = -1
+local resetSeconds = 0
+for i, key in ipairs(KEYS) do
+    redis.call('ZADD', key, now, ARGV[3])
+    redis.call('PEXPIRE', key, window)
+    local left = tonumber(ARGV[3 + i]) - counts[i] - 1
+    if remaining < 0 or left < remaining then
+        remaining = left
+        local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+        resetSeconds = math.ceil((tonumber(oldest[2]) + window - now) / 1000)
+    end
+end
+return {1, remaining, resetSeconds}
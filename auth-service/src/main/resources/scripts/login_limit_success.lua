@@ -0,0 +1,9 @@
+-- Uncount a successful login: clear the email window and take this attempt back
+-- out of the IP window (the rest of the IP window is kept).
+-- KEYS[1] = email window, KEYS[2] = IP window (optional)
+-- ARGV[1] = attempt id recorded by login_limit.lua
+redis.call('DEL', KEYS[1])
+if KEYS[2] then
+    redis.call('ZREM', KEYS[2], ARGV[1])
+end
+return 1
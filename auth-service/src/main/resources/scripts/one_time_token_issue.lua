@@ -0,0 +1,57 @@
+-- Issue a one-time token (email verification, password reset, ...) in one call:
+-- check and set the cooldown, store the token, index it per user and cap the
+-- number of outstanding tokens per user, evicting the oldest.
+-- KEYS[1] = token key, KEYS[2] = cooldown key,
+-- KEYS[3] = per-user token index (sorted set, member = token, score = expiry in ms),
+-- KEYS[4..n] = token keys of the index members read by the caller
+-- ARGV[1] = userId, ARGV[2] = token, ARGV[3] = token ttl (ms), ARGV[4] = cooldown (ms),
+-- ARGV[5] = now (ms), ARGV[6] = max outstanding tokens per user,
+-- ARGV[7] = 1 to refuse while the cooldown is active,
+-- ARGV[8..] = index members read by the caller, in the same order as KEYS[4..n]
+-- Returns {1, 0} when issued, {0, remaining cooldown in ms} when refused and
+-- {-1, 0} when the index gained a member the caller did not pass (read it again).
+if ARGV[7] == '1' then
+    local cooldown = redis.call('PTTL', KEYS[2])
+    if cooldown > 0 then
+        return {0, cooldown}
+    end
+end
+
+local now = tonumber(ARGV[5])
+local expiresAt = now + tonumber(ARGV[3])
+local tokenKeys = {}
+for i = 8, #ARGV do
+    tokenKeys[ARGV[i]] = KEYS[i - 4]
+end
+
+-- Forget tokens that expired or were consumed; the index never exceeds the cap
+redis.call('ZREMRANGEBYSCORE', KEYS[3], '-inf', now)
+local outstanding = redis.call('ZRANGE', KEYS[3], 0, -1)
+for _, token in ipairs(outstanding) do
+    if not tokenKeys[token] then
+        return {-1, 0}
+    end
+end
+for _, token in ipairs(outstanding) do
+    if redis.call('EXISTS', tokenKeys[token]) == 0 then
+        redis.call('ZREM', KEYS[3], token)
+    end
+end
+
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+redis.call('ZADD', KEYS[3], expiresAt, ARGV[2])
+tokenKeys[ARGV[2]] = KEYS[1]
+
+local excess = redis.call('ZCARD', KEYS[3]) - tonumber(ARGV[6])
+if excess > 0 then
+    for _, token in ipairs(redis.call('ZRANGE', KEYS[3], 0, excess - 1)) do
+        redis.call('DEL', tokenKeys[token])
+    end
+    redis.call('ZREMRANGEBYRANK', KEYS[3], 0, excess - 1)
+end
+redis.call('PEXPIREAT', KEYS[3], expiresAt)
+
+if tonumber(ARGV[4]) > 0 then
+    redis.call('SET', KEYS[2], '1', 'PX', ARGV[4])
+end
+return {1, 0}
@@ -0,0 +1,24 @@
+-- Delete every outstanding one-time token of a user for one purpose.
+-- KEYS[1] = per-user token index, KEYS[2..n] = token keys of the index members read by the caller
+-- ARGV[1..] = index members read by the caller, in the same order as KEYS[2..n]
+-- Returns the number of index entries removed, or -1 when the index gained a member
+-- the caller did not pass (read it again).
+local passed = {}
+for i = 1, #ARGV do
+    passed[ARGV[i]] = true
+end
+for _, token in ipairs(redis.call('ZRANGE', KEYS[1], 0, -1)) do
+    if not passed[token] then
+        return -1
+    end
+end
+
+local removed = 0
+if #ARGV > 0 then
+    removed = redis.call('ZREM', KEYS[1], unpack(ARGV))
+end
+for i = 2, #KEYS do
+    redis.call('DEL', KEYS[i])
+end
+redis.call('DEL', KEYS[1])
+return removed
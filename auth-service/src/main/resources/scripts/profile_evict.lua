@@ -0,0 +1,8 @@
+-- Evict a user's profile snapshot and bump its version, so a load that fetched
+-- the profile before this eviction cannot store it afterwards (profile_store.lua).
+-- KEYS[1] = auth:profile:{userId}, KEYS[2] = auth:profile_version:{userId}
+-- ARGV[1] = version key ttl (ms); must outlast any in-flight load
+redis.call('DEL', KEYS[1])
+redis.call('INCR', KEYS[2])
+redis.call('PEXPIRE', KEYS[2], ARGV[1])
+return 1
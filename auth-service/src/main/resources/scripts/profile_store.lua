@@ -0,0 +1,10 @@
+-- Store a profile snapshot unless it was evicted since the load started.
+-- KEYS[1] = auth:profile:{userId}, KEYS[2] = auth:profile_version:{userId}
+-- ARGV[1] = version read before the load ('0' if absent), ARGV[2] = snapshot JSON,
+-- ARGV[3] = ttl (ms)
+-- Returns 1 if stored, 0 if an eviction happened in between (the snapshot may be stale).
+if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+return 1
@@ -0,0 +1,28 @@
+-- Store a refresh token and add it to its user's session index.
+-- KEYS[1] = auth:refresh:{token}, KEYS[2] = auth:user_sessions:{userId},
+-- KEYS[3] = auth:user_session_meta:{userId}
+-- ARGV[1] = userId, ARGV[2] = token, ARGV[3] = ttl seconds, ARGV[4] = now (ms),
+-- ARGV[5] = session metadata, ARGV[6] = max expired entries to prune
+-- The index is a sorted set scored by expiry (ms); metadata is a hash keyed by token.
+-- The per-user session cap is not applied here (login creates the token before the
+-- password is verified); session_cap_enforce.lua applies it once the login succeeds.
+-- Returns the number of expired sessions removed.
+local now = tonumber(ARGV[4])
+local expiresAt = now + tonumber(ARGV[3]) * 1000
+local removed = 0
+
+local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', now, 'LIMIT', 0, tonumber(ARGV[6]))
+if #expired > 0 then
+    redis.call('ZREM', KEYS[2], unpack(expired))
+    redis.call('HDEL', KEYS[3], unpack(expired))
+    removed = #expired
+end
+
+redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[3])
+redis.call('ZADD', KEYS[2], expiresAt, ARGV[2])
+redis.call('HSET', KEYS[3], ARGV[2], ARGV[5])
+
+-- The new token expires last, so the index lives exactly as long as its newest member
+redis.call('PEXPIREAT', KEYS[2], expiresAt)
+redis.call('PEXPIREAT', KEYS[3], expiresAt)
+return removed
@@ -0,0 +1,14 @@
+-- Delete a refresh token and remove it from its user's session index.
+-- KEYS[1] = auth:refresh:{token}
+-- ARGV[1] = token, ARGV[2] = session index key prefix,
+-- ARGV[3] = session metadata key prefix, ARGV[4] = legacy user set key prefix
+-- Returns 1 if the token existed.
+local userId = redis.call('GET', KEYS[1])
+if not userId then
+    return 0
+end
+redis.call('ZREM', ARGV[2] .. userId, ARGV[1])
+redis.call('HDEL', ARGV[3] .. userId, ARGV[1])
+redis.call('SREM', ARGV[4] .. userId, ARGV[1])
+redis.call('DEL', KEYS[1])
+return 1
@@ -0,0 +1,25 @@
+-- Delete every refresh token of a user, the session index and any legacy set.
+-- KEYS[1] = auth:user_sessions:{userId}, KEYS[2] = auth:user_session_meta:{userId},
+-- KEYS[3] = auth:user_refresh:{userId} (legacy)
+-- ARGV[1] = refresh token key prefix
+-- Returns the number of tokens deleted.
+local deleted = 0
+local batch = {}
+
+local function drop(tokens)
+    for i, token in ipairs(tokens) do
+        batch[#batch + 1] = ARGV[1] .. token
+        if #batch == 500 then
+            deleted = deleted + redis.call('DEL', unpack(batch))
+            batch = {}
+        end
+    end
+end
+
+drop(redis.call('ZRANGE', KEYS[1], 0, -1))
+drop(redis.call('SMEMBERS', KEYS[3]))
+if #batch > 0 then
+    deleted = deleted + redis.call('DEL', unpack(batch))
+end
+redis.call('DEL', KEYS[1], KEYS[2], KEYS[3])
+return deleted
@@ -0,0 +1,38 @@
+-- Consume a refresh token and issue its replacement in one step.
+-- The session (metadata) carries over to the new token.
+-- KEYS[1] = auth:refresh:{oldToken}
+-- ARGV[1] = oldToken, ARGV[2] = newToken, ARGV[3] = ttl seconds, ARGV[4] = now (ms),
+-- ARGV[5] = refresh token key prefix, ARGV[6] = session index key prefix,
+-- ARGV[7] = session metadata key prefix, ARGV[8] = legacy user set key prefix,
+-- ARGV[9] = max expired entries to prune
+-- Returns the userId, or false if the old token is unknown or expired.
+local userId = redis.call('GET', KEYS[1])
+if not userId then
+    return false
+end
+
+local now = tonumber(ARGV[4])
+local expiresAt = now + tonumber(ARGV[3]) * 1000
+local sessionsKey = ARGV[6] .. userId
+local metaKey = ARGV[7] .. userId
+local metadata = redis.call('HGET', metaKey, ARGV[1])
+
+redis.call('DEL', KEYS[1])
+redis.call('ZREM', sessionsKey, ARGV[1])
+redis.call('HDEL', metaKey, ARGV[1])
+redis.call('SREM', ARGV[8] .. userId, ARGV[1])
+
+local expired = redis.call('ZRANGEBYSCORE', sessionsKey, '-inf', now, 'LIMIT', 0, tonumber(ARGV[9]))
+if #expired > 0 then
+    redis.call('ZREM', sessionsKey, unpack(expired))
+    redis.call('HDEL', metaKey, unpack(expired))
+end
+
+redis.call('SET', ARGV[5] .. ARGV[2], userId, 'EX', ARGV[3])
+redis.call('ZADD', sessionsKey, expiresAt, ARGV[2])
+if metadata then
+    redis.call('HSET', metaKey, ARGV[2], metadata)
+end
+redis.call('PEXPIREAT', sessionsKey, expiresAt)
+redis.call('PEXPIREAT', metaKey, expiresAt)
+return userId
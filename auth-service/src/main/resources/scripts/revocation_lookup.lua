@@ -0,0 +1,15 @@
+-- Blacklist and token epoch lookups for a batch of tokens in one call.
+-- KEYS[1..n]   = auth:blacklist:{jti}
+-- KEYS[n+1..]  = auth:token_epoch:{userId}
+-- ARGV[1] = n (number of blacklist keys)
+-- Returns one entry per key: 1/0 for blacklist keys, the epoch (0 if unset) for epoch keys.
+local jtiCount = tonumber(ARGV[1])
+local result = {}
+for i, key in ipairs(KEYS) do
+    if i <= jtiCount then
+        result[i] = redis.call('EXISTS', key)
+    else
+        result[i] = tonumber(redis.call('GET', key) or '0')
+    end
+end
+return result
@@ -0,0 +1,18 @@
+-- Enforce the per-user session cap after a successful login.
+-- KEYS[1] = auth:user_sessions:{userId}, KEYS[2] = auth:user_session_meta:{userId}
+-- ARGV[1] = max sessions per user, ARGV[2] = refresh token key prefix
+-- Over the cap, the sessions closest to expiry (least recently refreshed) are dropped;
+-- the session just created expires last, so it is never one of them.
+-- Returns the number of sessions removed.
+local excess = redis.call('ZCARD', KEYS[1]) - tonumber(ARGV[1])
+if excess <= 0 then
+    return 0
+end
+
+local oldest = redis.call('ZRANGE', KEYS[1], 0, excess - 1)
+for i, token in ipairs(oldest) do
+    redis.call('DEL', ARGV[2] .. token)
+end
+redis.call('ZREM', KEYS[1], unpack(oldest))
+redis.call('HDEL', KEYS[2], unpack(oldest))
+return #oldest
@@ -0,0 +1,37 @@
+-- Compact one user's session index: drop expired entries and fold in the
+-- legacy refresh token set, if the user still has one.
+-- KEYS[1] = auth:user_sessions:{userId}, KEYS[2] = auth:user_session_meta:{userId},
+-- KEYS[3] = auth:user_refresh:{userId} (legacy)
+-- ARGV[1] = now (ms), ARGV[2] = refresh token key prefix
+-- Returns the number of entries removed.
+local now = tonumber(ARGV[1])
+local removed = 0
+
+repeat
+    local expired = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', now, 'LIMIT', 0, 500)
+    if #expired > 0 then
+        redis.call('ZREM', KEYS[1], unpack(expired))
+        redis.call('HDEL', KEYS[2], unpack(expired))
+        removed = removed + #expired
+    end
+until #expired < 500
+
+local legacy = redis.call('SMEMBERS', KEYS[3])
+for i, token in ipairs(legacy) do
+    local ttl = redis.call('PTTL', ARGV[2] .. token)
+    if ttl > 0 then
+        redis.call('ZADD', KEYS[1], 'NX', now + ttl, token)
+    else
+        removed = removed + 1
+    end
+end
+redis.call('DEL', KEYS[3])
+
+local newest = redis.call('ZRANGE', KEYS[1], -1, -1, 'WITHSCORES')
+if #newest == 0 then
+    redis.call('DEL', KEYS[1], KEYS[2])
+else
+    redis.call('PEXPIREAT', KEYS[1], newest[2])
+    redis.call('PEXPIREAT', KEYS[2], newest[2])
+end
+return removed
@@ -0,0 +1,16 @@
+-- Advance a user's token epoch and broadcast it in one call.
+-- Access tokens carrying an older epoch are rejected from then on.
+-- The epoch is the Redis time in ms (at least the previous epoch + 1), so it is
+-- above every epoch handed out before even after the key has expired; a counter
+-- would restart at 1 and let tokens minted with epoch 1 survive the next bump.
+-- KEYS[1] = auth:token_epoch:{userId}
+-- ARGV[1] = ttl (ms, at least the access token lifetime), ARGV[2] = channel,
+-- ARGV[3] = message prefix, ARGV[4] = expiry (epoch ms), ARGV[5] = userId
+-- Returns the new epoch.
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local previous = tonumber(redis.call('GET', KEYS[1])) or 0
+local epoch = string.format('%d', math.max(now, previous + 1))
+redis.call('SET', KEYS[1], epoch, 'PX', ARGV[1])
+redis.call('PUBLISH', ARGV[2], ARGV[3] .. ARGV[4] .. ':' .. ARGV[5] .. ':' .. epoch)
+return tonumber(epoch)
@@ -0,0 +1,78 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.auth_service.dto.response.AuthenticationResponse;
+import com.ecommerce.common.dto.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the login / refresh response body, ApiResponse&lt;AuthenticationResponse&gt;,
+ * written and read per second with a shared ObjectMapper.
+ *
+ * Run with:
+ * <pre>
+ * mvn -pl benchmarks -am package -DskipTests
+ * java -jar benchmarks/target/benchmarks.jar ApiResponseJsonBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseJsonBenchmark {
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private ApiResponse<AuthenticationResponse> response;
+    private String json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        TypeReference<ApiResponse<AuthenticationResponse>> type = new TypeReference<>() {};
+        ObjectMapper objectMapper = new ObjectMapper();
+        writer = objectMapper.writerFor(type);
+        reader = objectMapper.readerFor(type);
+
+        response = ApiResponse.success(AuthenticationResponse.builder()
+                // Realistic lengths: an HS256 access token and a UUID refresh token
+                .accessToken("eyJraWQiOiJ1c2VyLTEiLCJhbGciOiJIUzI1NiJ9." + "x".repeat(380) + "." + "y".repeat(43))
+                .refreshToken(UUID.randomUUID().toString())
+                .expiresIn(3600L)
+                .userId(UUID.randomUUID())
+                .email("user@example.com")
+                .fullName("Jane Doe")
+                .avatarUrl("https://cdn.example.com/avatars/user.png")
+                .role("customer")
+                .authenticated(true)
+                .build());
+        json = writer.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        return writer.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public ApiResponse<AuthenticationResponse> deserialize() throws JsonProcessingException {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,73 @@
+package com.ecommerce.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Entry point of benchmarks.jar: the JMH command line, with results written as JSON
+ * unless -rf / -rff say otherwise, so runs can be compared between releases
+ * (e.g. with https://jmh.morethan.io):
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar                       # everything
+ * java -jar benchmarks/target/benchmarks.jar UserTokenBenchmark    # one suite
+ * </pre>
+ *
+ * Results go to jmh-results/&lt;release&gt;-&lt;timestamp&gt;.json; the release is the
+ * benchmarks module version, or -Dbenchmarks.release=... when given.
+ */
+public final class BenchmarkRunner {
+
+    private static final Path RESULTS_DIR = Path.of("jmh-results");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        CommandLineOptions cmdOptions;
+        try {
+            cmdOptions = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Error parsing command line: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (cmdOptions.shouldHelp() || cmdOptions.shouldList() || cmdOptions.shouldListWithParams()
+                || cmdOptions.shouldListProfilers() || cmdOptions.shouldListResultFormats()) {
+            // Listing and help are handled by the stock JMH main
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmdOptions);
+        if (cmdOptions.getResultFormat().hasValue() || cmdOptions.getResult().hasValue()) {
+            new Runner(options.build()).run();
+            return;
+        }
+
+        Files.createDirectories(RESULTS_DIR);
+        Path result = RESULTS_DIR.resolve(release() + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        new Runner(options.resultFormat(ResultFormatType.JSON).result(result.toString()).build()).run();
+        System.out.println("Results written to " + result.toAbsolutePath());
+    }
+
+    private static String release() {
+        String release = System.getProperty("benchmarks.release");
+        if (release == null) {
+            release = BenchmarkRunner.class.getPackage().getImplementationVersion();
+        }
+        return release != null ? release : "dev";
+    }
+}
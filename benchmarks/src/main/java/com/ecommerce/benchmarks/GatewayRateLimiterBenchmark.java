@@ -0,0 +1,172 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.api_gateway.config.HybridRateLimitProperties;
+import com.ecommerce.api_gateway.ratelimit.HybridRateLimiter;
+import com.github.fppt.jedismock.RedisServer;
+import com.github.fppt.jedismock.operations.server.MockExecutor;
+import com.github.fppt.jedismock.server.ServiceOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gateway rate limiting: RedisRateLimiter (one script call per request) versus
+ * HybridRateLimiter (local buckets reconciled with Redis), against an in-process
+ * Redis (jedis-mock), with one or several gateway replicas sharing it.
+ *
+ * Requests go round-robin over {@code keys} clients and {@code replicas} limiter
+ * instances, far above the configured rate, so:
+ * - ops/s is the limiter's throughput
+ * - allowed (events/s) is the admitted rate; exact limiting gives
+ *   keys x REPLENISH_RATE, plus the initial bursts in the first iteration.
+ *   The excess of hybrid over redis is its overshoot.
+ * - roundTrips / ops = Redis round trips per decision (background syncs included)
+ *
+ * Run with:
+ * <pre>
+ * mvn -pl benchmarks -am package -DskipTests
+ * java -jar benchmarks/target/benchmarks.jar GatewayRateLimiterBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GatewayRateLimiterBenchmark {
+
+    private static final int REPLENISH_RATE = 50;
+    private static final int BURST_CAPACITY = 100;
+    private static final String ROUTE_ID = "user-service";
+
+    private static final AtomicLong COMMANDS = new AtomicLong();
+
+    @Param({"redis", "hybrid"})
+    public String mode;
+
+    @Param({"1", "3"})
+    public int replicas;
+
+    @Param({"20"})
+    public int keys;
+
+    private RedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private final List<RateLimiter<?>> limiters = new ArrayList<>();
+    private final List<GenericApplicationContext> contexts = new ArrayList<>();
+    private List<String> clientKeys;
+    private long sequence;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Decisions {
+        public long allowed;
+        public long denied;
+        public long roundTrips;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = RedisServer.newRedisServer()
+                .setOptions(ServiceOptions.withInterceptor((state, command, params) -> {
+                    COMMANDS.incrementAndGet();
+                    return MockExecutor.proceed(state, command, params);
+                }))
+                .start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(server.getHost(), server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        ReactiveStringRedisTemplate redisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+
+        for (int i = 0; i < replicas; i++) {
+            limiters.add("hybrid".equals(mode)
+                    ? new HybridRateLimiter(REPLENISH_RATE, BURST_CAPACITY, 1, new HybridRateLimitProperties(),
+                            redisTemplate, new SimpleMeterRegistry())
+                    : redisRateLimiter(redisTemplate));
+        }
+
+        clientKeys = new ArrayList<>(keys);
+        for (int i = 0; i < keys; i++) {
+            clientKeys.add("user:" + i);
+        }
+    }
+
+    /**
+     * RedisRateLimiter looks up its template and script in the application context
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private RedisRateLimiter redisRateLimiter(ReactiveStringRedisTemplate redisTemplate) {
+        DefaultRedisScript script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource("META-INF/scripts/request_rate_limiter.lua")));
+        script.setResultType(List.class);
+
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(ReactiveStringRedisTemplate.class, () -> redisTemplate);
+        context.registerBean("redisRequestRateLimiterScript", RedisScript.class, () -> script);
+        context.refresh();
+        contexts.add(context);
+
+        RedisRateLimiter limiter = new RedisRateLimiter(REPLENISH_RATE, BURST_CAPACITY, 1);
+        limiter.setApplicationContext(context);
+        return limiter;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        for (RateLimiter<?> limiter : limiters) {
+            if (limiter instanceof HybridRateLimiter hybrid) {
+                hybrid.destroy();
+            }
+        }
+        contexts.forEach(GenericApplicationContext::close);
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    @Benchmark
+    public boolean isAllowed(Decisions decisions) {
+        long before = COMMANDS.get();
+        long n = sequence++;
+        RateLimiter<?> limiter = limiters.get((int) (n % replicas));
+        String key = clientKeys.get((int) ((n / replicas) % keys));
+
+        boolean allowed = limiter.isAllowed(ROUTE_ID, key).block().isAllowed();
+        if (allowed) {
+            decisions.allowed++;
+        } else {
+            decisions.denied++;
+        }
+        decisions.roundTrips += COMMANDS.get() - before;
+        return allowed;
+    }
+}
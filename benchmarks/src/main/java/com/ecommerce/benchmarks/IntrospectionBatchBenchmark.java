@@ -0,0 +1,180 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.auth_service.config.IntrospectionConfig;
+import com.ecommerce.auth_service.config.ServiceTokenIssuanceConfig;
+import com.ecommerce.auth_service.config.ServiceVaultConfig;
+import com.ecommerce.auth_service.config.SessionIndexConfig;
+import com.ecommerce.auth_service.config.TokenRevocationConfig;
+import com.ecommerce.auth_service.config.VaultConfig;
+import com.ecommerce.auth_service.security.ServiceCredentialRegistry;
+import com.ecommerce.auth_service.security.TokenEpochValidator;
+import com.ecommerce.auth_service.security.TokenKeyRings;
+import com.ecommerce.auth_service.service.AccessTokenRevocationCache;
+import com.ecommerce.auth_service.service.ServiceTokenService;
+import com.ecommerce.auth_service.service.TokenIntrospectionService;
+import com.ecommerce.auth_service.service.TokenRedisService;
+import com.github.fppt.jedismock.RedisServer;
+import com.github.fppt.jedismock.operations.server.MockExecutor;
+import com.github.fppt.jedismock.server.ServiceOptions;
+import com.nimbusds.jose.JOSEException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Validating a batch of user access tokens: one introspection per token (the
+ * /auth/introspect path) versus TokenIntrospectionService (/auth/introspect/batch),
+ * against an in-process Redis (jedis-mock).
+ *
+ * The revocation cache is not started, so every lookup goes to Redis, as on an
+ * instance whose local copy is not (yet) trusted. One op is one whole batch;
+ * roundTrips / ops = Redis round trips per batch.
+ *
+ * Run with:
+ * <pre>
+ * mvn -pl benchmarks -am package -DskipTests
+ * java -jar benchmarks/target/benchmarks.jar IntrospectionBatchBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntrospectionBatchBenchmark {
+
+    private static final String SIGNER_KEY = "benchmark-signer-key-0123456789abcdef0123456789abcdef";
+    private static final String SERVICE_KEY = "benchmark-service-key-0123456789abcdef0123456789abcde";
+
+    private static final AtomicLong COMMANDS = new AtomicLong();
+
+    @Param({"10", "50"})
+    public int batchSize;
+
+    private RedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private TokenKeyRings keyRings;
+    private AccessTokenRevocationCache revocationCache;
+    private TokenIntrospectionService introspectionService;
+    private List<String> tokens;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class RoundTrips {
+        public long roundTrips;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, JOSEException {
+        server = RedisServer.newRedisServer()
+                .setOptions(ServiceOptions.withInterceptor((state, command, params) -> {
+                    COMMANDS.incrementAndGet();
+                    return MockExecutor.proceed(state, command, params);
+                }))
+                .start();
+
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(server.getHost(), server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        StringRedisTemplate redis = new StringRedisTemplate(connectionFactory);
+
+        VaultConfig vaultConfig = new VaultConfig();
+        vaultConfig.setSignerKey(SIGNER_KEY);
+        ServiceVaultConfig serviceVaultConfig = new ServiceVaultConfig();
+        serviceVaultConfig.setJwtKey(SERVICE_KEY);
+        keyRings = new TokenKeyRings(vaultConfig, serviceVaultConfig);
+        keyRings.init();
+
+        TokenRevocationConfig revocationConfig = new TokenRevocationConfig();
+        TokenRedisService tokenRedisService =
+                new TokenRedisService(redis, revocationConfig, new SessionIndexConfig());
+        revocationCache = new AccessTokenRevocationCache(tokenRedisService, null, revocationConfig);
+        introspectionService = new TokenIntrospectionService(keyRings, revocationCache,
+                new ServiceTokenService(serviceVaultConfig, keyRings,
+                        new ServiceCredentialRegistry(serviceVaultConfig), new ServiceTokenIssuanceConfig(),
+                        new SimpleMeterRegistry()), new IntrospectionConfig());
+
+        tokens = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            tokens.add(keyRings.userTokens().sign(new JWTClaimsSet.Builder()
+                    .subject("user" + i + "@example.com")
+                    .issuer("com.ecommerce")
+                    .jwtID(UUID.randomUUID().toString())
+                    .issueTime(new Date())
+                    .expirationTime(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                    .claim("userId", UUID.randomUUID().toString())
+                    .claim("role", "USER")
+                    .claim(TokenEpochValidator.EPOCH_CLAIM, 0L)
+                    .build()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    /**
+     * What N calls to /auth/introspect do: verify, then blacklist and epoch lookups per token.
+     */
+    @Benchmark
+    public int singleCalls(RoundTrips counters) throws ParseException, JOSEException {
+        long before = COMMANDS.get();
+        int valid = 0;
+        for (String token : tokens) {
+            SignedJWT signedJWT = SignedJWT.parse(token);
+            JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+            if (!keyRings.userTokens().verify(signedJWT) || !claims.getExpirationTime().after(new Date())) {
+                continue;
+            }
+            if (revocationCache.isRevoked(claims.getJWTID())) {
+                continue;
+            }
+            UUID userId = UUID.fromString(claims.getStringClaim("userId"));
+            if (!revocationCache.isEpochRevoked(userId, claims.getLongClaim(TokenEpochValidator.EPOCH_CLAIM))) {
+                valid++;
+            }
+        }
+        counters.roundTrips += COMMANDS.get() - before;
+        return valid;
+    }
+
+    @Benchmark
+    public List<Boolean> batch(RoundTrips counters) {
+        long before = COMMANDS.get();
+        List<Boolean> result = introspectionService.introspectUserTokens(tokens);
+        counters.roundTrips += COMMANDS.get() - before;
+        return result;
+    }
+}
@@ -0,0 +1,205 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.auth_service.config.SessionIndexConfig;
+import com.ecommerce.auth_service.config.TokenRevocationConfig;
+import com.ecommerce.auth_service.service.TokenRedisService;
+import com.github.fppt.jedismock.RedisServer;
+import com.github.fppt.jedismock.operations.server.MockExecutor;
+import com.github.fppt.jedismock.server.ServiceOptions;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Refresh token operations: the previous multi-command sequences versus the
+ * Lua scripts in TokenRedisService, against an in-process Redis (jedis-mock).
+ *
+ * The roundTrips counter counts commands received by the server, so
+ * roundTrips / ops = round trips per operation. Commands issued inside a
+ * script do not count, as on a real Redis.
+ *
+ * Run with:
+ * <pre>
+ * mvn -pl benchmarks -am package -DskipTests
+ * java -jar benchmarks/target/benchmarks.jar RefreshTokenScriptBenchmark -bm avgt -tu us
+ * </pre>
+ * Against an in-process server this measures client and command overhead only;
+ * on a network the saved round trips dominate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RefreshTokenScriptBenchmark {
+
+    private static final String REFRESH_TOKEN_PREFIX = "auth:refresh:";
+    private static final String USER_REFRESH_PREFIX = "auth:user_refresh:";
+    private static final Duration REFRESH_TOKEN_TTL = Duration.ofDays(7);
+
+    private static final AtomicLong COMMANDS = new AtomicLong();
+
+    @Param({"1", "10"})
+    public int devices;
+
+    private RedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redis;
+    private TokenRedisService tokenRedisService;
+    private UUID userId;
+    private String legacyToken;
+    private String scriptedToken;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class RoundTrips {
+        public long roundTrips;
+    }
+
+    @Setup(Level.Trial)
+    public void startRedis() throws IOException {
+        server = RedisServer.newRedisServer()
+                .setOptions(ServiceOptions.withInterceptor((state, command, params) -> {
+                    COMMANDS.incrementAndGet();
+                    return MockExecutor.proceed(state, command, params);
+                }))
+                .start();
+
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(server.getHost(), server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        redis = new StringRedisTemplate(connectionFactory);
+        tokenRedisService = new TokenRedisService(redis, new TokenRevocationConfig(), new SessionIndexConfig());
+        userId = UUID.randomUUID();
+    }
+
+    @Setup(Level.Iteration)
+    public void seedTokens() {
+        redis.getConnectionFactory().getConnection().serverCommands().flushAll();
+        legacyToken = legacyCreate(userId);
+        scriptedToken = tokenRedisService.createRefreshToken(userId, "127.0.0.1", "jmh");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    // ==================== REFRESH (rotate) ====================
+
+    @Benchmark
+    public String refreshLegacy(RoundTrips counters) {
+        long before = COMMANDS.get();
+        // validate -> invalidate -> create, as AuthenticationService.refreshToken used to do
+        String userIdValue = redis.opsForValue().get(REFRESH_TOKEN_PREFIX + legacyToken);
+        legacyInvalidate(legacyToken);
+        legacyToken = legacyCreate(UUID.fromString(userIdValue));
+        counters.roundTrips += COMMANDS.get() - before;
+        return legacyToken;
+    }
+
+    @Benchmark
+    public String refreshScripted(RoundTrips counters) {
+        long before = COMMANDS.get();
+        scriptedToken = tokenRedisService.rotateRefreshToken(scriptedToken).refreshToken();
+        counters.roundTrips += COMMANDS.get() - before;
+        return scriptedToken;
+    }
+
+    // ==================== LOGOUT ALL DEVICES ====================
+
+    /**
+     * Gives the user {@code devices} refresh tokens before each logout-all call,
+     * outside the measured time.
+     */
+    @State(Scope.Thread)
+    public static class SeededDevices {
+
+        @Setup(Level.Invocation)
+        public void seed(RefreshTokenScriptBenchmark benchmark) {
+            for (int i = 0; i < benchmark.devices; i++) {
+                benchmark.tokenRedisService.createRefreshToken(benchmark.userId, "127.0.0.1", "jmh");
+            }
+        }
+    }
+
+    /**
+     * Same as {@link SeededDevices}, with tokens created the previous way.
+     */
+    @State(Scope.Thread)
+    public static class SeededLegacyDevices {
+
+        @Setup(Level.Invocation)
+        public void seed(RefreshTokenScriptBenchmark benchmark) {
+            for (int i = 0; i < benchmark.devices; i++) {
+                benchmark.legacyCreate(benchmark.userId);
+            }
+        }
+    }
+
+    @Benchmark
+    public void logoutAllLegacy(SeededLegacyDevices seeded, RoundTrips counters) {
+        long before = COMMANDS.get();
+        String userKey = USER_REFRESH_PREFIX + userId;
+        Set<String> tokens = redis.opsForSet().members(userKey);
+        if (tokens != null) {
+            for (String token : tokens) {
+                redis.delete(REFRESH_TOKEN_PREFIX + token);
+            }
+        }
+        redis.delete(userKey);
+        counters.roundTrips += COMMANDS.get() - before;
+    }
+
+    @Benchmark
+    public void logoutAllScripted(SeededDevices seeded, RoundTrips counters) {
+        long before = COMMANDS.get();
+        tokenRedisService.invalidateAllRefreshTokens(userId);
+        counters.roundTrips += COMMANDS.get() - before;
+    }
+
+    // ==================== PREVIOUS IMPLEMENTATION ====================
+
+    private String legacyCreate(UUID user) {
+        String refreshToken = UUID.randomUUID().toString();
+        String userKey = USER_REFRESH_PREFIX + user;
+        redis.opsForValue().set(REFRESH_TOKEN_PREFIX + refreshToken, user.toString(), REFRESH_TOKEN_TTL);
+        redis.opsForSet().add(userKey, refreshToken);
+        redis.expire(userKey, REFRESH_TOKEN_TTL);
+        return refreshToken;
+    }
+
+    private void legacyInvalidate(String refreshToken) {
+        String tokenKey = REFRESH_TOKEN_PREFIX + refreshToken;
+        String user = redis.opsForValue().get(tokenKey);
+        if (user != null) {
+            redis.opsForSet().remove(USER_REFRESH_PREFIX + user, refreshToken);
+        }
+        redis.delete(tokenKey);
+    }
+}
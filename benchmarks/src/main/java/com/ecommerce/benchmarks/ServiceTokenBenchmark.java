@@ -0,0 +1,95 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.auth_service.config.ServiceTokenIssuanceConfig;
+import com.ecommerce.auth_service.config.ServiceVaultConfig;
+import com.ecommerce.auth_service.config.VaultConfig;
+import com.ecommerce.auth_service.dto.request.ServiceTokenRequest;
+import com.ecommerce.auth_service.security.ServiceCredentialRegistry;
+import com.ecommerce.auth_service.security.TokenKeyRings;
+import com.ecommerce.auth_service.service.ServiceTokenService;
+import com.nimbusds.jose.JOSEException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service tokens per second through ServiceTokenService: issuing (credential check,
+ * then a reused or newly signed token) and validating a token presented by a caller.
+ *
+ * Run with:
+ * <pre>
+ * mvn -pl benchmarks -am package -DskipTests
+ * java -jar benchmarks/target/benchmarks.jar ServiceTokenBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceTokenBenchmark {
+
+    private static final String SIGNER_KEY = "benchmark-signer-key-0123456789abcdef0123456789abcdef";
+    private static final String SERVICE_KEY = "benchmark-service-key-0123456789abcdef0123456789abcde";
+    private static final String CLIENT_ID = "order-service-client";
+    private static final String CLIENT_SECRET = "order-service-secret";
+
+    /**
+     * auth.service-token.reuse-enabled
+     */
+    @Param({"true", "false"})
+    public boolean reuse;
+
+    private ServiceTokenService serviceTokenService;
+    private ServiceTokenRequest request;
+    private String token;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        VaultConfig vaultConfig = new VaultConfig();
+        vaultConfig.setSignerKey(SIGNER_KEY);
+        ServiceVaultConfig serviceVaultConfig = new ServiceVaultConfig();
+        serviceVaultConfig.setJwtKey(SERVICE_KEY);
+        ServiceVaultConfig.ClientCredentials credentials = new ServiceVaultConfig.ClientCredentials();
+        credentials.setClientSecret(CLIENT_SECRET);
+        credentials.setServiceName("order-service");
+        serviceVaultConfig.getCredentials().put(CLIENT_ID, credentials);
+
+        TokenKeyRings keyRings = new TokenKeyRings(vaultConfig, serviceVaultConfig);
+        keyRings.init();
+        ServiceCredentialRegistry registry = new ServiceCredentialRegistry(serviceVaultConfig);
+        registry.init();
+        ServiceTokenIssuanceConfig issuanceConfig = new ServiceTokenIssuanceConfig();
+        issuanceConfig.setReuseEnabled(reuse);
+
+        serviceTokenService = new ServiceTokenService(serviceVaultConfig, keyRings, registry, issuanceConfig,
+                new SimpleMeterRegistry());
+        request = new ServiceTokenRequest(CLIENT_ID, CLIENT_SECRET);
+        token = serviceTokenService.generateServiceToken(request).getAccessToken();
+        if (serviceTokenService.validateToken(token) == null) {
+            throw new IllegalStateException("Benchmark token does not validate");
+        }
+    }
+
+    @Benchmark
+    public String issueToken() {
+        return serviceTokenService.generateServiceToken(request).getAccessToken();
+    }
+
+    @Benchmark
+    public ServiceTokenService.ServiceTokenInfo validateToken() {
+        return serviceTokenService.validateToken(token);
+    }
+}
@@ -0,0 +1,100 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.auth_service.security.JwsKeyRing;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens signed / verified per second: a new MACSigner/MACVerifier per call
+ * (the previous implementation) versus the pre-initialized JwsKeyRing.
+ *
+ * Run with:
+ * <pre>
+ * mvn -pl benchmarks -am package -DskipTests
+ * java -jar benchmarks/target/benchmarks.jar TokenSigningBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenSigningBenchmark {
+
+    private static final String SIGNER_KEY = "benchmark-signer-key-0123456789abcdef0123456789abcdef";
+    private static final String PREVIOUS_KEY = "benchmark-previous-key-0123456789abcdef0123456789abcd";
+
+    private JwsKeyRing keyRing;
+    private JWTClaimsSet claims;
+    private String legacyToken;
+    private String keyRingToken;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        keyRing = new JwsKeyRing("benchmark");
+        keyRing.rotate(SIGNER_KEY, List.of(PREVIOUS_KEY), Duration.ofHours(1));
+
+        claims = new JWTClaimsSet.Builder()
+                .subject("user@example.com")
+                .issuer("com.ecommerce")
+                .jwtID(UUID.randomUUID().toString())
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                .claim("userId", UUID.randomUUID().toString())
+                .claim("email", "user@example.com")
+                .claim("role", "USER")
+                .claim("scope", "USER")
+                .build();
+
+        legacyToken = signLegacy();
+        keyRingToken = keyRing.sign(claims);
+    }
+
+    @Benchmark
+    public String signLegacy() throws JOSEException {
+        JWSObject jwsObject = new JWSObject(new JWSHeader(JWSAlgorithm.HS256), new Payload(claims.toJSONObject()));
+        jwsObject.sign(new MACSigner(SIGNER_KEY.getBytes()));
+        return jwsObject.serialize();
+    }
+
+    @Benchmark
+    public String signKeyRing() throws JOSEException {
+        return keyRing.sign(claims);
+    }
+
+    @Benchmark
+    public boolean verifyLegacy() throws JOSEException, ParseException {
+        return SignedJWT.parse(legacyToken).verify(new MACVerifier(SIGNER_KEY.getBytes()));
+    }
+
+    @Benchmark
+    public boolean verifyKeyRing() throws JOSEException, ParseException {
+        return keyRing.verify(SignedJWT.parse(keyRingToken));
+    }
+}
@@ -0,0 +1,130 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.auth_service.config.ServiceVaultConfig;
+import com.ecommerce.auth_service.config.SessionIndexConfig;
+import com.ecommerce.auth_service.config.TokenRevocationConfig;
+import com.ecommerce.auth_service.config.VaultConfig;
+import com.ecommerce.auth_service.dto.request.IntrospectRequest;
+import com.ecommerce.auth_service.entity.UserCredential;
+import com.ecommerce.auth_service.entity.UserRole;
+import com.ecommerce.auth_service.security.TokenKeyRings;
+import com.ecommerce.auth_service.service.AccessTokenRevocationCache;
+import com.ecommerce.auth_service.service.AuthenticationService;
+import com.ecommerce.auth_service.service.TokenRedisService;
+import com.github.fppt.jedismock.RedisServer;
+import com.nimbusds.jose.JOSEException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.text.ParseException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User access tokens issued and verified per second through AuthenticationService:
+ * generateToken (the login / refresh path) and introspect (verifyToken: signature,
+ * expiry, blacklist and epoch checks), against an in-process Redis (jedis-mock).
+ *
+ * The revocation cache is not started, so the epoch and blacklist lookups go to
+ * Redis, as on an instance whose local copy is not (yet) trusted. Only the
+ * collaborators these two paths use are wired; the rest are null.
+ *
+ * Run with:
+ * <pre>
+ * mvn -pl benchmarks -am package -DskipTests
+ * java -jar benchmarks/target/benchmarks.jar UserTokenBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserTokenBenchmark {
+
+    private static final String SIGNER_KEY = "benchmark-signer-key-0123456789abcdef0123456789abcdef";
+    private static final String SERVICE_KEY = "benchmark-service-key-0123456789abcdef0123456789abcde";
+
+    private RedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private AuthenticationService authenticationService;
+    private MethodHandle generateToken;
+    private UserCredential credential;
+    private IntrospectRequest introspectRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        server = RedisServer.newRedisServer().start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(server.getHost(), server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        StringRedisTemplate redis = new StringRedisTemplate(connectionFactory);
+
+        VaultConfig vaultConfig = new VaultConfig();
+        vaultConfig.setSignerKey(SIGNER_KEY);
+        ServiceVaultConfig serviceVaultConfig = new ServiceVaultConfig();
+        serviceVaultConfig.setJwtKey(SERVICE_KEY);
+        TokenKeyRings keyRings = new TokenKeyRings(vaultConfig, serviceVaultConfig);
+        keyRings.init();
+
+        TokenRevocationConfig revocationConfig = new TokenRevocationConfig();
+        TokenRedisService tokenRedisService = new TokenRedisService(redis, revocationConfig, new SessionIndexConfig());
+        AccessTokenRevocationCache revocationCache =
+                new AccessTokenRevocationCache(tokenRedisService, null, revocationConfig);
+
+        authenticationService = new AuthenticationService(null, null, vaultConfig, tokenRedisService, null,
+                revocationCache, keyRings, null, new SimpleMeterRegistry(), null, null, null, null, null);
+
+        // generateToken is private; a method handle adds next to nothing per call
+        generateToken = MethodHandles.privateLookupIn(AuthenticationService.class, MethodHandles.lookup())
+                .findVirtual(AuthenticationService.class, "generateToken",
+                        MethodType.methodType(String.class, UserCredential.class));
+
+        credential = UserCredential.builder()
+                .id(UUID.randomUUID())
+                .email("user@example.com")
+                .role(UserRole.customer)
+                .build();
+        introspectRequest = new IntrospectRequest();
+        introspectRequest.setToken(generateToken());
+        if (!authenticationService.introspect(introspectRequest).isValid()) {
+            throw new IllegalStateException("Benchmark token does not verify");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    @Benchmark
+    public String generateToken() throws Throwable {
+        return (String) generateToken.invokeExact(authenticationService, credential);
+    }
+
+    @Benchmark
+    public boolean verifyToken() throws JOSEException, ParseException {
+        return authenticationService.introspect(introspectRequest).isValid();
+    }
+}
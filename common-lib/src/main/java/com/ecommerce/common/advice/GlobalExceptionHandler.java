@@ -4,6 +4,8 @@ import com.ecommerce.common.dto.ApiResponse;
 import com.ecommerce.common.exception.AppException;
 import com.ecommerce.common.exception.ErrorCode;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -16,6 +18,8 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     /**
      * Handle custom business exceptions (AppException)
      */
@@ -29,6 +33,13 @@ public class GlobalExceptionHandler {
                 .message(errorCode.getMessage())
                 .build();
 
+        if (errorCode.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE) {
+            // Overload errors are transient, tell clients when to retry
+            return ResponseEntity.status(errorCode.getStatusCode())
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(apiResponse);
+        }
+
         return ResponseEntity.status(errorCode.getStatusCode()).body(apiResponse);
     }
 
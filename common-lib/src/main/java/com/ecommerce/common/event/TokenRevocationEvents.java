@@ -0,0 +1,21 @@
+package com.ecommerce.common.event;
+
+/**
+ * Redis contract for auth-service's per-user token epochs.
+ *
+ * auth:token_epoch:{userId} holds the user's current epoch (absent = 0) and expires
+ * once no older token can still be valid. Every access token carries the epoch it was
+ * minted with in EPOCH_CLAIM; a lower value than the current one means the token was
+ * revoked by a revoke-all (logout from all devices, password reset). Each bump is
+ * published on REVOCATIONS_CHANNEL as "epoch:&lt;expiresAtMillis&gt;:&lt;userId&gt;:&lt;epoch&gt;".
+ */
+public final class TokenRevocationEvents {
+
+    public static final String REVOCATIONS_CHANNEL = "auth:revocations";
+    public static final String TOKEN_EPOCH_PREFIX = "auth:token_epoch:";
+    public static final String EPOCH_MESSAGE_PREFIX = "epoch:";
+    public static final String EPOCH_CLAIM = "epoch";
+
+    private TokenRevocationEvents() {
+    }
+}
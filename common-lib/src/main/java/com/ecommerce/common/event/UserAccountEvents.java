@@ -0,0 +1,30 @@
+package com.ecommerce.common.event;
+
+/**
+ * Redis stream contract for user account events.
+ *
+ * auth-service relays rows from its outbox table onto STREAM_KEY; each entry carries
+ * the event id, the event type and the JSON payload. Consumers read through a consumer
+ * group and must tolerate redelivery (the relay is at-least-once). Entries a consumer
+ * gives up on are copied to DEAD_LETTER_STREAM_KEY with FIELD_SOURCE_ID and
+ * FIELD_DELIVERIES added.
+ */
+public final class UserAccountEvents {
+
+    public static final String STREAM_KEY = "user:account:events";
+    public static final String DEAD_LETTER_STREAM_KEY = "user:account:events:dead";
+
+    public static final String FIELD_EVENT_ID = "eventId";
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_PAYLOAD = "payload";
+    public static final String FIELD_SOURCE_ID = "sourceId";
+    public static final String FIELD_DELIVERIES = "deliveries";
+
+    /**
+     * Payload: {@link UserRegisteredEvent}
+     */
+    public static final String USER_REGISTERED = "UserRegistered";
+
+    private UserAccountEvents() {
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.common.event;
+
+/**
+ * Redis pub/sub contract for user profile changes.
+ *
+ * user-service publishes the userId on PROFILE_CHANGED_CHANNEL after a profile
+ * is created, updated or deleted; auth-service evicts its profile snapshot.
+ */
+public final class UserProfileEvents {
+
+    public static final String PROFILE_CHANGED_CHANNEL = "user:profile:changed";
+
+    private UserProfileEvents() {
+    }
+}
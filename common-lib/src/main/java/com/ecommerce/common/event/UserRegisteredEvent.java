@@ -0,0 +1,24 @@
+package com.ecommerce.common.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Payload of {@link UserAccountEvents#USER_REGISTERED}: a credential was created
+ * and the user's profile should exist in user-service.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRegisteredEvent {
+
+    private UUID userId;
+    private String email;
+    private String fullName;
+    private String phoneNumber;
+}
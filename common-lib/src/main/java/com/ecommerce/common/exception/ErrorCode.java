@@ -8,6 +8,7 @@ public enum ErrorCode {
         // System errors (9xxx)
         UNCATEGORIZED_EXCEPTION(9999, "Uncategorized error", HttpStatus.INTERNAL_SERVER_ERROR),
         INVALID_KEY(9998, "Invalid error key", HttpStatus.BAD_REQUEST),
+        SERVER_BUSY(9997, "Server is busy, please retry shortly", HttpStatus.SERVICE_UNAVAILABLE),
 
         // Validation errors - Generic (1000-1099)
         VALIDATION_ERROR(1000, "Validation error", HttpStatus.BAD_REQUEST),
@@ -38,11 +39,14 @@ public enum ErrorCode {
         TOKEN_REQUIRED(1180, "Token is required", HttpStatus.BAD_REQUEST),
         TOKEN_INVALID(1181, "Token is invalid", HttpStatus.BAD_REQUEST),
         TOKEN_EXPIRED(1182, "Token has expired", HttpStatus.UNAUTHORIZED),
+        TOO_MANY_TOKENS(1183, "Too many tokens in one request", HttpStatus.BAD_REQUEST),
 
         // Business errors - User (1200-1299)
         USER_EXISTED(1200, "User already exists", HttpStatus.CONFLICT),
         USER_NOT_EXISTED(1201, "User not found", HttpStatus.NOT_FOUND),
         USER_CREATION_FAILED(1202, "Failed to create user profile", HttpStatus.INTERNAL_SERVER_ERROR),
+        IMPORT_FORMAT_INVALID(1203, "Unsupported or unreadable user import file", HttpStatus.BAD_REQUEST),
+        IMPORT_IN_PROGRESS(1204, "An import with this id is already running", HttpStatus.CONFLICT),
         
         // Business errors - Address (1250-1269)
         ADDRESS_NOT_FOUND(1250, "Address not found", HttpStatus.NOT_FOUND),
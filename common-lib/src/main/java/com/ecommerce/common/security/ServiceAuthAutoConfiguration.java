@@ -1,6 +1,9 @@
 package com.ecommerce.common.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -22,6 +25,7 @@ import org.springframework.web.client.RestTemplate;
  * - ServiceAuthClient - Client for obtaining service tokens
  * - FeignServiceAuthInterceptor - Interceptor for Feign clients (if Feign is present)
  * - ServiceAuthFilter - Filter for validating incoming service requests
+ *   (locally with service.auth.jwt-key when service.auth.validation-mode=local)
  */
 @Slf4j
 @AutoConfiguration
@@ -44,9 +48,12 @@ public class ServiceAuthAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean(ServiceAuthClient.class)
     public ServiceAuthClient serviceAuthClient(ServiceAuthProperties properties,
-                                                RestTemplate serviceAuthRestTemplate) {
-        log.info("Configuring ServiceAuthClient for service: {}", properties.getClientId());
-        return new ServiceAuthClient(properties, serviceAuthRestTemplate);
+                                                RestTemplate serviceAuthRestTemplate,
+                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        log.info("Configuring ServiceAuthClient for service: {} (token refresh: {})",
+                properties.getClientId(), properties.getTokenRefresh().getMode());
+        return new ServiceAuthClient(properties, serviceAuthRestTemplate,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
     }
 
     /**
@@ -55,9 +62,12 @@ public class ServiceAuthAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean(ServiceAuthFilter.class)
     public ServiceAuthFilter serviceAuthFilter(ServiceAuthProperties properties,
-                                                RestTemplate serviceAuthRestTemplate) {
-        log.info("Configuring ServiceAuthFilter");
-        return new ServiceAuthFilter(properties, serviceAuthRestTemplate);
+                                                RestTemplate serviceAuthRestTemplate,
+                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        log.info("Configuring ServiceAuthFilter (validation mode: {}, remote fallback: {})",
+                properties.getValidationMode(), properties.isRemoteFallback());
+        return new ServiceAuthFilter(properties, serviceAuthRestTemplate,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
     }
 
     /**
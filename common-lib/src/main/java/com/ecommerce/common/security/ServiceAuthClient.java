@@ -2,13 +2,25 @@ package com.ecommerce.common.security;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -17,7 +29,13 @@ import java.util.concurrent.locks.ReentrantLock;
  * This client handles:
  * - Requesting tokens from auth-service
  * - Caching tokens to avoid repeated requests
- * - Automatically refreshing tokens before expiration
+ * - Refreshing tokens in the background ahead of expiry (service.auth.token-refresh),
+ *   so callers only block when there is no unexpired token at all
+ * - Retrying failed background refreshes with exponential backoff
+ * 
+ * Metrics:
+ * - service.auth.token.remaining - remaining lifetime of the cached token in seconds
+ * - service.auth.token.sync.refresh - callers that had to wait for a token
  * 
  * Usage:
  * <pre>
@@ -28,6 +46,10 @@ import java.util.concurrent.locks.ReentrantLock;
 @Slf4j
 public class ServiceAuthClient {
 
+    private static final String REMAINING_METRIC = "service.auth.token.remaining";
+    private static final String SYNC_REFRESH_METRIC = "service.auth.token.sync.refresh";
+    private static final int MAX_BACKOFF_SHIFT = 20;
+
     private final ServiceAuthProperties properties;
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
@@ -36,20 +58,45 @@ public class ServiceAuthClient {
     private volatile ServiceTokenInfo cachedToken;
     private final ReentrantLock tokenLock = new ReentrantLock();
 
+    // Background refresh on a single daemon thread
+    private final ScheduledExecutorService refreshScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "service-token-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean refreshInFlight = new AtomicBoolean();
+    // Guarded by tokenLock
+    private ScheduledFuture<?> scheduledRefresh;
+    private int failedRefreshes;
+
+    private final Counter syncRefreshCounter;
+
     public ServiceAuthClient(ServiceAuthProperties properties) {
-        this.properties = properties;
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+        this(properties, new RestTemplate());
     }
 
     public ServiceAuthClient(ServiceAuthProperties properties, RestTemplate restTemplate) {
+        this(properties, restTemplate, Metrics.globalRegistry);
+    }
+
+    public ServiceAuthClient(ServiceAuthProperties properties, RestTemplate restTemplate,
+                             MeterRegistry meterRegistry) {
         this.properties = properties;
         this.restTemplate = restTemplate;
         this.objectMapper = new ObjectMapper();
+        this.syncRefreshCounter = Counter.builder(SYNC_REFRESH_METRIC)
+                .description("Token requests that blocked because no unexpired token was cached")
+                .register(meterRegistry);
+        Gauge.builder(REMAINING_METRIC, this, ServiceAuthClient::remainingSeconds)
+                .description("Remaining lifetime of the cached service token")
+                .baseUnit("seconds")
+                .register(meterRegistry);
     }
 
     /**
      * Get a valid service token, refreshing if necessary.
+     * A cached token is returned until it actually expires; refreshes ahead of
+     * that run in the background. Only a missing or expired token blocks the caller.
      * 
      * @return JWT token string
      * @throws ServiceAuthException if unable to obtain token
@@ -60,11 +107,17 @@ public class ServiceAuthClient {
         }
         
         // Check if we have a valid cached token
-        if (cachedToken != null && !cachedToken.shouldRefresh(properties.getRefreshThresholdSeconds())) {
-            return cachedToken.getToken();
+        ServiceTokenInfo current = cachedToken;
+        if (current != null && !current.isExpired()) {
+            if (properties.getTokenRefresh().getMode() == ServiceAuthProperties.RefreshMode.ON_DEMAND
+                    && current.shouldRefresh(properties.getRefreshThresholdSeconds())) {
+                refreshAhead();
+            }
+            return current.getToken();
         }
         
-        // Need to refresh token
+        // No usable token, the caller has to wait for one
+        syncRefreshCounter.increment();
         return refreshToken();
     }
 
@@ -79,6 +132,114 @@ public class ServiceAuthClient {
                 return cachedToken.getToken();
             }
             
+            return requestToken();
+        } finally {
+            tokenLock.unlock();
+        }
+    }
+
+    // ==================== BACKGROUND REFRESH ====================
+
+    /**
+     * ON_DEMAND mode: start a background refresh unless one is already running.
+     */
+    private void refreshAhead() {
+        if (!refreshInFlight.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshScheduler.execute(() -> {
+                try {
+                    refreshToken();
+                } catch (ServiceAuthException e) {
+                    // The current token stays in use; the next caller retries
+                    log.warn("Background service token refresh failed: {}", e.getMessage());
+                } finally {
+                    refreshInFlight.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshInFlight.set(false);
+        }
+    }
+
+    /**
+     * SCHEDULED mode: replace the cached token whatever its remaining lifetime,
+     * retrying with backoff on failure. Callers keep using the current token meanwhile.
+     */
+    private void runScheduledRefresh() {
+        tokenLock.lock();
+        try {
+            requestToken();
+        } catch (ServiceAuthException e) {
+            long backoffMs = nextBackoffMs();
+            log.warn("Scheduled service token refresh failed, retrying in {} ms: {}", backoffMs, e.getMessage());
+            scheduleRefresh(backoffMs);
+        } finally {
+            tokenLock.unlock();
+        }
+    }
+
+    /**
+     * Called with tokenLock held after a new token is cached.
+     */
+    private void onTokenRefreshed(ServiceTokenInfo token) {
+        failedRefreshes = 0;
+        if (properties.getTokenRefresh().getMode() == ServiceAuthProperties.RefreshMode.SCHEDULED) {
+            scheduleRefresh(refreshDelayMs(token));
+        }
+    }
+
+    /**
+     * Delay until the next refresh: the refresh threshold before expiry, pulled
+     * earlier by a random share of jitter-ratio * threshold.
+     */
+    private long refreshDelayMs(ServiceTokenInfo token) {
+        ServiceAuthProperties.TokenRefresh refresh = properties.getTokenRefresh();
+        long remainingMs = Duration.between(Instant.now(), token.getExpiresAt()).toMillis();
+        double jitter = ThreadLocalRandom.current().nextDouble() * refresh.getJitterRatio();
+        long leadMs = (long) (properties.getRefreshThresholdSeconds() * 1000 * (1 + jitter));
+        return Math.max(remainingMs - leadMs, refresh.getInitialBackoffMs());
+    }
+
+    /**
+     * Exponential backoff with jitter in [delay / 2, delay].
+     */
+    private long nextBackoffMs() {
+        ServiceAuthProperties.TokenRefresh refresh = properties.getTokenRefresh();
+        int shift = Math.min(failedRefreshes++, MAX_BACKOFF_SHIFT);
+        long delay = Math.min(refresh.getInitialBackoffMs() << shift, refresh.getMaxBackoffMs());
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    /**
+     * Replace any pending scheduled refresh. Caller holds tokenLock.
+     */
+    private void scheduleRefresh(long delayMs) {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+        try {
+            scheduledRefresh = refreshScheduler.schedule(this::runScheduledRefresh, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; callers fall back to refreshing on expiry
+            scheduledRefresh = null;
+        }
+    }
+
+    private double remainingSeconds() {
+        ServiceTokenInfo current = cachedToken;
+        if (current == null || current.getExpiresAt() == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(Instant.now(), current.getExpiresAt()).toMillis() / 1000.0);
+    }
+
+    /**
+     * Request a new token from auth-service and cache it. Caller holds tokenLock.
+     */
+    private String requestToken() {
+        try {
             log.debug("Requesting new service token for: {}", properties.getClientId());
             
             String tokenUrl = properties.getAuthServiceUrl() + "/api/v1/auth/service/token";
@@ -108,12 +269,14 @@ public class ServiceAuthClient {
                     long expiresIn = result.get("expiresIn").asLong();
                     String serviceName = result.get("serviceName").asText();
                     
-                    cachedToken = ServiceTokenInfo.builder()
+                    ServiceTokenInfo refreshed = ServiceTokenInfo.builder()
                             .token(token)
                             .serviceName(serviceName)
                             .clientId(properties.getClientId())
                             .expiresAt(Instant.now().plusSeconds(expiresIn))
                             .build();
+                    cachedToken = refreshed;
+                    onTokenRefreshed(refreshed);
                     
                     log.info("Obtained new service token for: {}, expires in: {} seconds", 
                             serviceName, expiresIn);
@@ -129,8 +292,6 @@ public class ServiceAuthClient {
         } catch (Exception e) {
             log.error("Error obtaining service token", e);
             throw new ServiceAuthException("Failed to obtain service token: " + e.getMessage(), e);
-        } finally {
-            tokenLock.unlock();
         }
     }
 
@@ -154,6 +315,13 @@ public class ServiceAuthClient {
         }
     }
 
+    /**
+     * Stop the background refresh thread.
+     */
+    public void shutdown() {
+        refreshScheduler.shutdownNow();
+    }
+
     /**
      * Add service authentication headers to an HttpHeaders object.
      */
@@ -1,11 +1,15 @@
 package com.ecommerce.common.security;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,7 +23,9 @@ import java.io.IOException;
  * 
  * This filter:
  * - Checks for X-Service-Name header to identify service requests
- * - Validates the service token by calling auth-service introspect endpoint
+ * - Validates the service token in-process (validation-mode: local) or by calling
+ *   the auth-service introspect endpoint (validation-mode: remote, or as fallback)
+ * - Caches introspection results per token hash (service.auth.introspection-cache)
  * - Sets ServiceAuthentication in SecurityContext if valid
  * 
  * Place this filter BEFORE the standard JWT filter in the filter chain.
@@ -27,20 +33,46 @@ import java.io.IOException;
 @Slf4j
 public class ServiceAuthFilter extends OncePerRequestFilter {
 
+    private static final String VALIDATIONS_METRIC = "service.auth.validations";
+
     private final ServiceAuthProperties properties;
     private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final ObjectReader introspectReader;
+    private final ServiceTokenVerifier tokenVerifier;
+    private final ServiceTokenIntrospectionCache introspectionCache;
+    // One counter per mode and result, built once instead of on every request
+    private final Counter localValid;
+    private final Counter localInvalid;
+    private final Counter remoteValid;
+    private final Counter remoteInvalid;
 
     public ServiceAuthFilter(ServiceAuthProperties properties) {
-        this.properties = properties;
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+        this(properties, new RestTemplate());
     }
 
     public ServiceAuthFilter(ServiceAuthProperties properties, RestTemplate restTemplate) {
+        this(properties, restTemplate, Metrics.globalRegistry);
+    }
+
+    public ServiceAuthFilter(ServiceAuthProperties properties, RestTemplate restTemplate,
+                             MeterRegistry meterRegistry) {
         this.properties = properties;
         this.restTemplate = restTemplate;
-        this.objectMapper = new ObjectMapper();
+        this.introspectReader = new ObjectMapper().readerFor(IntrospectEnvelope.class);
+        this.tokenVerifier = new ServiceTokenVerifier(properties.getJwtKey());
+        this.introspectionCache = properties.getIntrospectionCache().isEnabled()
+                ? new ServiceTokenIntrospectionCache(properties.getIntrospectionCache(), meterRegistry)
+                : null;
+        this.localValid = validationCounter(meterRegistry, "local", "valid");
+        this.localInvalid = validationCounter(meterRegistry, "local", "invalid");
+        this.remoteValid = validationCounter(meterRegistry, "remote", "valid");
+        this.remoteInvalid = validationCounter(meterRegistry, "remote", "invalid");
+
+        if (properties.getValidationMode() == ServiceAuthProperties.ValidationMode.LOCAL
+                && !tokenVerifier.isAvailable()) {
+            log.warn("Local service token validation requested but no usable jwt-key is configured; {}",
+                    properties.isRemoteFallback() ? "using remote introspection" : "all service tokens will be rejected");
+        }
     }
 
     @Override
@@ -73,7 +105,7 @@ public class ServiceAuthFilter extends OncePerRequestFilter {
             // Validate token with auth-service
             ServiceTokenValidationResult validationResult = validateServiceToken(token);
             
-            if (!validationResult.isActive()) {
+            if (!validationResult.active()) {
                 log.warn("Invalid service token from claimed service: {}", serviceName);
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("{\"code\":401,\"message\":\"Invalid service token\"}");
@@ -81,9 +113,9 @@ public class ServiceAuthFilter extends OncePerRequestFilter {
             }
 
             // Verify the claimed service name matches the token
-            if (!serviceName.equals(validationResult.getServiceName())) {
+            if (!serviceName.equals(validationResult.serviceName())) {
                 log.warn("Service name mismatch. Header: {}, Token: {}", 
-                        serviceName, validationResult.getServiceName());
+                        serviceName, validationResult.serviceName());
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("{\"code\":401,\"message\":\"Service name mismatch\"}");
                 return;
@@ -91,9 +123,9 @@ public class ServiceAuthFilter extends OncePerRequestFilter {
 
             // Set authentication in security context
             ServiceAuthentication authentication = new ServiceAuthentication(
-                    validationResult.getServiceName(),
-                    validationResult.getClientId(),
-                    null
+                    validationResult.serviceName(),
+                    validationResult.clientId(),
+                    validationResult.jti()
             );
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
@@ -110,9 +142,42 @@ public class ServiceAuthFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Validate service token by calling auth-service introspect endpoint.
+     * Validate service token, locally when configured and possible,
+     * otherwise by calling the auth-service introspect endpoint.
      */
     private ServiceTokenValidationResult validateServiceToken(String token) {
+        if (properties.getValidationMode() == ServiceAuthProperties.ValidationMode.LOCAL) {
+            ServiceTokenValidationResult localResult = tokenVerifier.verify(token);
+            if (localResult != null) {
+                countLocal(localResult);
+                return localResult;
+            }
+
+            if (!properties.isRemoteFallback()) {
+                ServiceTokenValidationResult rejected = ServiceTokenValidationResult.inactive();
+                countLocal(rejected);
+                return rejected;
+            }
+            log.debug("Service token could not be verified locally, falling back to introspection");
+        }
+
+        ServiceTokenValidationResult remoteResult = introspectionCache != null
+                ? introspectionCache.get(token, this::introspectServiceToken)
+                : introspectServiceToken(token);
+        if (remoteResult == null) {
+            remoteResult = ServiceTokenValidationResult.inactive();
+        }
+        countRemote(remoteResult);
+        return remoteResult;
+    }
+
+    /**
+     * Validate service token by calling auth-service introspect endpoint.
+     *
+     * @return the introspection result, or null if auth-service could not be reached
+     *         or answered with an unexpected response (such results are not cached)
+     */
+    private ServiceTokenValidationResult introspectServiceToken(String token) {
         try {
             String introspectUrl = properties.getAuthServiceUrl() + "/api/v1/auth/service/introspect";
             
@@ -130,51 +195,48 @@ public class ServiceAuthFilter extends OncePerRequestFilter {
             );
             
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                JsonNode responseJson = objectMapper.readTree(response.getBody());
-                JsonNode result = responseJson.get("result");
+                IntrospectEnvelope envelope = introspectReader.readValue(response.getBody());
+                IntrospectResult result = envelope.result();
                 
                 if (result != null) {
-                    boolean active = result.get("active").asBoolean();
-                    String serviceName = result.has("serviceName") ? result.get("serviceName").asText() : null;
-                    String clientId = result.has("clientId") ? result.get("clientId").asText() : null;
-                    
-                    return new ServiceTokenValidationResult(active, serviceName, clientId);
+                    return result.active()
+                            ? new ServiceTokenValidationResult(true, result.serviceName(), result.clientId(), null, null)
+                            : ServiceTokenValidationResult.inactive();
                 }
             }
             
-            return new ServiceTokenValidationResult(false, null, null);
+            log.warn("Unexpected response from auth-service introspect: {}", response.getStatusCode());
+            return null;
             
         } catch (Exception e) {
             log.error("Error calling auth-service introspect", e);
-            return new ServiceTokenValidationResult(false, null, null);
+            return null;
         }
     }
 
     /**
-     * Result of token validation.
+     * Introspect response body, bound directly instead of walking a JsonNode tree.
      */
-    private static class ServiceTokenValidationResult {
-        private final boolean active;
-        private final String serviceName;
-        private final String clientId;
-
-        public ServiceTokenValidationResult(boolean active, String serviceName, String clientId) {
-            this.active = active;
-            this.serviceName = serviceName;
-            this.clientId = clientId;
-        }
-
-        public boolean isActive() {
-            return active;
-        }
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record IntrospectEnvelope(IntrospectResult result) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record IntrospectResult(boolean active, String serviceName, String clientId) {}
+
+    private static Counter validationCounter(MeterRegistry meterRegistry, String mode, String result) {
+        return Counter.builder(VALIDATIONS_METRIC)
+                .description("Incoming service token validations")
+                .tag("mode", mode)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 
-        public String getServiceName() {
-            return serviceName;
-        }
+    private void countLocal(ServiceTokenValidationResult result) {
+        (result.active() ? localValid : localInvalid).increment();
+    }
 
-        public String getClientId() {
-            return clientId;
-        }
+    private void countRemote(ServiceTokenValidationResult result) {
+        (result.active() ? remoteValid : remoteInvalid).increment();
     }
 
     @Override
@@ -15,6 +15,14 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  *     client-id: my-service
  *     client-secret: secret-from-vault
  *     auth-service-url: http://auth-service:8088
+ *     validation-mode: local
+ *     jwt-key: shared-service-jwt-key-from-vault
+ *     introspection-cache:
+ *       maximum-size: 10000
+ *       max-ttl-seconds: 300
+ *     token-refresh:
+ *       mode: scheduled
+ *       jitter-ratio: 0.2
  * </pre>
  */
 @Getter
@@ -57,5 +65,98 @@ public class ServiceAuthProperties {
      * Header name for service name identification
      */
     private String serviceNameHeader = "X-Service-Name";
+
+    /**
+     * How incoming service tokens are validated.
+     * LOCAL verifies signature, expiry and type in-process,
+     * REMOTE calls the auth-service introspect endpoint.
+     */
+    private ValidationMode validationMode = ValidationMode.REMOTE;
+
+    /**
+     * Signing key for service tokens (same value as auth-service's service.jwt-key).
+     * Required for LOCAL validation mode.
+     */
+    private String jwtKey;
+
+    /**
+     * Fall back to remote introspection when a token cannot be verified locally
+     * (no key configured, or signature mismatch during key rotation).
+     */
+    private boolean remoteFallback = true;
+
+    /**
+     * Cache for remote introspection results
+     */
+    private IntrospectionCache introspectionCache = new IntrospectionCache();
+
+    @Getter
+    @Setter
+    public static class IntrospectionCache {
+
+        /**
+         * Enable/disable caching of introspection results
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of cached tokens
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Upper bound for how long a valid result is cached.
+         * Entries never outlive the token's own exp claim.
+         */
+        private long maxTtlSeconds = 300;
+
+        /**
+         * How long an inactive (rejected) result is cached
+         */
+        private long negativeTtlSeconds = 30;
+    }
+
+    /**
+     * How the outgoing service token is kept fresh
+     */
+    private TokenRefresh tokenRefresh = new TokenRefresh();
+
+    @Getter
+    @Setter
+    public static class TokenRefresh {
+
+        /**
+         * SCHEDULED refreshes on a background timer ahead of the refresh threshold,
+         * ON_DEMAND starts a background refresh when a caller sees a token inside it.
+         * In both modes callers keep the cached token until it actually expires.
+         */
+        private RefreshMode mode = RefreshMode.SCHEDULED;
+
+        /**
+         * Scheduled refreshes fire a random amount earlier than the refresh threshold,
+         * up to this fraction of it, so replicas do not refresh in lockstep
+         */
+        private double jitterRatio = 0.2;
+
+        /**
+         * First retry delay after a failed background refresh (doubles per attempt)
+         */
+        private long initialBackoffMs = 1000;
+
+        /**
+         * Upper bound for the retry delay
+         */
+        private long maxBackoffMs = 60_000;
+    }
+
+    public enum RefreshMode {
+        SCHEDULED,
+        ON_DEMAND
+    }
+
+    public enum ValidationMode {
+        LOCAL,
+        REMOTE
+    }
 }
 
@@ -0,0 +1,130 @@
+package com.ecommerce.common.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache of remote introspection results for service tokens.
+ *
+ * - Keyed by the SHA-256 hash of the bearer token (raw tokens are never kept)
+ * - Valid results live until min(token exp, max-ttl-seconds)
+ * - Inactive results live for negative-ttl-seconds
+ * - Eviction is W-TinyLFU (Caffeine), reads are lock-free
+ * - Concurrent misses for the same token share a single introspect call
+ *
+ * Metrics are published as cache.* meters with cache=service.auth.introspection.
+ */
+@Slf4j
+public class ServiceTokenIntrospectionCache {
+
+    static final String CACHE_NAME = "service.auth.introspection";
+
+    private final Cache<String, CachedResult> cache;
+    private final Duration maxTtl;
+    private final Duration negativeTtl;
+
+    public ServiceTokenIntrospectionCache(ServiceAuthProperties.IntrospectionCache config,
+                                          MeterRegistry meterRegistry) {
+        this.maxTtl = Duration.ofSeconds(config.getMaxTtlSeconds());
+        this.negativeTtl = Duration.ofSeconds(config.getNegativeTtlSeconds());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfter(new ResultExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Return the cached result for the token, or introspect it with the loader.
+     * A null result from the loader (transport error) is not cached.
+     */
+    public ServiceTokenValidationResult get(String token,
+                                            Function<String, ServiceTokenValidationResult> loader) {
+        CachedResult cached = cache.get(hash(token), key -> {
+            ServiceTokenValidationResult result = loader.apply(token);
+            return result != null ? new CachedResult(result, ttlFor(token, result)) : null;
+        });
+        return cached != null ? cached.result() : null;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private long ttlFor(String token, ServiceTokenValidationResult result) {
+        if (!result.active()) {
+            return negativeTtl.toNanos();
+        }
+
+        Instant expiresAt = result.expiresAt() != null ? result.expiresAt() : readExpiry(token);
+        if (expiresAt == null) {
+            return maxTtl.toNanos();
+        }
+
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        if (remaining.isNegative()) {
+            return 0;
+        }
+        return Math.min(remaining.toNanos(), maxTtl.toNanos());
+    }
+
+    /**
+     * Read the exp claim without verifying the signature. Only used to bound
+     * the lifetime of a result auth-service has already vouched for.
+     */
+    private static Instant readExpiry(String token) {
+        try {
+            JWT jwt = JWTParser.parse(token);
+            Date exp = jwt.getJWTClaimsSet().getExpirationTime();
+            return exp != null ? exp.toInstant() : null;
+        } catch (Exception e) {
+            log.debug("Could not read exp claim from service token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record CachedResult(ServiceTokenValidationResult result, long ttlNanos) {}
+
+    private static class ResultExpiry implements Expiry<String, CachedResult> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResult value, long currentTime) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResult value, long currentTime, long currentDuration) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResult value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.common.security;
+
+import java.time.Instant;
+
+/**
+ * Result of validating an incoming service token, either locally or via
+ * the auth-service introspect endpoint.
+ *
+ * @param active      whether the token is valid
+ * @param serviceName name of the calling service (null if inactive)
+ * @param clientId    client ID of the calling service (null if inactive)
+ * @param jti         JWT ID, only known when the token was verified locally
+ * @param expiresAt   token expiry, only known when the token was parsed locally
+ */
+public record ServiceTokenValidationResult(boolean active,
+                                           String serviceName,
+                                           String clientId,
+                                           String jti,
+                                           Instant expiresAt) {
+
+    private static final ServiceTokenValidationResult INACTIVE =
+            new ServiceTokenValidationResult(false, null, null, null, null);
+
+    public static ServiceTokenValidationResult inactive() {
+        return INACTIVE;
+    }
+}
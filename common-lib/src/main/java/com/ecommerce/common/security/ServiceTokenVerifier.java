@@ -0,0 +1,101 @@
+package com.ecommerce.common.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Date;
+
+/**
+ * Verifies service tokens in-process, without calling auth-service.
+ *
+ * Performs the same checks as auth-service's ServiceTokenService.validateToken:
+ * - HS256 signature against the shared service JWT key
+ * - Expiration time
+ * - type=SERVICE claim
+ *
+ * The MACVerifier is created once and reused; it is thread-safe.
+ */
+@Slf4j
+public class ServiceTokenVerifier {
+
+    private final JWSVerifier verifier;
+
+    public ServiceTokenVerifier(String jwtKey) {
+        this.verifier = createVerifier(jwtKey);
+    }
+
+    private static JWSVerifier createVerifier(String jwtKey) {
+        if (jwtKey == null || jwtKey.isEmpty()) {
+            return null;
+        }
+        try {
+            return new MACVerifier(jwtKey.getBytes(StandardCharsets.UTF_8));
+        } catch (JOSEException e) {
+            log.warn("Service JWT key rejected for local verification: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Whether a key is configured, i.e. local verification is possible at all.
+     */
+    public boolean isAvailable() {
+        return verifier != null;
+    }
+
+    /**
+     * Verify a service token locally.
+     *
+     * @return the validation result, or null if the signature could not be verified
+     *         with the configured key (the caller may fall back to remote introspection)
+     */
+    public ServiceTokenValidationResult verify(String token) {
+        if (verifier == null) {
+            return null;
+        }
+        try {
+            SignedJWT signedJWT = SignedJWT.parse(token);
+
+            if (!JWSAlgorithm.HS256.equals(signedJWT.getHeader().getAlgorithm())) {
+                log.warn("Service token uses unexpected algorithm: {}", signedJWT.getHeader().getAlgorithm());
+                return ServiceTokenValidationResult.inactive();
+            }
+
+            if (!signedJWT.verify(verifier)) {
+                log.debug("Service token signature does not match local key");
+                return null;
+            }
+
+            JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+
+            Date expiryTime = claims.getExpirationTime();
+            if (expiryTime == null || expiryTime.before(new Date())) {
+                log.warn("Service token expired");
+                return ServiceTokenValidationResult.inactive();
+            }
+
+            if (!"SERVICE".equals(claims.getClaim("type"))) {
+                log.warn("Token is not a service token");
+                return ServiceTokenValidationResult.inactive();
+            }
+
+            return new ServiceTokenValidationResult(
+                    true,
+                    claims.getStringClaim("serviceName"),
+                    claims.getStringClaim("clientId"),
+                    claims.getJWTID(),
+                    expiryTime.toInstant());
+
+        } catch (ParseException | JOSEException e) {
+            log.warn("Malformed service token: {}", e.getMessage());
+            return ServiceTokenValidationResult.inactive();
+        }
+    }
+}
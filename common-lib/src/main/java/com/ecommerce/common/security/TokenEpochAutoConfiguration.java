@@ -0,0 +1,34 @@
+package com.ecommerce.common.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+/**
+ * Auto-configuration for TokenEpochRegistry.
+ * Enabled with security.token-epoch.enabled=true; the service adds a
+ * TokenEpochJwtValidator to its JwtDecoder.
+ */
+@Slf4j
+@AutoConfiguration
+@ConditionalOnClass(name = {
+        "org.springframework.data.redis.connection.RedisConnectionFactory",
+        "org.springframework.security.oauth2.jwt.Jwt"})
+@ConditionalOnProperty(prefix = "security.token-epoch", name = "enabled", havingValue = "true", matchIfMissing = false)
+@EnableConfigurationProperties(TokenEpochProperties.class)
+public class TokenEpochAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenEpochRegistry tokenEpochRegistry(RedisConnectionFactory connectionFactory,
+                                                 TokenEpochProperties properties) {
+        log.info("Configuring TokenEpochRegistry (channel: {}, resync every {} ms)",
+                properties.getChannel(), properties.getResyncIntervalMs());
+        return new TokenEpochRegistry(connectionFactory, properties);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.common.security;
+
+import com.ecommerce.common.event.TokenRevocationEvents;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.UUID;
+
+/**
+ * Rejects user JWTs issued before the user's last revoke-all, for resource servers
+ * (auth-service's TokenEpochValidator, against the replicated TokenEpochRegistry).
+ *
+ * Tokens without the epoch claim count as epoch 0; tokens without a UUID userId
+ * (service tokens, legacy tokens) are not checked.
+ */
+@RequiredArgsConstructor
+public class TokenEpochJwtValidator implements OAuth2TokenValidator<Jwt> {
+
+    private static final OAuth2Error REVOKED = new OAuth2Error(
+            OAuth2ErrorCodes.INVALID_TOKEN, "Token has been revoked", null);
+
+    private final TokenEpochRegistry registry;
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        UUID userId;
+        try {
+            String claim = jwt.getClaimAsString("userId");
+            userId = claim != null ? UUID.fromString(claim) : null;
+        } catch (IllegalArgumentException e) {
+            userId = null;
+        }
+        if (userId == null) {
+            return OAuth2TokenValidatorResult.success();
+        }
+        Object epoch = jwt.getClaim(TokenRevocationEvents.EPOCH_CLAIM);
+        long tokenEpoch = epoch instanceof Number number ? number.longValue() : 0;
+        return registry.isRevoked(userId, tokenEpoch)
+                ? OAuth2TokenValidatorResult.failure(REVOKED)
+                : OAuth2TokenValidatorResult.success();
+    }
+}
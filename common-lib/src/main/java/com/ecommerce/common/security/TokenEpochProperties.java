@@ -0,0 +1,39 @@
+package com.ecommerce.common.security;
+
+import com.ecommerce.common.event.TokenRevocationEvents;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties for rejecting user JWTs revoked by a revoke-all in auth-service.
+ *
+ * Configure in application.yaml:
+ * <pre>
+ * security:
+ *   token-epoch:
+ *     enabled: true
+ *     channel: auth:revocations
+ *     resync-interval-ms: 30000
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.token-epoch")
+public class TokenEpochProperties {
+
+    /**
+     * Check the epoch claim of user JWTs against auth-service's token epochs in Redis
+     */
+    private boolean enabled = false;
+
+    /**
+     * auth-service's revocation channel (auth.revocation.channel)
+     */
+    private String channel = TokenRevocationEvents.REVOCATIONS_CHANNEL;
+
+    /**
+     * Full reload from Redis; bounds how long a missed pub/sub message goes unnoticed
+     */
+    private long resyncIntervalMs = 30_000;
+}
@@ -0,0 +1,164 @@
+package com.ecommerce.common.security;
+
+import com.ecommerce.common.event.TokenRevocationEvents;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-only replica of auth-service's per-user token epochs (auth:token_epoch:*), so
+ * resource servers reject access tokens revoked by a revoke-all (logout from all
+ * devices, password reset) the same way auth-service does.
+ *
+ * This class handles:
+ * - Loading every epoch from Redis (SCAN + pipelined GET/PTTL) on startup and again
+ *   every resync-interval-ms, which also recovers messages missed while the
+ *   subscription was down
+ * - Applying epoch bumps published on the revocation channel as they happen
+ * - Answering isRevoked() from the local map; users never bumped are at epoch 0
+ */
+@Slf4j
+public class TokenEpochRegistry implements MessageListener, InitializingBean, DisposableBean {
+
+    private static final int SCAN_BATCH = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final TokenEpochProperties properties;
+    private final RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+    private final Map<UUID, Entry> epochs = new ConcurrentHashMap<>();
+
+    // Periodic resync on a single daemon thread
+    private final ScheduledExecutorService resyncScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-epoch-resync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record Entry(long epoch, long expiresAtMillis) {}
+
+    public TokenEpochRegistry(RedisConnectionFactory connectionFactory, TokenEpochProperties properties) {
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.properties = properties;
+        this.listenerContainer.setConnectionFactory(connectionFactory);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // Subscribe before loading so no bump published in between is missed
+        listenerContainer.addMessageListener(this, new ChannelTopic(properties.getChannel()));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+        resyncScheduler.scheduleWithFixedDelay(this::resync, 0, properties.getResyncIntervalMs(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Whether a token of the user carrying tokenEpoch was issued before their last revoke-all
+     */
+    public boolean isRevoked(UUID userId, long tokenEpoch) {
+        Entry entry = epochs.get(userId);
+        return entry != null && entry.expiresAtMillis() > System.currentTimeMillis() && tokenEpoch < entry.epoch();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!body.startsWith(TokenRevocationEvents.EPOCH_MESSAGE_PREFIX)) {
+            return;
+        }
+        // epoch:<expiresAtMillis>:<userId>:<epoch>
+        String[] parts = body.substring(TokenRevocationEvents.EPOCH_MESSAGE_PREFIX.length()).split(":");
+        try {
+            record(UUID.fromString(parts[1]), new Entry(Long.parseLong(parts[2]), Long.parseLong(parts[0])));
+        } catch (RuntimeException e) {
+            log.warn("Malformed epoch message: {}", body);
+        }
+    }
+
+    private void resync() {
+        try {
+            long now = System.currentTimeMillis();
+            epochs.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+
+            ScanOptions options = ScanOptions.scanOptions()
+                    .match(TokenRevocationEvents.TOKEN_EPOCH_PREFIX + "*")
+                    .count(SCAN_BATCH)
+                    .build();
+            int loaded = 0;
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                List<String> batch = new ArrayList<>(SCAN_BATCH);
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == SCAN_BATCH || !cursor.hasNext()) {
+                        loaded += load(batch);
+                        batch = new ArrayList<>(SCAN_BATCH);
+                    }
+                }
+            }
+            log.debug("Token epochs reloaded: {} users", loaded);
+        } catch (Exception e) {
+            log.warn("Could not reload token epochs from Redis: {}", e.getMessage());
+        }
+    }
+
+    private int load(List<String> keys) {
+        List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                connection.stringCommands().get(rawKey);
+                connection.keyCommands().pTtl(rawKey);
+            }
+            return null;
+        });
+
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            Object epoch = replies.get(2 * i);
+            Object ttl = replies.get(2 * i + 1);
+            if (epoch == null || !(ttl instanceof Long ttlMillis) || ttlMillis <= 0) {
+                continue;
+            }
+            try {
+                UUID userId = UUID.fromString(keys.get(i).substring(TokenRevocationEvents.TOKEN_EPOCH_PREFIX.length()));
+                record(userId, new Entry(Long.parseLong(epoch.toString()), now + ttlMillis));
+                loaded++;
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring malformed token epoch key {}", keys.get(i));
+            }
+        }
+        return loaded;
+    }
+
+    private void record(UUID userId, Entry entry) {
+        // Epochs only move forward; a late message or an older snapshot must not lower them
+        long now = System.currentTimeMillis();
+        epochs.merge(userId, entry, (current, update) ->
+                update.epoch() >= current.epoch() || current.expiresAtMillis() <= now ? update : current);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        resyncScheduler.shutdownNow();
+        listenerContainer.destroy();
+    }
+}
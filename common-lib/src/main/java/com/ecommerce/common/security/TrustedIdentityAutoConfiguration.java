@@ -0,0 +1,44 @@
+package com.ecommerce.common.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Auto-configuration for trusting the api-gateway's signed identity headers.
+ *
+ * This configuration is automatically applied when:
+ * - security.trusted-identity.enabled=true
+ * - The OAuth2 resource server classes are on the classpath
+ *
+ * Beans created:
+ * - TrustedIdentityProperties - Configuration properties
+ * - TrustedIdentityFilter - Filter authenticating requests from the signed headers
+ *   (the service adds it to its security filter chain)
+ */
+@Slf4j
+@AutoConfiguration
+@ConditionalOnClass(name = "org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken")
+@ConditionalOnProperty(prefix = "security.trusted-identity", name = "enabled", havingValue = "true", matchIfMissing = false)
+@EnableConfigurationProperties(TrustedIdentityProperties.class)
+public class TrustedIdentityAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(TrustedIdentityFilter.class)
+    public TrustedIdentityFilter trustedIdentityFilter(TrustedIdentityProperties properties,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        if (properties.getSigningKey() == null || properties.getSigningKey().isEmpty()) {
+            throw new IllegalStateException(
+                    "security.trusted-identity.enabled=true requires security.trusted-identity.signing-key");
+        }
+        log.info("Configuring TrustedIdentityFilter (max age: {}s)", properties.getMaxAgeSeconds());
+        return new TrustedIdentityFilter(properties, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
@@ -0,0 +1,118 @@
+package com.ecommerce.common.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Authenticates user requests from the identity headers the api-gateway signs after
+ * verifying the user's JWT, so the token is not decoded and HMAC-verified again here.
+ *
+ * This filter:
+ * - Checks X-User-Signature over X-User-Id / X-User-Role / X-User-Email
+ * - On success, sets a JwtAuthenticationToken with the same claims (userId, email,
+ *   role, scope) and SCOPE_ authority as a decoded access token, so controllers using
+ *   {@code @AuthenticationPrincipal Jwt} work unchanged
+ * - Otherwise leaves the request alone: the regular bearer token decoding still
+ *   applies (direct calls, missing or stale signatures, key rotation)
+ *
+ * Place this filter BEFORE the BearerTokenAuthenticationFilter and use
+ * {@link #bearerTokenResolver()} so the token of a trusted request is not decoded.
+ */
+@Slf4j
+public class TrustedIdentityFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute set when the request was authenticated from trusted headers
+     */
+    public static final String TRUSTED_ATTRIBUTE = TrustedIdentityFilter.class.getName() + ".TRUSTED";
+
+    private static final String METRIC = "security.trusted.identity";
+
+    private final TrustedIdentityVerifier verifier;
+    private final MeterRegistry meterRegistry;
+
+    public TrustedIdentityFilter(TrustedIdentityProperties properties, MeterRegistry meterRegistry) {
+        this.verifier = new TrustedIdentityVerifier(properties.getSigningKey(), properties.getMaxAgeSeconds());
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Bearer token resolver that skips requests already authenticated by this filter
+     */
+    public static BearerTokenResolver bearerTokenResolver() {
+        DefaultBearerTokenResolver defaultResolver = new DefaultBearerTokenResolver();
+        return request -> request.getAttribute(TRUSTED_ATTRIBUTE) != null ? null : defaultResolver.resolve(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String signature = request.getHeader(TrustedIdentityVerifier.SIGNATURE_HEADER);
+        if (signature == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TrustedIdentityVerifier.TrustedIdentity identity = verifier.verify(
+                request.getHeader(TrustedIdentityVerifier.USER_ID_HEADER),
+                request.getHeader(TrustedIdentityVerifier.USER_ROLE_HEADER),
+                request.getHeader(TrustedIdentityVerifier.USER_EMAIL_HEADER),
+                signature);
+
+        if (identity == null) {
+            log.debug("Ignoring identity headers with an invalid or expired signature on {}", request.getRequestURI());
+            meterRegistry.counter(METRIC, "result", "rejected").increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(toAuthentication(identity, request.getHeader("Authorization")));
+        SecurityContextHolder.setContext(context);
+        request.setAttribute(TRUSTED_ATTRIBUTE, Boolean.TRUE);
+        meterRegistry.counter(METRIC, "result", "trusted").increment();
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static JwtAuthenticationToken toAuthentication(TrustedIdentityVerifier.TrustedIdentity identity,
+                                                           String authorization) {
+        String tokenValue = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : "trusted-identity";
+        Jwt.Builder jwt = Jwt.withTokenValue(tokenValue)
+                .header("alg", "none")
+                .issuedAt(Instant.ofEpochSecond(identity.issuedAt()))
+                .claim("userId", identity.userId());
+        if (identity.email() != null) {
+            jwt.subject(identity.email()).claim("email", identity.email());
+        } else {
+            jwt.subject(identity.userId());
+        }
+
+        List<SimpleGrantedAuthority> authorities = List.of();
+        if (identity.role() != null) {
+            jwt.claim("role", identity.role()).claim("scope", identity.role());
+            authorities = List.of(new SimpleGrantedAuthority("SCOPE_" + identity.role()));
+        }
+        Jwt principal = jwt.build();
+        return new JwtAuthenticationToken(principal, authorities, principal.getSubject());
+    }
+}
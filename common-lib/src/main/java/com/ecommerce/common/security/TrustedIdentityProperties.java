@@ -0,0 +1,39 @@
+package com.ecommerce.common.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties for trusting the identity headers set by the api-gateway.
+ *
+ * Configure in application.yaml:
+ * <pre>
+ * security:
+ *   trusted-identity:
+ *     enabled: true
+ *     signing-key: ${TRUSTED_IDENTITY_KEY:${trusted-identity-key:}}
+ *     max-age-seconds: 60
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.trusted-identity")
+public class TrustedIdentityProperties {
+
+    /**
+     * Authenticate requests from their signed X-User-* headers
+     */
+    private boolean enabled = false;
+
+    /**
+     * HMAC key shared with the gateway (gateway.auth.identity-signing-key)
+     */
+    private String signingKey;
+
+    /**
+     * How old a signature may be; bounds replay of a captured header set.
+     * Also allows for clock skew between the gateway and this service.
+     */
+    private long maxAgeSeconds = 60;
+}
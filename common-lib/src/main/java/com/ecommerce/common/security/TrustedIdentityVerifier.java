@@ -0,0 +1,89 @@
+package com.ecommerce.common.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Checks the HMAC the api-gateway puts on the identity headers it forwards.
+ *
+ * Header format (written by the gateway's IdentityHeaderSigner):
+ * <pre>
+ * X-User-Signature: t=&lt;epoch seconds&gt;,v1=&lt;base64url HMAC-SHA256 of "v1\nt\nuserId\nrole\nemail"&gt;
+ * </pre>
+ * One HMAC per request, with a keyed Mac per thread; no token parsing.
+ */
+public class TrustedIdentityVerifier {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_ROLE_HEADER = "X-User-Role";
+    public static final String USER_EMAIL_HEADER = "X-User-Email";
+    public static final String SIGNATURE_HEADER = "X-User-Signature";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+
+    private final ThreadLocal<Mac> macs;
+    private final long maxAgeSeconds;
+
+    /**
+     * Identity asserted by the gateway
+     *
+     * @param issuedAt epoch seconds at which the gateway signed the headers
+     */
+    public record TrustedIdentity(String userId, String role, String email, long issuedAt) {}
+
+    public TrustedIdentityVerifier(String signingKey, long maxAgeSeconds) {
+        SecretKeySpec key = new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialize " + ALGORITHM, e);
+            }
+        });
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    /**
+     * @return the identity if the signature matches and is recent, otherwise null
+     */
+    public TrustedIdentity verify(String userId, String role, String email, String signature) {
+        if (userId == null || userId.isEmpty() || signature == null) {
+            return null;
+        }
+
+        // t=<seconds>,v1=<mac>
+        int comma = signature.indexOf(',');
+        if (comma < 0 || !signature.startsWith("t=") || !signature.startsWith(VERSION + "=", comma + 1)) {
+            return null;
+        }
+        long timestamp;
+        byte[] presented;
+        try {
+            timestamp = Long.parseLong(signature.substring(2, comma));
+            presented = Base64.getUrlDecoder().decode(signature.substring(comma + 2 + VERSION.length()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis() / 1000;
+        if (Math.abs(now - timestamp) > maxAgeSeconds) {
+            return null;
+        }
+
+        String payload = VERSION + "\n" + timestamp + "\n" + userId + "\n"
+                + nullToEmpty(role) + "\n" + nullToEmpty(email);
+        byte[] expected = macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return MessageDigest.isEqual(expected, presented) ? new TrustedIdentity(userId, role, email, timestamp) : null;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
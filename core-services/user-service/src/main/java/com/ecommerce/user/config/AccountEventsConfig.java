@@ -0,0 +1,63 @@
+package com.ecommerce.user.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Consumer settings for the user account event stream published by auth-service.
+ *
+ * <pre>
+ * user:
+ *   account-events:
+ *     enabled: true
+ *     consumer-group: user-service
+ *     batch-size: 50
+ *     claim-idle-ms: 60000
+ *     max-deliveries: 5
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "user.account-events")
+@Getter
+@Setter
+public class AccountEventsConfig {
+
+    /**
+     * Consume UserRegistered events and create profiles from them
+     */
+    private boolean enabled = true;
+
+    /**
+     * Consumer group shared by all user-service instances
+     */
+    private String consumerGroup = "user-service";
+
+    /**
+     * Name of this instance within the group; defaults to the host name
+     */
+    private String consumerName;
+
+    /**
+     * Entries read per poll
+     */
+    private int batchSize = 50;
+
+    /**
+     * How long a poll blocks waiting for new entries
+     */
+    private long pollTimeoutMs = 2000;
+
+    /**
+     * Entries left unacknowledged this long (failed or owned by a dead instance)
+     * are claimed and processed again
+     */
+    private long claimIdleMs = 60_000;
+
+    /**
+     * Deliveries after which a still-failing entry is moved to the dead-letter stream
+     * (user:account:events:dead) and acknowledged. 0 retries forever.
+     */
+    private int maxDeliveries = 5;
+}
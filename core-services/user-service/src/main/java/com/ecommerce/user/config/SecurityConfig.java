@@ -2,6 +2,9 @@ package com.ecommerce.user.config;
 
 import com.ecommerce.common.security.ServiceAuthFilter;
 import com.ecommerce.common.security.ServiceAuthProperties;
+import com.ecommerce.common.security.TokenEpochJwtValidator;
+import com.ecommerce.common.security.TokenEpochRegistry;
+import com.ecommerce.common.security.TrustedIdentityFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -11,9 +14,12 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -41,6 +47,14 @@ public class SecurityConfig {
     @Autowired(required = false)
     private ServiceAuthProperties serviceAuthProperties;
 
+    // Optional - present when security.trusted-identity.enabled=true
+    @Autowired(required = false)
+    private TrustedIdentityFilter trustedIdentityFilter;
+
+    // Optional - present when security.token-epoch.enabled=true
+    @Autowired(required = false)
+    private TokenEpochRegistry tokenEpochRegistry;
+
     // Public endpoints - no authentication required
     private final String[] PUBLIC_GET_ENDPOINTS = {
             "/actuator/**", "/actuator/health/**",
@@ -90,9 +104,18 @@ public class SecurityConfig {
             http.addFilterBefore(serviceAuthFilter, UsernamePasswordAuthenticationFilter.class);
         }
         
+        // Requests carrying the gateway's signed identity headers skip JWT decoding
+        if (trustedIdentityFilter != null) {
+            http.addFilterBefore(trustedIdentityFilter, BearerTokenAuthenticationFilter.class);
+        }
+
         // OAuth2 Resource Server for user JWT tokens
-        http.oauth2ResourceServer(oauth2 -> oauth2
-                .jwt(jwt -> jwt.decoder(jwtDecoder())));
+        http.oauth2ResourceServer(oauth2 -> {
+                if (trustedIdentityFilter != null) {
+                    oauth2.bearerTokenResolver(TrustedIdentityFilter.bearerTokenResolver());
+                }
+                oauth2.jwt(jwt -> jwt.decoder(jwtDecoder()));
+        });
 
         return http.build();
     }
@@ -110,9 +133,16 @@ public class SecurityConfig {
         SecretKeySpec secretKeySpec = new SecretKeySpec(
                 signerKey.getBytes(),
                 "HmacSHA256");
-        return NimbusJwtDecoder.withSecretKey(secretKeySpec)
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(secretKeySpec)
                 .macAlgorithm(MacAlgorithm.HS256)
                 .build();
+        // Reject tokens revoked by a revoke-all in auth-service (logout all, password reset)
+        if (tokenEpochRegistry != null) {
+            decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                    JwtValidators.createDefault(),
+                    new TokenEpochJwtValidator(tokenEpochRegistry)));
+        }
+        return decoder;
     }
 
     @Bean
@@ -21,7 +21,8 @@ import java.util.UUID;
  * These endpoints require SERVICE role (from ServiceAuthFilter).
  * 
  * Used by:
- * - auth-service: to create profile during registration
+ * - auth-service: basic user info for login and refresh responses
+ *   (profiles are created from the UserRegistered event, not through this API)
  * - order-service: to get user info for orders
  */
 @Slf4j
@@ -35,7 +36,8 @@ public class UserInternalController {
     private final UserService userService;
 
     /**
-     * Create a new user profile (called from auth-service during registration)
+     * Create a new user profile (manual backfill; registration creates profiles
+     * from the UserRegistered event)
      */
     @PostMapping("/users")
     @Operation(summary = "Create user profile", description = "Create a new user profile (internal)")
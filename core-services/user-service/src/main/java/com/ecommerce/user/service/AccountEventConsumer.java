@@ -0,0 +1,287 @@
+package com.ecommerce.user.service;
+
+import com.ecommerce.common.event.UserAccountEvents;
+import com.ecommerce.common.event.UserRegisteredEvent;
+import com.ecommerce.user.config.AccountEventsConfig;
+import com.ecommerce.user.dto.request.CreateProfileRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumes the user account event stream written by auth-service's outbox relay.
+ *
+ * This consumer handles:
+ * - Reading through a consumer group, so each event is handled by one instance
+ * - Creating the profile for UserRegistered; the profile is keyed by userId, so
+ *   redelivered events are no-ops
+ * - Acknowledging only after the profile is committed; entries left pending
+ *   (a failure, or an instance that died) are claimed again after claim-idle-ms
+ * - Dead-lettering entries still failing after max-deliveries (XPENDING delivery
+ *   count): copied to user:account:events:dead, then acknowledged
+ * - Acknowledging and logging entries it cannot parse, so they do not block the group
+ * - Surviving poll errors: the read request is not cancelled on error, errors are
+ *   counted (user.account.events.poll.errors) and a lost consumer group is recreated
+ */
+@Slf4j
+@Component
+public class AccountEventConsumer {
+
+    private static final ObjectReader USER_REGISTERED_READER = new ObjectMapper().readerFor(UserRegisteredEvent.class);
+    private static final int CLAIM_BATCH = 100;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final UserService userService;
+    private final AccountEventsConfig config;
+    private final String consumerName;
+    private final Counter pollErrors;
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+    private ScheduledExecutorService reclaimer;
+
+    public AccountEventConsumer(StringRedisTemplate redisTemplate,
+                                RedisConnectionFactory connectionFactory,
+                                UserService userService,
+                                AccountEventsConfig config,
+                                MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.userService = userService;
+        this.config = config;
+        this.consumerName = config.getConsumerName() != null ? config.getConsumerName() : hostName();
+        this.pollErrors = Counter.builder("user.account.events.poll.errors")
+                .description("Failed reads of the account event stream")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.isEnabled()) {
+            log.info("Account event consumer disabled");
+            return;
+        }
+        try {
+            createGroupIfMissing();
+        } catch (Exception e) {
+            log.error("Cannot create consumer group {} on {}, account events will not be consumed: {}",
+                    config.getConsumerGroup(), UserAccountEvents.STREAM_KEY, e.getMessage());
+            return;
+        }
+
+        container = StreamMessageListenerContainer.create(connectionFactory,
+                StreamMessageListenerContainerOptions.builder()
+                        .batchSize(Math.max(1, config.getBatchSize()))
+                        .pollTimeout(Duration.ofMillis(config.getPollTimeoutMs()))
+                        .errorHandler(this::onPollError)
+                        .build());
+        // Keep polling after errors (Redis restart, failover); the convenience
+        // receive() overload cancels the subscription on the first one
+        container.register(StreamReadRequest
+                        .builder(StreamOffset.create(UserAccountEvents.STREAM_KEY, ReadOffset.lastConsumed()))
+                        .consumer(Consumer.from(config.getConsumerGroup(), consumerName))
+                        .autoAcknowledge(false)
+                        .cancelOnError(e -> false)
+                        .build(),
+                this::handle);
+        container.start();
+
+        reclaimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "account-event-reclaim");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // First run right away picks up whatever an earlier run left unacknowledged
+        reclaimer.scheduleWithFixedDelay(this::reclaimPending, 0, config.getClaimIdleMs(), TimeUnit.MILLISECONDS);
+
+        log.info("Consuming {} as {}/{}", UserAccountEvents.STREAM_KEY, config.getConsumerGroup(), consumerName);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (reclaimer != null) {
+            reclaimer.shutdownNow();
+        }
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    private void onPollError(Throwable e) {
+        pollErrors.increment();
+        log.warn("Account event poll failed: {}", e.getMessage());
+        // A Redis restart without persistence drops the group; recreate it so polling can resume
+        if (String.valueOf(e.getMessage()).contains("NOGROUP")) {
+            try {
+                createGroupIfMissing();
+            } catch (Exception groupError) {
+                log.warn("Could not recreate consumer group {}: {}", config.getConsumerGroup(), groupError.getMessage());
+            }
+        }
+    }
+
+    private void handle(MapRecord<String, String, String> record) {
+        if (process(record)) {
+            redisTemplate.opsForStream().acknowledge(config.getConsumerGroup(), record);
+        }
+    }
+
+    /**
+     * @return true if the entry is done with (handled, duplicate or unusable)
+     */
+    private boolean process(MapRecord<String, String, String> record) {
+        String type = record.getValue().get(UserAccountEvents.FIELD_TYPE);
+        if (!UserAccountEvents.USER_REGISTERED.equals(type)) {
+            return true;
+        }
+
+        UserRegisteredEvent event;
+        try {
+            event = USER_REGISTERED_READER.readValue(record.getValue().get(UserAccountEvents.FIELD_PAYLOAD));
+        } catch (Exception e) {
+            log.error("Dropping malformed {} event {}: {}", type, record.getId(), e.getMessage());
+            return true;
+        }
+        if (event.getUserId() == null || event.getEmail() == null) {
+            log.error("Dropping incomplete {} event {}", type, record.getId());
+            return true;
+        }
+
+        try {
+            boolean created = userService.createProfileIfAbsent(CreateProfileRequest.builder()
+                    .userId(event.getUserId())
+                    .email(event.getEmail())
+                    .fullName(event.getFullName())
+                    .phoneNumber(event.getPhoneNumber())
+                    .build());
+            if (created) {
+                log.info("Created profile for registered user {}", event.getUserId());
+            }
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created it concurrently
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not create profile for user {}, will retry: {}", event.getUserId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Claim entries that stayed unacknowledged longer than claim-idle-ms and process them
+     */
+    private void reclaimPending() {
+        try {
+            Duration minIdle = Duration.ofMillis(config.getClaimIdleMs());
+            PendingMessages pending = redisTemplate.opsForStream().pending(UserAccountEvents.STREAM_KEY,
+                    config.getConsumerGroup(), Range.unbounded(), CLAIM_BATCH, minIdle);
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            List<RecordId> retry = new ArrayList<>(pending.size());
+            for (PendingMessage message : pending) {
+                if (config.getMaxDeliveries() > 0 && message.getTotalDeliveryCount() >= config.getMaxDeliveries()) {
+                    deadLetter(message);
+                } else {
+                    retry.add(message.getId());
+                }
+            }
+            if (retry.isEmpty()) {
+                return;
+            }
+
+            RecordId[] ids = retry.toArray(RecordId[]::new);
+            List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(
+                    UserAccountEvents.STREAM_KEY, config.getConsumerGroup(), consumerName, minIdle, ids);
+            for (MapRecord<String, Object, Object> record : claimed) {
+                handle(record.mapEntries(entry -> Map.entry(
+                        String.valueOf(entry.getKey()), String.valueOf(entry.getValue()))));
+            }
+            if (!claimed.isEmpty()) {
+                log.info("Reprocessed {} pending account events", claimed.size());
+            }
+        } catch (Exception e) {
+            log.warn("Reclaiming pending account events failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Copy an entry that keeps failing to the dead-letter stream and acknowledge it,
+     * so it stops being retried
+     */
+    private void deadLetter(PendingMessage message) {
+        String id = message.getIdAsString();
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .range(UserAccountEvents.STREAM_KEY, Range.closed(id, id));
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        if (records != null && !records.isEmpty()) {
+            records.get(0).getValue().forEach((key, value) -> fields.put(String.valueOf(key), String.valueOf(value)));
+        }
+        fields.put(UserAccountEvents.FIELD_SOURCE_ID, id);
+        fields.put(UserAccountEvents.FIELD_DELIVERIES, String.valueOf(message.getTotalDeliveryCount()));
+
+        redisTemplate.opsForStream().add(StreamRecords.mapBacked(fields)
+                .withStreamKey(UserAccountEvents.DEAD_LETTER_STREAM_KEY));
+        redisTemplate.opsForStream().acknowledge(UserAccountEvents.STREAM_KEY, config.getConsumerGroup(), message.getId());
+        log.error("Moved account event {} to {} after {} deliveries",
+                id, UserAccountEvents.DEAD_LETTER_STREAM_KEY, message.getTotalDeliveryCount());
+    }
+
+    private void createGroupIfMissing() {
+        byte[] key = UserAccountEvents.STREAM_KEY.getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            try {
+                return connection.streamCommands().xGroupCreate(key, config.getConsumerGroup(),
+                        ReadOffset.from("0"), true);
+            } catch (Exception e) {
+                if (String.valueOf(e.getMessage()).contains("BUSYGROUP")) {
+                    return null;
+                }
+                throw e;
+            }
+        });
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "user-service-" + UUID.randomUUID();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.user.service;
+
+import com.ecommerce.common.event.UserProfileEvents;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Publishes profile-changed events so other services can drop cached profile data.
+ * Inside a transaction the event is sent after commit, so readers never reload
+ * the old row.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserProfileEventPublisher {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public void profileChanged(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(userId);
+                }
+            });
+        } else {
+            publish(userId);
+        }
+    }
+
+    private void publish(UUID userId) {
+        try {
+            stringRedisTemplate.convertAndSend(UserProfileEvents.PROFILE_CHANGED_CHANNEL, userId.toString());
+        } catch (Exception e) {
+            // Consumers fall back to their cache TTL
+            log.warn("Could not publish profile change for user {}: {}", userId, e.getMessage());
+        }
+    }
+}
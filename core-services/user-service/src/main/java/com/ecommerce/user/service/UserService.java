@@ -29,6 +29,7 @@ public class UserService {
     private final UserProfileRepository userProfileRepository;
     private final UserAddressRepository userAddressRepository;
     private final UserPreferencesRepository userPreferencesRepository;
+    private final UserProfileEventPublisher profileEventPublisher;
     
     // Optional - may be null if MinIO is not configured
     @Autowired(required = false)
@@ -60,11 +61,28 @@ public class UserService {
         profile.setPreferences(preferences);
 
         UserProfile savedProfile = userProfileRepository.save(profile);
+        profileEventPublisher.profileChanged(savedProfile.getUserId());
         log.info("Created profile for user: {}", savedProfile.getUserId());
 
         return mapToProfileResponse(savedProfile);
     }
 
+    /**
+     * Create a profile unless one already exists for the user. Used for
+     * UserRegistered events, which may be delivered more than once.
+     *
+     * @return true if a profile was created
+     */
+    @Transactional
+    public boolean createProfileIfAbsent(CreateProfileRequest request) {
+        if (userProfileRepository.existsById(request.getUserId())) {
+            log.debug("Profile for user {} already exists, skipping", request.getUserId());
+            return false;
+        }
+        createProfile(request);
+        return true;
+    }
+
     /**
      * Get user profile by ID
      */
@@ -128,6 +146,7 @@ public class UserService {
         }
 
         UserProfile savedProfile = userProfileRepository.save(profile);
+        profileEventPublisher.profileChanged(userId);
         log.info("Updated profile for user: {}", userId);
 
         return mapToProfileResponse(savedProfile);
@@ -143,6 +162,7 @@ public class UserService {
         }
 
         userProfileRepository.deleteById(userId);
+        profileEventPublisher.profileChanged(userId);
         log.info("Deleted profile for user: {}", userId);
     }
 
@@ -64,3 +64,37 @@ CREATE INDEX IF NOT EXISTS idx_user_credentials_created_at ON user_credentials(c
 COMMENT ON TABLE user_credentials IS 'User authentication credentials - profile data stored in user_service_db';
 COMMENT ON COLUMN user_credentials.id IS 'UUID shared with user_profiles table in user_service_db';
 
+
+-- Transactional outbox: events written with the change they describe,
+-- relayed to the user account event stream by auth-service (OutboxRelay)
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id UUID PRIMARY KEY,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP WITH TIME ZONE
+);
+
+-- The relay only scans unpublished rows
+CREATE INDEX IF NOT EXISTS idx_outbox_events_unpublished ON outbox_events(created_at) WHERE published_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_outbox_events_published_at ON outbox_events(published_at) WHERE published_at IS NOT NULL;
+
+COMMENT ON TABLE outbox_events IS 'Transactional outbox - e.g. UserRegistered, consumed by user-service';
+
+
+-- Bulk user import progress: one row per import id, saved with each committed batch
+CREATE TABLE IF NOT EXISTS user_import_checkpoints (
+    import_id VARCHAR(100) PRIMARY KEY,
+    source VARCHAR(500),
+    lines_processed BIGINT NOT NULL DEFAULT 0,
+    imported BIGINT NOT NULL DEFAULT 0,
+    skipped_existing BIGINT NOT NULL DEFAULT 0,
+    duplicates BIGINT NOT NULL DEFAULT 0,
+    invalid BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+
+COMMENT ON TABLE user_import_checkpoints IS 'Bulk user import progress - an import resumes after lines_processed';
@@ -174,11 +174,25 @@ try {
 # =============================================================================
 Write-Host "`nStoring service secrets..." -ForegroundColor Yellow
 
-# Auth Service secrets
+# JWT signing keys (read by auth-service and api-gateway)
 $jwtKey = Get-RandomPassword -Length 64
-$authData = @{
+$jwtData = @{
     data = @{
         "jwt-signer-key" = $jwtKey
+        "jwt-previous-signer-keys" = ""
+    }
+} | ConvertTo-Json -Depth 3
+
+try {
+    Invoke-RestMethod -Uri "$VaultAddr/v1/secret/data/ecommerce/jwt" -Method Post -Headers $headers -Body $jwtData -ErrorAction Stop
+    Write-Host "  JWT signing keys stored" -ForegroundColor Green
+} catch {
+    Write-Host "  Error storing jwt: $($_.Exception.Message)" -ForegroundColor Red
+}
+
+# Auth Service secrets
+$authData = @{
+    data = @{
         "jwt-expiration" = "3600"
         "refresh-token-expiration" = "86400"
     }
@@ -273,6 +287,7 @@ $productServiceData = @{
         "service-name" = "product-service"
         "client-id" = "product-service"
         "client-secret" = $productServiceSecret
+        "service-jwt-key" = $serviceJwtKey
         "allowed-to-call" = "user-service,inventory-service"
     }
 } | ConvertTo-Json -Depth 3
@@ -291,6 +306,7 @@ $orderServiceData = @{
         "service-name" = "order-service"
         "client-id" = "order-service"
         "client-secret" = $orderServiceSecret
+        "service-jwt-key" = $serviceJwtKey
         "allowed-to-call" = "user-service,product-service,payment-service,inventory-service"
     }
 } | ConvertTo-Json -Depth 3
@@ -309,6 +325,7 @@ $userServiceData = @{
         "service-name" = "user-service"
         "client-id" = "user-service"
         "client-secret" = $userServiceSecret
+        "service-jwt-key" = $serviceJwtKey
         "allowed-to-call" = ""
     }
 } | ConvertTo-Json -Depth 3
@@ -353,6 +370,7 @@ $commonData = @{
         "kafka-password" = $kafkaPass
         "minio-access-key" = $minioAccess
         "minio-secret-key" = $minioSecret
+        "trusted-identity-key" = (Get-RandomPassword)
     }
 } | ConvertTo-Json -Depth 3
 
@@ -54,9 +54,13 @@ vault kv put secret/ecommerce/database/redis \
 # =============================================================================
 echo "🔑 Storing service secrets..."
 
+# JWT signing keys (read by auth-service and api-gateway)
+vault kv put secret/ecommerce/jwt \
+    jwt-signer-key="$(openssl rand -base64 64)" \
+    jwt-previous-signer-keys=""
+
 # Auth Service secrets
 vault kv put secret/ecommerce/auth-service \
-    jwt-signer-key="$(openssl rand -base64 64)" \
     jwt-expiration="3600" \
     refresh-token-expiration="86400"
 
@@ -83,7 +87,8 @@ vault kv put secret/ecommerce/common \
     kafka-username="kafka-user" \
     kafka-password="$(openssl rand -base64 16)" \
     minio-access-key="$(openssl rand -base64 16)" \
-    minio-secret-key="$(openssl rand -base64 32)"
+    minio-secret-key="$(openssl rand -base64 32)" \
+    trusted-identity-key="$(openssl rand -base64 32)"
 
 # =============================================================================
 # Create Policy and AppRole for Services
@@ -31,6 +31,11 @@ path "secret/data/ecommerce/api-gateway" {
   capabilities = ["read", "list"]
 }
 
+# JWT signing keys, shared by auth-service (signs) and api-gateway (verifies)
+path "secret/data/ecommerce/jwt" {
+  capabilities = ["read", "list"]
+}
+
 # Common/shared secrets accessible by all services
 path "secret/data/ecommerce/common" {
   capabilities = ["read", "list"]